@@ -0,0 +1,90 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.processor;
+
+/**
+ * Information about a mapped field of a static complex type.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+final class FieldModel {
+
+	enum Conversion {
+		/** Reference type: cast. */
+		CAST,
+		/** Primitive number: Number.xxxValue(). */
+		NUMBER,
+		/** boolean: cast to Boolean. */
+		BOOLEAN,
+		/** char or Character. */
+		CHAR,
+		/** Collection: single value wrapped into a List. */
+		COLLECTION
+	}
+
+	final String name;
+	final int index;
+	final int size;
+	final String type;
+	final boolean primitive;
+	final Conversion conversion;
+	/** Expression to read the field. The record is 'record'. */
+	final String getter;
+	/** Statement prefix to write the field. The value is appended after. */
+	final String setter;
+	final boolean setterIsMethod;
+
+	FieldModel(String name, int index, int size, String type, boolean primitive, Conversion conversion, String getter,
+			String setter, boolean setterIsMethod) {
+		this.name = name;
+		this.index = index;
+		this.size = size;
+		this.type = type;
+		this.primitive = primitive;
+		this.conversion = conversion;
+		this.getter = getter;
+		this.setter = setter;
+		this.setterIsMethod = setterIsMethod;
+	}
+
+	/**
+	 * @param value The expression of the parsed value (Object).
+	 * @return The statement that writes the value into the record.
+	 */
+	String write(String value) {
+		String converted;
+		switch (conversion) {
+		case NUMBER:
+			converted = "((Number) " + value + ")." + type + "Value()";
+			break;
+		case BOOLEAN:
+			converted = "(Boolean) " + value;
+			break;
+		case CHAR:
+			converted = primitive ? "asChar(" + value + ", '\\0')" : "asChar(" + value + ")";
+			break;
+		case COLLECTION:
+			converted = "asCollection(" + value + ")";
+			break;
+		default:
+			converted = "(" + type + ") " + value;
+		}
+		return setterIsMethod ? setter + "(" + converted + ");" : setter + " = " + converted + ";";
+	}
+
+}
@@ -0,0 +1,493 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.processor;
+
+import br.net.buzu4j.processor.FieldModel.Conversion;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that generates a <code>GeneratedMapper</code> for each
+ * class annotated with <code>@PplMetadata</code> whose layout is complete at
+ * compile time (all sizes and occurs informed, i.e. a static complex type).
+ * <p>
+ * The generated mapper <code>[Class]_PplMapper</code> is written at the same
+ * package of the annotated class and registered at
+ * <code>META-INF/services/br.net.buzu4j.parsing.generated.GeneratedMapper</code>.
+ * Classes that can not be generated (incomplete layout, inaccessible fields,
+ * arrays etc.) are reported as notes and use the reflection at runtime.
+ * <p>
+ * The annotations are read by name, so the processor has no dependencies.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+@SupportedAnnotationTypes(MapperProcessor.PPL_METADATA)
+public class MapperProcessor extends AbstractProcessor {
+
+	static final String PPL_METADATA = "br.net.buzu.annotation.PplMetadata";
+	static final String PPL_IGNORE = "br.net.buzu.annotation.PplIgnore";
+	static final String PPL_USE = "br.net.buzu.annotation.PplUse";
+	static final String PPL_SERIALIZABLE = "br.net.buzu.model.PplSerializable";
+	static final String SERVICE_FILE = "META-INF/services/br.net.buzu4j.parsing.generated.GeneratedMapper";
+	static final String SUFFIX = "_PplMapper";
+
+	private static final int MAX_DEPTH = 16;
+
+	private static final Set<String> SIMPLE_TYPES = new HashSet<>(Arrays.asList("java.lang.String",
+			"java.lang.Character", "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+			"java.lang.Boolean", "java.lang.Double", "java.lang.Float", "java.math.BigDecimal",
+			"java.math.BigInteger", "java.util.Date", "java.sql.Date", "java.sql.Time", "java.sql.Timestamp",
+			"java.time.LocalDate", "java.time.LocalTime", "java.time.LocalDateTime", "java.time.ZonedDateTime",
+			"java.time.OffsetDateTime", "java.time.OffsetTime", "java.time.Instant"));
+
+	private final Set<String> generated = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeServices();
+			return false;
+		}
+		TypeElement pplMetadata = processingEnv.getElementUtils().getTypeElement(PPL_METADATA);
+		if (pplMetadata == null) {
+			return false;
+		}
+		for (Element element : roundEnv.getElementsAnnotatedWith(pplMetadata)) {
+			if (element.getKind() == ElementKind.CLASS) {
+				process((TypeElement) element);
+			}
+		}
+		return false;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private void process(TypeElement type) {
+		try {
+			checkType(type);
+			List<FieldModel> fields = new ArrayList<>();
+			for (VariableElement field : mappedFields(type)) {
+				fields.add(createField(type, field));
+			}
+			fields.sort(Comparator.comparingInt(f -> f.index));
+			String mapperName = write(type, fields);
+			generated.add(mapperName);
+		} catch (UnsupportedTypeException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+					"[buzu4j] No mapper generated for " + type.getQualifiedName() + ": " + e.getMessage(), type);
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"[buzu4j] Cannot write the mapper of " + type.getQualifiedName() + ": " + e, type);
+		}
+	}
+
+	private void checkType(TypeElement type) throws UnsupportedTypeException {
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			throw new UnsupportedTypeException("abstract class");
+		}
+		if (!type.getTypeParameters().isEmpty()) {
+			throw new UnsupportedTypeException("generic class");
+		}
+		for (Element e = type; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+			if (e.getModifiers().contains(Modifier.PRIVATE)) {
+				throw new UnsupportedTypeException("private class");
+			}
+			if (((TypeElement) e).getNestingKind() == NestingKind.MEMBER && !e.getModifiers().contains(Modifier.STATIC)
+					&& e.getKind() == ElementKind.CLASS) {
+				throw new UnsupportedTypeException("inner (not static) class");
+			}
+		}
+		boolean hasDefaultConstructor = false;
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				hasDefaultConstructor = true;
+			}
+		}
+		if (!hasDefaultConstructor) {
+			throw new UnsupportedTypeException("missing nullary constructor");
+		}
+	}
+
+	/*
+	 * Same rules of BasicSkipStrategy: superclass fields first.
+	 */
+	private List<VariableElement> mappedFields(TypeElement type) {
+		List<VariableElement> fields = new ArrayList<>();
+		TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() == TypeKind.DECLARED) {
+			TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+			if (!superElement.getQualifiedName().contentEquals("java.lang.Object")) {
+				fields.addAll(mappedFields(superElement));
+			}
+		}
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			if (!skip(field)) {
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+
+	private boolean skip(VariableElement field) {
+		if (annotation(field, PPL_IGNORE) != null) {
+			return true;
+		}
+		if (annotation(field, PPL_USE) != null) {
+			return false;
+		}
+		if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+			return true;
+		}
+		Element elementType = processingEnv.getTypeUtils().asElement(elementType(field.asType()));
+		return elementType != null && annotation(elementType, PPL_IGNORE) != null;
+	}
+
+	private FieldModel createField(TypeElement type, VariableElement field) throws UnsupportedTypeException {
+		TypeMirror fieldType = field.asType();
+		if (fieldType.getKind() == TypeKind.ARRAY) {
+			throw new UnsupportedTypeException("array field '" + field.getSimpleName() + "'");
+		}
+		AnnotationMirror metadata = metadataOf(field);
+		String fieldName = field.getSimpleName().toString();
+		String name = metadata != null ? stringValue(metadata, "name") : "";
+		int index = metadata != null ? intValue(metadata, "index") : 0;
+		int size = serialSize(field, fieldType, metadata, 0);
+		boolean primitive = fieldType.getKind().isPrimitive();
+		Conversion conversion;
+		String typeName;
+		if (fieldType.getKind() == TypeKind.CHAR || isType(fieldType, "java.lang.Character")) {
+			conversion = Conversion.CHAR;
+			typeName = fieldType.toString();
+		} else if (fieldType.getKind() == TypeKind.BOOLEAN) {
+			conversion = Conversion.BOOLEAN;
+			typeName = "boolean";
+		} else if (primitive) {
+			conversion = Conversion.NUMBER;
+			typeName = fieldType.toString();
+		} else if (isCollection(fieldType)) {
+			conversion = Conversion.COLLECTION;
+			typeName = processingEnv.getTypeUtils().erasure(fieldType).toString();
+		} else {
+			conversion = Conversion.CAST;
+			typeName = processingEnv.getTypeUtils().erasure(fieldType).toString();
+		}
+		String getter = getter(type, field);
+		String setterMethod = setter(type, field);
+		String setter = setterMethod != null ? "record." + setterMethod : "record." + fieldName;
+		return new FieldModel(name == null || name.isEmpty() ? fieldName : name, index, size, typeName, primitive,
+				conversion, getter, setter, setterMethod != null);
+	}
+
+	private int serialSize(Element owner, TypeMirror type, AnnotationMirror metadata, int depth)
+			throws UnsupportedTypeException {
+		if (depth > MAX_DEPTH) {
+			throw new UnsupportedTypeException("recursive type '" + type + "'");
+		}
+		boolean multiple = isCollection(type);
+		TypeMirror elementType = elementType(type);
+		if (elementType.getKind() == TypeKind.ARRAY) {
+			throw new UnsupportedTypeException("array field '" + owner.getSimpleName() + "'");
+		}
+		int maxOccurs = metadata != null ? intValue(metadata, "maxOccurs") : 0;
+		if (maxOccurs <= 0) {
+			if (multiple) {
+				throw new UnsupportedTypeException("maxOccurs of '" + owner.getSimpleName() + "' is missing");
+			}
+			maxOccurs = 1;
+		}
+		if (isSimple(elementType)) {
+			int size = metadata != null ? intValue(metadata, "size") : 0;
+			if (size <= 0) {
+				throw new UnsupportedTypeException("size of '" + owner.getSimpleName() + "' is missing");
+			}
+			return size * maxOccurs;
+		}
+		if (elementType.getKind() != TypeKind.DECLARED) {
+			throw new UnsupportedTypeException("unsupported type '" + elementType + "'");
+		}
+		TypeElement complex = (TypeElement) ((DeclaredType) elementType).asElement();
+		int recordSize = 0;
+		for (VariableElement child : mappedFields(complex)) {
+			recordSize += serialSize(child, child.asType(), metadataOf(child), depth + 1);
+		}
+		return recordSize * maxOccurs;
+	}
+
+	// ******************** ACCESS ********************
+
+	private String getter(TypeElement type, VariableElement field) throws UnsupportedTypeException {
+		if (isAccessible(type, field)) {
+			return "record." + field.getSimpleName();
+		}
+		String suffix = capitalize(field.getSimpleName().toString());
+		ExecutableElement method = findMethod(type, "get" + suffix, field, false);
+		if (method == null && (field.asType().getKind() == TypeKind.BOOLEAN
+				|| isType(field.asType(), "java.lang.Boolean"))) {
+			method = findMethod(type, "is" + suffix, field, false);
+		}
+		if (method == null) {
+			throw new UnsupportedTypeException("no accessible getter for '" + field.getSimpleName() + "'");
+		}
+		return "record." + method.getSimpleName() + "()";
+	}
+
+	private String setter(TypeElement type, VariableElement field) throws UnsupportedTypeException {
+		if (isAccessible(type, field) && !field.getModifiers().contains(Modifier.FINAL)) {
+			return null;
+		}
+		ExecutableElement method = findMethod(type, "set" + capitalize(field.getSimpleName().toString()), field,
+				true);
+		if (method == null) {
+			throw new UnsupportedTypeException("no accessible setter for '" + field.getSimpleName() + "'");
+		}
+		return method.getSimpleName().toString();
+	}
+
+	private ExecutableElement findMethod(TypeElement type, String name, VariableElement field, boolean setter) {
+		for (ExecutableElement method : ElementFilter
+				.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			if (!method.getSimpleName().contentEquals(name) || method.getModifiers().contains(Modifier.STATIC)
+					|| !isAccessible(type, method)) {
+				continue;
+			}
+			if (setter && method.getParameters().size() == 1
+					&& processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+				return method;
+			}
+			if (!setter && method.getParameters().isEmpty()
+					&& processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * The generated mapper is at the same package of the type.
+	 */
+	private boolean isAccessible(TypeElement type, Element member) {
+		Set<Modifier> modifiers = member.getModifiers();
+		if (modifiers.contains(Modifier.PUBLIC)) {
+			return true;
+		}
+		if (modifiers.contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		PackageElement memberPackage = processingEnv.getElementUtils().getPackageOf(member);
+		PackageElement typePackage = processingEnv.getElementUtils().getPackageOf(type);
+		return memberPackage.getQualifiedName().contentEquals(typePackage.getQualifiedName());
+	}
+
+	// ******************** TYPES ********************
+
+	private boolean isSimple(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return true;
+		}
+		if (type.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+		TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+		if (element.getKind() == ElementKind.ENUM || SIMPLE_TYPES.contains(element.getQualifiedName().toString())) {
+			return true;
+		}
+		TypeElement serializable = processingEnv.getElementUtils().getTypeElement(PPL_SERIALIZABLE);
+		return serializable != null && processingEnv.getTypeUtils().isAssignable(
+				processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(serializable.asType()));
+	}
+
+	private boolean isCollection(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+		TypeElement collection = processingEnv.getElementUtils().getTypeElement("java.util.Collection");
+		return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type),
+				processingEnv.getTypeUtils().erasure(collection.asType()));
+	}
+
+	private TypeMirror elementType(TypeMirror type) {
+		if (type.getKind() == TypeKind.ARRAY) {
+			return type;
+		}
+		if (isCollection(type)) {
+			List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+			return arguments.size() == 1 ? arguments.get(0) : processingEnv.getElementUtils()
+					.getTypeElement("java.lang.Object").asType();
+		}
+		return type;
+	}
+
+	private boolean isType(TypeMirror type, String qualifiedName) {
+		return type.getKind() == TypeKind.DECLARED
+				&& ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(qualifiedName);
+	}
+
+	// ******************** ANNOTATIONS ********************
+
+	/*
+	 * Precedence 1: field annotation. Precedence 2: element type annotation.
+	 */
+	private AnnotationMirror metadataOf(VariableElement field) {
+		AnnotationMirror metadata = annotation(field, PPL_METADATA);
+		if (metadata == null) {
+			Element elementType = processingEnv.getTypeUtils().asElement(elementType(field.asType()));
+			if (elementType != null) {
+				metadata = annotation(elementType, PPL_METADATA);
+			}
+		}
+		return metadata;
+	}
+
+	private AnnotationMirror annotation(Element element, String annotationName) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	private Object value(AnnotationMirror mirror, String name) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv
+				.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+
+	private int intValue(AnnotationMirror mirror, String name) {
+		Object value = value(mirror, name);
+		return value instanceof Integer ? (Integer) value : 0;
+	}
+
+	private String stringValue(AnnotationMirror mirror, String name) {
+		Object value = value(mirror, name);
+		return value instanceof String ? (String) value : null;
+	}
+
+	private static String capitalize(String name) {
+		return name.substring(0, 1).toUpperCase() + name.substring(1);
+	}
+
+	// ******************** OUTPUT ********************
+
+	private String write(TypeElement type, List<FieldModel> fields) throws IOException {
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				.replace('$', '_') + SUFFIX;
+		String mapperName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(mapperName, type);
+		try (Writer writer = file.openWriter()) {
+			new MapperWriter(packageName, simpleName, type.getQualifiedName().toString(), fields).write(writer);
+		}
+		return mapperName;
+	}
+
+	private void writeServices() {
+		if (generated.isEmpty()) {
+			return;
+		}
+		Set<String> services = new TreeSet<>(generated);
+		try {
+			// Incremental compilation: keep the previous services
+			FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+					SERVICE_FILE);
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+				for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+					if (!line.trim().isEmpty()) {
+						services.add(line.trim());
+					}
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// No previous services
+		}
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+			try (Writer writer = file.openWriter()) {
+				for (String service : services) {
+					writer.write(service);
+					writer.write("\n");
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"[buzu4j] Cannot write " + SERVICE_FILE + ": " + e);
+		}
+	}
+
+	/**
+	 * The type has not a static layout or can not be accessed by generated code.
+	 */
+	static final class UnsupportedTypeException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedTypeException(String message) {
+			super(message);
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the source code of a generated mapper.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+final class MapperWriter {
+
+	private static final String NL = "\n";
+
+	private final String packageName;
+	private final String simpleName;
+	private final String typeName;
+	private final List<FieldModel> fields;
+
+	MapperWriter(String packageName, String simpleName, String typeName, List<FieldModel> fields) {
+		this.packageName = packageName;
+		this.simpleName = simpleName;
+		this.typeName = typeName;
+		this.fields = fields;
+	}
+
+	void write(Writer writer) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			sb.append("package ").append(packageName).append(";").append(NL).append(NL);
+		}
+		sb.append("import br.net.buzu.model.StaticMetadata;").append(NL);
+		sb.append("import br.net.buzu4j.model.Metaclass;").append(NL);
+		sb.append("import br.net.buzu4j.parsing.complex.ComplexMapper;").append(NL);
+		sb.append("import br.net.buzu4j.parsing.generated.GeneratedMapper;").append(NL).append(NL);
+		sb.append("import java.util.List;").append(NL).append(NL);
+		sb.append("/**").append(NL);
+		sb.append(" * Mapper of {@link ").append(typeName).append("}.").append(NL);
+		sb.append(" * Generated by buzu4j-processor. Do not edit.").append(NL);
+		sb.append(" */").append(NL);
+		sb.append("public final class ").append(simpleName).append(" extends GeneratedMapper {").append(NL).append(NL);
+		writeLayout(sb);
+		writeConstructors(sb);
+		writeParse(sb);
+		writeSerialize(sb);
+		sb.append("}").append(NL);
+		writer.write(sb.toString());
+	}
+
+	private void writeLayout(StringBuilder sb) {
+		sb.append("\tprivate static final String[] NAMES = {");
+		for (int k = 0; k < fields.size(); k++) {
+			sb.append(k > 0 ? ", " : " ").append('"').append(fields.get(k).name).append('"');
+		}
+		sb.append(" };").append(NL);
+		sb.append("\tprivate static final int[] SIZES = {");
+		for (int k = 0; k < fields.size(); k++) {
+			sb.append(k > 0 ? ", " : " ").append(fields.get(k).size);
+		}
+		sb.append(" };").append(NL).append(NL);
+	}
+
+	private void writeConstructors(StringBuilder sb) {
+		sb.append("\tpublic ").append(simpleName).append("() {").append(NL);
+		sb.append("\t\tsuper();").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+		sb.append("\tprivate ").append(simpleName).append("(ComplexMapper fallback, Metaclass metaclass) {").append(NL);
+		sb.append("\t\tsuper(fallback, metaclass);").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+		sb.append("\t@Override").append(NL);
+		sb.append("\tpublic Class<?> targetType() {").append(NL);
+		sb.append("\t\treturn ").append(typeName).append(".class;").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+		sb.append("\t@Override").append(NL);
+		sb.append("\tprotected String[] names() {").append(NL);
+		sb.append("\t\treturn NAMES;").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+		sb.append("\t@Override").append(NL);
+		sb.append("\tprotected int[] sizes() {").append(NL);
+		sb.append("\t\treturn SIZES;").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+		sb.append("\t@Override").append(NL);
+		sb.append("\tpublic GeneratedMapper create(ComplexMapper fallback, Metaclass metaclass) {").append(NL);
+		sb.append("\t\treturn new ").append(simpleName).append("(fallback, metaclass);").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+	}
+
+	private void writeParse(StringBuilder sb) {
+		sb.append("\t@Override").append(NL);
+		sb.append("\t@SuppressWarnings({ \"unchecked\", \"rawtypes\" })").append(NL);
+		sb.append("\tprotected Object parseRecord(List<StaticMetadata> children, CharSequence text, int offset) {")
+				.append(NL);
+		sb.append("\t\t").append(typeName).append(" record = new ").append(typeName).append("();").append(NL);
+		sb.append("\t\tObject value;").append(NL);
+		int offset = 0;
+		FieldModel field;
+		for (int k = 0; k < fields.size(); k++) {
+			field = fields.get(k);
+			sb.append("\t\tvalue = value(children, ").append(k).append(", text, offset + ").append(offset).append(");")
+					.append(NL);
+			if (field.primitive) {
+				sb.append("\t\tif (value != null) {").append(NL);
+				sb.append("\t\t\t").append(field.write("value")).append(NL);
+				sb.append("\t\t}").append(NL);
+			} else {
+				sb.append("\t\t").append(field.write("value")).append(NL);
+			}
+			offset += field.size;
+		}
+		sb.append("\t\treturn record;").append(NL);
+		sb.append("\t}").append(NL).append(NL);
+	}
+
+	private void writeSerialize(StringBuilder sb) {
+		sb.append("\t@Override").append(NL);
+		sb.append("\tprotected void serializeRecord(List<StaticMetadata> children, Object obj, StringBuilder sb) {")
+				.append(NL);
+		sb.append("\t\t").append(typeName).append(" record = (").append(typeName).append(") obj;").append(NL);
+		for (int k = 0; k < fields.size(); k++) {
+			sb.append("\t\ttext(children, ").append(k).append(", ").append(fields.get(k).getter)
+					.append(", sb);").append(NL);
+		}
+		sb.append("\t}").append(NL).append(NL);
+	}
+
+}
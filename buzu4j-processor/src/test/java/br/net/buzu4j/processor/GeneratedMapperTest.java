@@ -0,0 +1,112 @@
+package br.net.buzu4j.processor;
+
+import br.net.buzu.model.PplString;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.Buzu;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.context.BasicParserFactory;
+import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+import br.net.buzu4j.parsing.complex.ComplexMapper;
+import br.net.buzu4j.parsing.generated.GeneratedMapper;
+import br.net.buzu4j.parsing.generated.GeneratedMappers;
+import br.net.buzu4j.processor.sample.Item;
+import br.net.buzu4j.processor.sample.Item_PplMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runtime behavior of the mapper generated for the test sample {@link Item}.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class GeneratedMapperTest {
+
+	private static final String ITEM_PPL = "(code:C5;flag:C1;amount:I3)ABCDEY042";
+	private static final String BLANK_FLAG_PPL = "(code:C5;flag:C1;amount:I3)ABCDE 042";
+	private static final String OTHER_LAYOUT_PPL = "(code:C7;flag:C1;amount:I3)ABCDEFGY042";
+
+	@Test
+	public void testServiceLookup() {
+		GeneratedMapper prototype = GeneratedMappers.find(Item.class);
+		assertNotNull(prototype);
+		assertEquals(Item_PplMapper.class, prototype.getClass());
+		assertEquals(Item.class, prototype.targetType());
+		assertTrue(prototype == GeneratedMappers.find(Item.class));
+		// No service
+		assertNull(GeneratedMappers.find(GeneratedMapperTest.class));
+		// Bootstrap ClassLoader
+		assertNull(GeneratedMappers.find(String.class));
+	}
+
+	@Test
+	public void testFactory() {
+		Metaclass metaclass = new BasicMetaclassReader().read(Item.class);
+		PayloadMapper mapper = new BasicParserFactory().create(metaclass);
+		assertEquals(Item_PplMapper.class, mapper.getClass());
+		ComplexMapper fallback = ((GeneratedMapper) mapper).fallback();
+		assertNotNull(fallback);
+		assertEquals(3, fallback.children().size());
+	}
+
+	@Test
+	public void testParse() {
+		Item item = new Buzu().fromPpl(ITEM_PPL, Item.class);
+		assertEquals("ABCDE", item.code);
+		assertEquals('Y', item.flag);
+		assertEquals(42, item.getAmount());
+	}
+
+	@Test
+	public void testParseBlankPrimitiveChar() {
+		Item item = new Buzu().fromPpl(BLANK_FLAG_PPL, Item.class);
+		assertEquals("ABCDE", item.code);
+		assertEquals('\0', item.flag);
+		assertEquals(42, item.getAmount());
+	}
+
+	@Test
+	public void testParseRegion() {
+		Buzu buzu = new Buzu();
+		Metaclass metaclass = new BasicMetaclassReader().read(Item.class);
+		GeneratedMapper mapper = (GeneratedMapper) new BasicParserFactory().create(metaclass);
+		StaticMetadata metadata = (StaticMetadata) buzu.parser().parse(new PplString("(code:C5;flag:C1;amount:I3)"));
+		// The region of a larger text, read in place
+		assertItem((Item) AbstractPositionalMapper.parseRegion(mapper, metadata, "--ABCDEY042--", 2, 9, metaclass));
+		// A record of a CharSequence that is not a String
+		assertItem((Item) mapper.parseRecord(metadata, new StringBuilder("ABCDEY042"), metaclass));
+	}
+
+	@Test
+	public void testFallbackLayout() {
+		// Different size of 'code': the generated offsets do not apply
+		Item item = new Buzu().fromPpl(OTHER_LAYOUT_PPL, Item.class);
+		assertEquals("ABCDEFG", item.code);
+		assertEquals('Y', item.flag);
+		assertEquals(42, item.getAmount());
+	}
+
+	@Test
+	public void testSerialize() {
+		Buzu buzu = new Buzu();
+		String ppl = buzu.toPpl(new Item("ABCDE", 'Y', 42));
+		assertTrue(ppl.endsWith("ABCDEY042"));
+		Item item = buzu.fromPpl(ppl, Item.class);
+		assertEquals("ABCDE", item.code);
+		assertEquals('Y', item.flag);
+		assertEquals(42, item.getAmount());
+	}
+
+	private static void assertItem(Item item) {
+		assertEquals("ABCDE", item.code);
+		assertEquals('Y', item.flag);
+		assertEquals(42, item.getAmount());
+	}
+
+}
@@ -0,0 +1,96 @@
+package br.net.buzu4j.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compilation tests of {@link MapperProcessor}.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class MapperProcessorTest {
+
+	private static final JavaFileObject STATIC_TYPE = JavaFileObjects.forSourceLines("sample.Static", //
+			"package sample;", //
+			"import br.net.buzu.annotation.PplMetadata;", //
+			"import java.util.List;", //
+			"@PplMetadata", //
+			"public class Static {", //
+			"	@PplMetadata(size = 5, maxOccurs = 1) public String code;", //
+			"	@PplMetadata(size = 1, maxOccurs = 1) public char flag;", //
+			"	@PplMetadata(size = 1, maxOccurs = 1) public Character other;", //
+			"	@PplMetadata(size = 3, maxOccurs = 1) private int amount;", //
+			"	@PplMetadata(size = 2, maxOccurs = 3) public List<String> tags;", //
+			"	public int getAmount() { return amount; }", //
+			"	public void setAmount(int amount) { this.amount = amount; }", //
+			"}");
+
+	private static final JavaFileObject DYNAMIC_TYPE = JavaFileObjects.forSourceLines("sample.Dynamic", //
+			"package sample;", //
+			"import br.net.buzu.annotation.PplMetadata;", //
+			"@PplMetadata", //
+			"public class Dynamic {", //
+			"	public String code;", //
+			"}");
+
+	private static final JavaFileObject PRIVATE_TYPE = JavaFileObjects.forSourceLines("sample.Private", //
+			"package sample;", //
+			"import br.net.buzu.annotation.PplMetadata;", //
+			"@PplMetadata", //
+			"public class Private {", //
+			"	@PplMetadata(size = 5, maxOccurs = 1) private String code;", //
+			"}");
+
+	@Test
+	public void testGenerated() {
+		Compilation compilation = javac().withProcessors(new MapperProcessor()).compile(STATIC_TYPE);
+		assertThat(compilation).succeeded();
+		assertThat(compilation).generatedSourceFile("sample.Static_PplMapper").contentsAsUtf8String()
+				.contains("private static final int[] SIZES = { 5, 1, 1, 3, 6 };");
+		assertThat(compilation).generatedSourceFile("sample.Static_PplMapper").contentsAsUtf8String()
+				.contains("record.setAmount(((Number) value).intValue());");
+		assertThat(compilation).generatedSourceFile("sample.Static_PplMapper").contentsAsUtf8String()
+				.contains("record.tags = asCollection(value);");
+		assertThat(compilation).generatedSourceFile("sample.Static_PplMapper").contentsAsUtf8String()
+				.contains("parseRecord(List<StaticMetadata> children, CharSequence text, int offset)");
+		assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, "",
+				MapperProcessor.SERVICE_FILE).contentsAsUtf8String().contains("sample.Static_PplMapper");
+	}
+
+	@Test
+	public void testChar() {
+		Compilation compilation = javac().withProcessors(new MapperProcessor()).compile(STATIC_TYPE);
+		assertThat(compilation).succeeded();
+		// Primitive: the empty text must not be unboxed
+		assertThat(compilation).generatedSourceFile("sample.Static_PplMapper").contentsAsUtf8String()
+				.contains("record.flag = asChar(value, '\\0');");
+		assertThat(compilation).generatedSourceFile("sample.Static_PplMapper").contentsAsUtf8String()
+				.contains("record.other = asChar(value);");
+	}
+
+	@Test
+	public void testIncompleteLayout() {
+		Compilation compilation = javac().withProcessors(new MapperProcessor()).compile(DYNAMIC_TYPE);
+		assertThat(compilation).succeeded();
+		assertThat(compilation).hadNoteContaining("No mapper generated for sample.Dynamic: size of 'code' is missing");
+		assertTrue(compilation.generatedSourceFiles().isEmpty());
+	}
+
+	@Test
+	public void testInaccessibleField() {
+		Compilation compilation = javac().withProcessors(new MapperProcessor()).compile(PRIVATE_TYPE);
+		assertThat(compilation).succeeded();
+		assertThat(compilation).hadNoteContaining("no accessible getter for 'code'");
+		assertTrue(compilation.generatedSourceFiles().isEmpty());
+	}
+
+}
@@ -0,0 +1,41 @@
+package br.net.buzu4j.processor.sample;
+
+import br.net.buzu.annotation.PplMetadata;
+import br.net.buzu.model.Subtype;
+
+/**
+ * Static sample: the test compilation generates <code>Item_PplMapper</code>.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+@PplMetadata
+public class Item {
+
+	@PplMetadata(name = "code", size = 5, maxOccurs = 1, subtype = Subtype.CHAR)
+	public String code;
+	@PplMetadata(name = "flag", size = 1, maxOccurs = 1, subtype = Subtype.CHAR)
+	public char flag;
+	@PplMetadata(name = "amount", size = 3, maxOccurs = 1, subtype = Subtype.INTEGER)
+	private int amount;
+
+	public Item() {
+
+	}
+
+	public Item(String code, char flag, int amount) {
+		super();
+		this.code = code;
+		this.flag = flag;
+		this.amount = amount;
+	}
+
+	public int getAmount() {
+		return amount;
+	}
+
+	public void setAmount(int amount) {
+		this.amount = amount;
+	}
+
+}
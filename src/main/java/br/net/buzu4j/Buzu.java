@@ -20,36 +20,71 @@ import br.net.buzu4j.api.JavaPplMapper;
 import br.net.buzu4j.api.MetaclassReader;
 import br.net.buzu4j.api.MetadataLoader;
 import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.cache.CacheStats;
+import br.net.buzu4j.cache.LruCache;
+import br.net.buzu4j.cache.ValueTextCache;
 import br.net.buzu4j.context.BasicContext;
+import br.net.buzu4j.context.CachingParserFactory;
 import br.net.buzu4j.context.JavaContext;
+import br.net.buzu4j.io.Latin1Text;
+import br.net.buzu4j.io.PplHeaderReader;
+import br.net.buzu4j.io.PplRecordIterator;
+import br.net.buzu4j.io.PplWriter;
 import br.net.buzu.exception.PplParseException;
+import br.net.buzu.exception.PplSerializeException;
 import br.net.buzu.ext.MetadataCoder;
 import br.net.buzu.ext.MetadataParser;
 import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.metadata.build.MetadataBuilder;
 import br.net.buzu4j.metadata.build.load.BasicMetadataLoader;
+import br.net.buzu4j.metadata.build.load.MetadataAccumulator;
 import br.net.buzu4j.metadata.build.parse.BasicMetadataParser;
 import br.net.buzu.model.*;
 import br.net.buzu4j.model.Metaclass;
-
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+import br.net.buzu4j.plan.MappingPlan;
+import br.net.buzu4j.plan.PlanKey;
+import br.net.buzu4j.plan.Projection;
+import br.net.buzu4j.view.ViewPlan;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static br.net.buzu.lang.Syntax.pplToString;
 
 /**
  * Buzu Façade class. Basic implementation domainOf <code>PplSimpleMapper</code>.
+ * <p>
+ * A <code>Buzu</code> built with parallelism owns a ForkJoinPool that is shut
+ * down by {@link #close()}. A pool passed to the builder is not owned.
  * 
  * @author Douglas Siviotti
  * @since 1.0
  * @see JavaPplMapper
  * @see BuzuBuilder
  */
-public class Buzu implements JavaPplMapper {
+public class Buzu implements JavaPplMapper, Closeable {
 
 	static final String PARSE_REQUIRES_STATIC_METADATA = "The 'parseMetadata' operation (fromPPL) requires a StaticMetadata";
+	static final String WRITER_REQUIRES_STATIC_METADATA = "The writer requires a source or a static type: ";
 	static final Dialect DEFAULT_DIALECT = Dialect.Companion.getDEFAULT();
+	static final int DEFAULT_PLAN_CACHE_SIZE = LruCache.DEFAULT_MAX_SIZE;
+	static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
 
 	private final JavaContext context;
 	private final MetadataParser parser;
@@ -58,6 +93,12 @@ public class Buzu implements JavaPplMapper {
 	private final boolean serializeNulls;
 	private final MetadataCoder coder;
 	private final Dialect dialect;
+	private final LruCache<PlanKey, MappingPlan> plans;
+	private final LruCache<PlanKey, ViewPlan<?>> views;
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;
+	private final int parallelThreshold;
+	private final boolean formatOnce;
 
 	/**
 	 * Simple constructor.
@@ -74,23 +115,52 @@ public class Buzu implements JavaPplMapper {
 	 */
 	public Buzu(JavaContext context) {
 		this(context, new BasicMetadataParser(context), new BasicMetaclassReader(context),
-				new BasicMetadataLoader(context), DEFAULT_DIALECT, false);
+				new BasicMetadataLoader(context), DEFAULT_DIALECT, false, DEFAULT_PLAN_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructor with no plan cache size (default).
+	 */
+	Buzu(JavaContext context, MetadataParser metadataParser, MetaclassReader metaclassReader,
+		 MetadataLoader metadataLoader, Dialect dialect, boolean serializeNulls) {
+		this(context, metadataParser, metaclassReader, metadataLoader, dialect, serializeNulls,
+				DEFAULT_PLAN_CACHE_SIZE);
+	}
+
+	/**
+	 * Sequential constructor.
+	 */
+	Buzu(JavaContext context, MetadataParser metadataParser, MetaclassReader metaclassReader,
+		 MetadataLoader metadataLoader, Dialect dialect, boolean serializeNulls, int planCacheSize) {
+		this(context, metadataParser, metaclassReader, metadataLoader, dialect, serializeNulls, planCacheSize, 1,
+				null, DEFAULT_PARALLEL_THRESHOLD, false);
 	}
 
 	/**
 	 * Complete Constructor (used by the Builder).
 	 * 
-	 * @param context         The PPL Context [CANNOT BE NULL].
-	 * @param metadataParser  The MetadataParser. If <code>null</code> will be
-	 *                        created an instance based on the context.
-	 * @param metaclassReader The MetaclassLoader. If <code>null</code> will be
-	 *                        created an instance based on the context.
-	 * @param metadataLoader  The MetadataLoader. If <code>null</code> will be
-	 *                        created an instance based on the context.
+	 * @param context           The PPL Context [CANNOT BE NULL].
+	 * @param metadataParser    The MetadataParser. If <code>null</code> will be
+	 *                          created an instance based on the context.
+	 * @param metaclassReader   The MetaclassLoader. If <code>null</code> will be
+	 *                          created an instance based on the context.
+	 * @param metadataLoader    The MetadataLoader. If <code>null</code> will be
+	 *                          created an instance based on the context.
+	 * @param planCacheSize     Max number of cached mapping plans. Zero or less
+	 *                          disables the plan cache.
+	 * @param parallelism       Number of threads used to parse and serialize
+	 *                          multiple payloads. One or less means sequential.
+	 *                          Ignored if there is a pool.
+	 * @param pool              External ForkJoinPool (not shut down by
+	 *                          {@link #close()}) or <code>null</code>.
+	 * @param parallelThreshold Max number of records mapped by a single task.
+	 * @param formatOnce        <code>true</code> to reuse at the serialization
+	 *                          the texts formatted by the metadata load.
 	 * 
 	 */
 	Buzu(JavaContext context, MetadataParser metadataParser, MetaclassReader metaclassReader,
-		 MetadataLoader metadataLoader, Dialect dialect, boolean serializeNulls) {
+		 MetadataLoader metadataLoader, Dialect dialect, boolean serializeNulls, int planCacheSize, int parallelism,
+		 ForkJoinPool pool, int parallelThreshold, boolean formatOnce) {
 		super();
 		this.context = Objects.requireNonNull(context, "'context' cannot be null!");
 		this.parser = metadataParser == null ? new BasicMetadataParser(context) : metadataParser;
@@ -99,6 +169,12 @@ public class Buzu implements JavaPplMapper {
 		this.serializeNulls = serializeNulls;
 		this.dialect = dialect != null ? dialect : DEFAULT_DIALECT;
 		this.coder = context.coderManager().resolve(this.dialect);
+		this.plans = new LruCache<>(planCacheSize);
+		this.views = new LruCache<>(planCacheSize);
+		this.ownsPool = pool == null && parallelism > 1;
+		this.pool = ownsPool ? new ForkJoinPool(parallelism) : pool;
+		this.parallelThreshold = Math.max(parallelThreshold, 1);
+		this.formatOnce = formatOnce;
 	}
 
 	// **************************************************
@@ -116,21 +192,86 @@ public class Buzu implements JavaPplMapper {
 		if (text == null || text.isEmpty()) {
 			return null;
 		}
-
 		PplString pplString = new PplString(text);
-		Metadata metadata = parser.parse(pplString);
-		Metaclass metaclass;
-		if (metadata.kind().isMultiple()) {
-			metaclass = readMetaclass(List.class, toClass);
-		} else {
-			metaclass = readMetaclass(toClass);
-		}
-		return fromPayload(asStatic(metadata), pplString.getPayload(), metaclass);
+		return parse(parsePlan(pplString, toClass, false), pplString.getPayload());
 	}
 
 	@Override
 	public <T> List<T> fromPplList(String text, Class<T> elementType) {
-		return fromPpl(text, readMetaclass(List.class, elementType));
+		if (text == null || text.isEmpty()) {
+			return null;
+		}
+		PplString pplString = new PplString(text);
+		return parse(parsePlan(pplString, elementType, true), pplString.getPayload());
+	}
+
+	/**
+	 * Parses only the fields of the projection. The other fields are skipped
+	 * with no parsing and keep the default value of the type. The plan is
+	 * cached by the type, the header and the projection.
+	 * 
+	 * @param text       The PPL text.
+	 * @param toClass    The class of the resulting object.
+	 * @param projection The selected field paths (e.g.
+	 *                   <code>Projection.of("numero", "itens.valor")</code>).
+	 * @return The object with the selected fields.
+	 */
+	public <T> T fromPpl(String text, Class<T> toClass, Projection projection) {
+		if (text == null || text.isEmpty()) {
+			return null;
+		}
+		PplString pplString = new PplString(text);
+		return parse(parsePlan(pplString, toClass, false, projection), pplString.getPayload());
+	}
+
+	/**
+	 * List version of {@link #fromPpl(String, Class, Projection)}.
+	 */
+	public <T> List<T> fromPplList(String text, Class<T> elementType, Projection projection) {
+		if (text == null || text.isEmpty()) {
+			return null;
+		}
+		PplString pplString = new PplString(text);
+		return parse(parsePlan(pplString, elementType, true, projection), pplString.getPayload());
+	}
+
+	/**
+	 * Parses a PPL text encoded in a single-byte charset (US-ASCII or
+	 * ISO-8859-1) directly from the bytes, without decoding the whole text. The
+	 * bytes between the position and the limit of the buffer are read and the
+	 * buffer is not changed.
+	 * 
+	 * @param buffer  The heap or direct buffer.
+	 * @param toClass The class of the resulting object.
+	 * @return The object or <code>null</code> if the buffer is empty.
+	 * @see Latin1Text
+	 */
+	public <T> T fromPpl(ByteBuffer buffer, Class<T> toClass) {
+		return fromPplBytes(buffer, toClass, false);
+	}
+
+	/**
+	 * Array version of {@link #fromPpl(ByteBuffer, Class)}.
+	 */
+	public <T> T fromPpl(byte[] bytes, Class<T> toClass) {
+		return bytes == null ? null : fromPplBytes(ByteBuffer.wrap(bytes), toClass, false);
+	}
+
+	/**
+	 * List version of {@link #fromPpl(ByteBuffer, Class)}.
+	 */
+	public <T> List<T> fromPplList(ByteBuffer buffer, Class<T> elementType) {
+		return fromPplBytes(buffer, elementType, true);
+	}
+
+	private <T> T fromPplBytes(ByteBuffer buffer, Class<?> elementType, boolean list) {
+		if (buffer == null || !buffer.hasRemaining()) {
+			return null;
+		}
+		Latin1Text text = new Latin1Text(buffer);
+		int end = PplHeaderReader.end(text);
+		MappingPlan plan = parsePlan(new PplString(text.subSequence(0, end).toString()), elementType, list);
+		return parse(plan, text, end, text.length() - end);
 	}
 
 	@Override
@@ -143,6 +284,19 @@ public class Buzu implements JavaPplMapper {
 		return fromPayload(asStatic(metadata), pplString.getPayload(), toClass);
 	}
 
+	private <T> T parse(MappingPlan plan, String payload) {
+		return pool != null ? plan.parseParallel(payload, 0, payload.length(), pool, parallelThreshold)
+				: plan.parse(payload);
+	}
+
+	/*
+	 * The records of multiple payloads are parsed in parallel if enabled.
+	 */
+	private <T> T parse(MappingPlan plan, CharSequence text, int offset, int length) {
+		return pool != null ? plan.parseParallel(text, offset, length, pool, parallelThreshold)
+				: plan.parse(text, offset, length);
+	}
+
 	private StaticMetadata asStatic(Metadata metadata) {
 		if (!(metadata instanceof StaticMetadata)) {
 			throw new PplParseException(PARSE_REQUIRES_STATIC_METADATA);
@@ -150,6 +304,120 @@ public class Buzu implements JavaPplMapper {
 		return (StaticMetadata) metadata;
 	}
 
+	private MappingPlan parsePlan(PplString pplString, Class<?> elementType, boolean list) {
+		return parsePlan(pplString, elementType, list, Projection.ALL);
+	}
+
+	private MappingPlan parsePlan(PplString pplString, Class<?> elementType, boolean list, Projection projection) {
+		Objects.requireNonNull(projection, "'projection' cannot be null");
+		Class<?> type = list ? List.class : elementType;
+		return plans.get(new PlanKey(type, elementType, pplString.getPplMetadata(), projection),
+				key -> createParsePlan(pplString, elementType, list, projection)).forCall();
+	}
+
+	private MappingPlan createParsePlan(PplString pplString, Class<?> elementType, boolean list,
+			Projection projection) {
+		Metadata metadata = parser.parse(pplString);
+		Metaclass metaclass;
+		if (list || metadata.kind().isMultiple()) {
+			metaclass = readMetaclass(List.class, elementType);
+		} else {
+			metaclass = readMetaclass(elementType);
+		}
+		return newPlan(metaclass, asStatic(metadata), m -> projection.createMapper(context.parserFactory(), m));
+	}
+
+	/*
+	 * Custom mappers are not shared by the calls of a cached plan, unless the
+	 * factory scopes them (see CachingParserFactory).
+	 */
+	private MappingPlan newPlan(Metaclass metaclass, StaticMetadata metadata,
+			Function<Metaclass, PayloadMapper> mappers) {
+		boolean shared = context.parserFactory() instanceof CachingParserFactory
+				|| !MappingPlan.hasCustomMapper(metaclass);
+		return new MappingPlan(metaclass, metadata, mappers.apply(metaclass), shared ? null : mappers);
+	}
+
+	/**
+	 * Reads a PPL text record by record. The metadata is read once and each
+	 * record (one occurrence of the element type) is parsed only when requested,
+	 * so the memory used does not depend on the number of records. The caller
+	 * must close the iterator (or the Reader).
+	 * 
+	 * @param reader      The Reader of a PPL text at the format
+	 *                    <code>(METADATA)PAYLOAD</code>.
+	 * @param elementType The type of each record.
+	 * @return The iterator of the records.
+	 */
+	public <T> PplRecordIterator<T> iterator(Reader reader, Class<T> elementType) {
+		String header;
+		try {
+			header = PplHeaderReader.read(reader);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		MappingPlan plan = recordPlan(new PplString(header), elementType);
+		return new PplRecordIterator<>(reader, plan.metadata(), plan.metaclass(), plan.mapper());
+	}
+
+	/**
+	 * Sequential Stream version of {@link #iterator(Reader, Class)}. Closing the
+	 * Stream closes the Reader.
+	 */
+	public <T> Stream<T> stream(Reader reader, Class<T> elementType) {
+		PplRecordIterator<T> iterator = iterator(reader, elementType);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+				.onClose(iterator::close);
+	}
+
+	private MappingPlan recordPlan(PplString pplString, Class<?> elementType) {
+		return plans.get(new PlanKey(Iterator.class, elementType, pplString.getPplMetadata()),
+				key -> newPlan(readMetaclass(elementType), asStatic(parser.parse(pplString)),
+						context.parserFactory()::create))
+				.forCall();
+	}
+
+	/**
+	 * Creates a lazy view of the (first) record of a PPL text. The view is a
+	 * generated implementation of the interface whose getters decode the field
+	 * from the payload only when called, so no object is built for the fields
+	 * that are not read. The plan of the view is cached by the interface and
+	 * the header.
+	 * 
+	 * @param text The PPL text.
+	 * @param type The interface of the view (getters named as the fields).
+	 * @return The view or <code>null</code> if the text is empty or has no
+	 *         records.
+	 * @see ViewPlan
+	 */
+	public <T> T view(String text, Class<T> type) {
+		if (text == null || text.isEmpty()) {
+			return null;
+		}
+		PplString pplString = new PplString(text);
+		ViewPlan<T> plan = viewPlan(pplString, type);
+		return plan.metadata().info().getMaxOccurs() > 0 ? plan.view(pplString.getPayload(), 0) : null;
+	}
+
+	/**
+	 * List version of {@link #view(String, Class)}. Each <code>get(index)</code>
+	 * creates the view of a record.
+	 */
+	public <T> List<T> viewList(String text, Class<T> type) {
+		if (text == null || text.isEmpty()) {
+			return null;
+		}
+		PplString pplString = new PplString(text);
+		ViewPlan<T> plan = viewPlan(pplString, type);
+		return plan.list(pplString.getPayload(), 0, plan.metadata().info().getMaxOccurs());
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> ViewPlan<T> viewPlan(PplString pplString, Class<T> type) {
+		return (ViewPlan<T>) views.get(new PlanKey(ViewPlan.class, type, pplString.getPplMetadata()),
+				key -> new ViewPlan<>(type, asStatic(parser.parse(pplString)), context, reader));
+	}
+
 	@Override
 	public <T> T fromPayload(StaticMetadata metadata, String payload, Metaclass toClass) {
 		return context.parserFactory().create(toClass).parse(metadata, payload, toClass);
@@ -161,20 +429,103 @@ public class Buzu implements JavaPplMapper {
 
 	@Override
 	public String toPpl(Object source) {
+		CharSequence text = toPplText(source);
+		return text != null ? text.toString() : null;
+	}
+
+	public String toPplFromCollection(Collection<?> source) {
+		return toPplText(source).toString();
+	}
+
+	/**
+	 * Serializes the source as PPL text directly into the buffer, one byte per
+	 * char (US-ASCII or ISO-8859-1), starting at the position of the buffer.
+	 * 
+	 * @param source The object or collection to be serialized.
+	 * @param out    The heap or direct buffer.
+	 * @return The number of bytes written.
+	 * @throws java.nio.BufferOverflowException If the buffer has not enough
+	 *                                          space (nothing is written).
+	 * @see Latin1Text
+	 */
+	public int toPpl(Object source, ByteBuffer out) {
+		CharSequence text = toPplText(source);
+		if (text == null) {
+			return 0;
+		}
+		Latin1Text.encode(text, out);
+		return text.length();
+	}
+
+	/**
+	 * Array version of {@link #toPpl(Object, ByteBuffer)}.
+	 */
+	public byte[] toPplBytes(Object source) {
+		CharSequence text = toPplText(source);
+		return text != null ? Latin1Text.encode(text) : null;
+	}
+
+	private CharSequence toPplText(Object source) {
 		if (source == null) {
 			return null;
 		}
 		if (source instanceof Collection<?>) {
-			return toPplFromCollection((Collection<?>) source);
+			Collection<?> collection = (Collection<?>) source;
+			if (collection.isEmpty()) {
+				return PplString.Companion.getEMPTY().getMetadata();
+			}
+			return toPplText(source, serializePlan(source.getClass(), collection.iterator().next().getClass()));
 		}
-		return toPpl(source, readMetaclass(source.getClass()));
+		return toPplText(source, serializePlan(source.getClass(), source.getClass()));
 	}
 
-	public String toPplFromCollection(Collection<?> source) {
-		if (source.isEmpty()) {
-			return PplString.Companion.getEMPTY().getMetadata();
+	private StringBuilder toPplText(Object source, MappingPlan plan) {
+		// texts formatted by the load are reused by the (sequential) serialization
+		ValueTextCache texts = formatOnce && pool == null && !plan.isStatic() ? new ValueTextCache() : null;
+		StaticMetadata metadata = plan.isStatic() ? plan.metadata()
+				: asStatic(load(source, plan.metaclass(), texts));
+		String header = pplToString(coder.code(metadata), "");
+		StringBuilder sb = new StringBuilder(header.length() + metadata.serialMaxSize());
+		sb.append(header);
+		if (pool != null) {
+			plan.serializeParallel(metadata, source, sb, pool, parallelThreshold);
+		} else if (texts != null) {
+			ValueTextCache previous = ValueTextCache.bind(texts);
+			try {
+				plan.serializeTo(metadata, source, sb);
+			} finally {
+				ValueTextCache.bind(previous);
+			}
+		} else {
+			plan.serializeTo(metadata, source, sb);
+		}
+		return sb;
+	}
+
+	/*
+	 * The max values of large collections are calculated in parallel if enabled.
+	 */
+	private Metadata load(Object source, Metaclass metaclass, ValueTextCache texts) {
+		if (loader instanceof BasicMetadataLoader) {
+			if (pool != null) {
+				return ((BasicMetadataLoader) loader).load(source, metaclass, pool, parallelThreshold);
+			}
+			if (texts != null) {
+				return ((BasicMetadataLoader) loader).load(source, metaclass, texts);
+			}
 		}
-		return toPpl(source, readMetaclass(source.getClass(), source.iterator().next().getClass()));
+		return loader.load(source, metaclass);
+	}
+
+	private MappingPlan serializePlan(Class<?> type, Class<?> elementType) {
+		return plans.get(new PlanKey(type, elementType, null), key -> createSerializePlan(type, elementType))
+				.forCall();
+	}
+
+	private MappingPlan createSerializePlan(Class<?> type, Class<?> elementType) {
+		Metaclass metaclass = readMetaclass(type, elementType);
+		StaticMetadata metadata = metaclass instanceof StaticMetadata ? (StaticMetadata) metaclass : null;
+		return newPlan(metaclass, metadata, context.parserFactory()::create);
 	}
 
 	@Override
@@ -188,8 +539,84 @@ public class Buzu implements JavaPplMapper {
 	@Override
 	public String toPpl(StaticMetadata metadata, Object source, Metaclass fromClass) {
 		PayloadMapper payloadMapper = context.parserFactory().create(fromClass);
-		return pplToString(coder.code(metadata),
-				payloadMapper.serialize(metadata, source, fromClass));
+		String header = pplToString(coder.code(metadata), "");
+		StringBuilder sb = new StringBuilder(header.length() + metadata.serialMaxSize());
+		sb.append(header);
+		AbstractPositionalMapper.serializeTo(payloadMapper, metadata, source, fromClass, sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a writer that appends the records to the output one by one, with
+	 * no need of the whole collection in memory. A record beyond the maxOccurs
+	 * of the metadata or that does not fit its sizes fails with a
+	 * <code>PplSerializeException</code> (policy FAIL).
+	 * 
+	 * @param out         The output of the PPL text.
+	 * @param metadata    The fixed metadata of the payload (see
+	 *                    {@link #writerMetadata(Object, Class, int)}).
+	 * @param elementType The type of each record.
+	 * @return The writer. The caller must close it.
+	 */
+	public <T> PplWriter<T> writer(Writer out, StaticMetadata metadata, Class<T> elementType) {
+		return writer(out, metadata, elementType, PplWriter.OverflowPolicy.FAIL, true);
+	}
+
+	/**
+	 * Complete version of {@link #writer(Writer, StaticMetadata, Class)}.
+	 * 
+	 * @param policy The policy for values and records that do not fit the
+	 *               metadata.
+	 * @param pad    <code>true</code> to complete the payload with null records
+	 *               up to the maxOccurs on close.
+	 */
+	public <T> PplWriter<T> writer(Writer out, StaticMetadata metadata, Class<T> elementType,
+			PplWriter.OverflowPolicy policy, boolean pad) {
+		Metaclass metaclass = readMetaclass(elementType);
+		return new PplWriter<>(out, pplToString(coder.code(metadata), ""), metadata, metaclass,
+				context.parserFactory().create(metaclass), policy, pad);
+	}
+
+	/**
+	 * Creates the fixed metadata of a {@link PplWriter}.
+	 * 
+	 * @param source      A <code>Layout</code>, a <code>PplString</code>, a
+	 *                    <code>StaticMetadata</code>, a sample (object or
+	 *                    collection) or <code>null</code> to use the static
+	 *                    Metaclass of the element type.
+	 * @param elementType The type of each record.
+	 * @param capacity    The max number of records (maxOccurs).
+	 * @return The StaticMetadata of the payload.
+	 */
+	public StaticMetadata writerMetadata(Object source, Class<?> elementType, int capacity) {
+		StaticMetadata metadata;
+		if (source instanceof StaticMetadata) {
+			metadata = (StaticMetadata) source;
+		} else if (source != null) {
+			metadata = new MetadataBuilder(context, loader, parser, reader).buildStatic(source);
+		} else {
+			Metaclass metaclass = readMetaclass(elementType);
+			if (!(metaclass instanceof StaticMetadata)) {
+				throw new PplSerializeException(WRITER_REQUIRES_STATIC_METADATA + elementType.getName());
+			}
+			metadata = (StaticMetadata) metaclass;
+		}
+		MetaInfo info = metadata.info();
+		return asStatic(context.metadataFactory().create(info.update(info.getSize(), capacity), metadata.children()));
+	}
+
+	/**
+	 * Creates an accumulator of the metadata of a list of records that grows
+	 * over time. The current metadata can be used with
+	 * {@link #toPpl(StaticMetadata, Object, Metaclass)}.
+	 * 
+	 * @param elementType The type of each record.
+	 * @return The accumulator (thread safe).
+	 */
+	public MetadataAccumulator accumulator(Class<?> elementType) {
+		BasicMetadataLoader basicLoader = loader instanceof BasicMetadataLoader ? (BasicMetadataLoader) loader
+				: new BasicMetadataLoader(context);
+		return new MetadataAccumulator(readMetaclass(List.class, elementType), basicLoader);
 	}
 
 	private Metaclass readMetaclass(Class<?> fieldType) {
@@ -232,4 +659,40 @@ public class Buzu implements JavaPplMapper {
 		return coder;
 	}
 
+	public LruCache<PlanKey, MappingPlan> planCache() {
+		return plans;
+	}
+
+	/**
+	 * @return The number of threads used to parse and serialize multiple
+	 *         payloads (1 means sequential).
+	 */
+	public int parallelism() {
+		return pool != null ? pool.getParallelism() : 1;
+	}
+
+	public int parallelThreshold() {
+		return parallelThreshold;
+	}
+
+	public boolean isFormatOnce() {
+		return formatOnce;
+	}
+
+	public CacheStats planStats() {
+		return plans.stats();
+	}
+
+	/**
+	 * Shuts down the ForkJoinPool owned by this <code>Buzu</code> (created with
+	 * parallelism). An external pool is not affected. Parallel operations fail
+	 * after close.
+	 */
+	@Override
+	public void close() {
+		if (ownsPool) {
+			pool.shutdown();
+		}
+	}
+
 }
@@ -22,9 +22,11 @@ import br.net.buzu4j.context.ContextBuilder;
 import br.net.buzu4j.context.JavaContext;
 import br.net.buzu.ext.MetadataParser;
 import br.net.buzu.ext.SkipStrategy;
+import br.net.buzu4j.cache.LruCache;
 import br.net.buzu4j.metaclass.AnnotationSkipStrategy;
 import br.net.buzu4j.metaclass.BasicMetaclassReader;
 import br.net.buzu4j.metaclass.BasicSkipStrategy;
+import br.net.buzu4j.metaclass.MetaclassCache;
 import br.net.buzu4j.metadata.build.load.BasicMetadataLoader;
 import br.net.buzu4j.metadata.build.parse.BasicMetadataParser;
 import br.net.buzu4j.metadata.build.parse.Splitter;
@@ -33,6 +35,7 @@ import br.net.buzu.model.Dialect;
 import java.lang.annotation.Annotation;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Builder to specific PplSimpleMapper (Buzu).
@@ -53,6 +56,15 @@ public class BuzuBuilder {
 	private MetadataLoader metadataLoader;
 	private Dialect dialect;
 	private boolean serializaNulls;
+	private int planCacheSize = Buzu.DEFAULT_PLAN_CACHE_SIZE;
+	private boolean metaclassCache = true;
+	private int metaclassCacheSize = MetaclassCache.DEFAULT_MAX_SIZE;
+	private boolean generateAccessors;
+	private int metadataCacheSize = LruCache.DEFAULT_MAX_SIZE;
+	private int parallelism = 1;
+	private ForkJoinPool pool;
+	private int parallelThreshold = Buzu.DEFAULT_PARALLEL_THRESHOLD;
+	private boolean formatOnce;
 
 	/**
 	 * Build and returns a instance domainOf <code>Buzu</code>.
@@ -68,7 +80,7 @@ public class BuzuBuilder {
 			splitter = new Splitter();
 		}
 		if (metadataParser == null) {
-			metadataParser = new BasicMetadataParser(context, splitter);
+			metadataParser = new BasicMetadataParser(context, splitter, metadataCacheSize);
 		}
 		if (skipStrategy == null) {
 			skipStrategy = new BasicSkipStrategy();
@@ -77,7 +89,9 @@ public class BuzuBuilder {
 			skipStrategy = new AnnotationSkipStrategy(ignoreAnnotations, useAnnotations, skipStrategy);
 		}
 		if (metaclassReader == null) {
-			metaclassReader = new BasicMetaclassReader(context, skipStrategy);
+			metaclassReader = new BasicMetaclassReader(context, skipStrategy,
+					metaclassCache ? new MetaclassCache(metaclassCacheSize) : MetaclassCache.DISABLED,
+					generateAccessors);
 		}
 		if (metadataLoader == null) {
 			metadataLoader = new BasicMetadataLoader(context);
@@ -85,7 +99,8 @@ public class BuzuBuilder {
 		if (dialect == null) {
 			dialect = Buzu.DEFAULT_DIALECT;
 		}
-		return new Buzu(context, metadataParser, metaclassReader, metadataLoader, dialect, serializaNulls);
+		return new Buzu(context, metadataParser, metaclassReader, metadataLoader, dialect, serializaNulls,
+				planCacheSize, parallelism, pool, parallelThreshold, formatOnce);
 	}
 	
 	private boolean useCustomSkipStrategy(){
@@ -175,4 +190,128 @@ public class BuzuBuilder {
 		return this;
 	}
 
+	public boolean isMetaclassCache() {
+		return metaclassCache;
+	}
+
+	/**
+	 * Enables or disables the Metaclass cache of the default MetaclassReader.
+	 * Ignored if a custom MetaclassReader is informed.
+	 */
+	public BuzuBuilder metaclassCache(boolean metaclassCache) {
+		this.metaclassCache = metaclassCache;
+		return this;
+	}
+
+	public int getMetaclassCacheSize() {
+		return metaclassCacheSize;
+	}
+
+	/**
+	 * Max number of (type, elementType) pairs cached by the default
+	 * MetaclassReader. Ignored if a custom MetaclassReader is informed.
+	 */
+	public BuzuBuilder metaclassCacheSize(int metaclassCacheSize) {
+		this.metaclassCacheSize = metaclassCacheSize;
+		return this;
+	}
+
+	public boolean isGenerateAccessors() {
+		return generateAccessors;
+	}
+
+	/**
+	 * Generates at runtime the accessors of the complex types to read/write all
+	 * fields of a record at once. Ignored if a custom MetaclassReader is
+	 * informed.
+	 */
+	public BuzuBuilder generateAccessors(boolean generateAccessors) {
+		this.generateAccessors = generateAccessors;
+		return this;
+	}
+
+	public int getMetadataCacheSize() {
+		return metadataCacheSize;
+	}
+
+	/**
+	 * Max number of headers (METADATA) cached by the default MetadataParser.
+	 * Zero disables the cache. Ignored if a custom MetadataParser is informed.
+	 */
+	public BuzuBuilder metadataCacheSize(int metadataCacheSize) {
+		this.metadataCacheSize = metadataCacheSize;
+		return this;
+	}
+
+	public int getPlanCacheSize() {
+		return planCacheSize;
+	}
+
+	/**
+	 * Max number of mapping plans (Metaclass + StaticMetadata + PayloadMapper)
+	 * cached by <code>Buzu</code>. Zero or less disables the plan cache.
+	 */
+	public BuzuBuilder planCacheSize(int planCacheSize) {
+		this.planCacheSize = planCacheSize;
+		return this;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Number of threads used to parse and serialize the records of multiple
+	 * payloads (a ForkJoinPool owned by the <code>Buzu</code>, shut down by
+	 * <code>Buzu.close()</code>). One or less (default) means sequential
+	 * mapping.
+	 */
+	public BuzuBuilder parallelism(int parallelism) {
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * External ForkJoinPool used to parse and serialize the records of multiple
+	 * payloads instead of a pool owned by the <code>Buzu</code>. The caller
+	 * keeps the ownership: the pool is not shut down by
+	 * <code>Buzu.close()</code>. The parallelism is ignored.
+	 */
+	public BuzuBuilder pool(ForkJoinPool pool) {
+		this.pool = pool;
+		return this;
+	}
+
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Max number of records mapped by a single fork/join task. Payloads with
+	 * fewer records are mapped sequentially.
+	 */
+	public BuzuBuilder parallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+		return this;
+	}
+
+	public boolean isFormatOnce() {
+		return formatOnce;
+	}
+
+	/**
+	 * Keeps the text of each value formatted by the metadata load (to calculate
+	 * the max sizes) and writes the same text at the serialization, so each
+	 * value is formatted once per call. It uses memory proportional to the
+	 * number of values. Ignored with parallelism or a custom MetadataLoader.
+	 */
+	public BuzuBuilder formatOnce(boolean formatOnce) {
+		this.formatOnce = formatOnce;
+		return this;
+	}
+
 }
@@ -0,0 +1,31 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.api
+
+/**
+ * Sharing scope of a custom PayloadMapper instance.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see PplMapperScope
+ */
+enum class MapperScope {
+    /** Stateless mapper: one instance shared by all threads. */
+    SHARED,
+    /** Stateful mapper: one instance per thread. */
+    THREAD
+}
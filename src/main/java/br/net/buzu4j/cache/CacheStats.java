@@ -0,0 +1,78 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.cache;
+
+/**
+ * Imutable snapshot of the counters of a cache.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see LruCache
+ */
+public final class CacheStats {
+
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+	private final int size;
+	private final int maxSize;
+
+	public CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+		super();
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.size = size;
+		this.maxSize = maxSize;
+	}
+
+	public long hits() {
+		return hits;
+	}
+
+	public long misses() {
+		return misses;
+	}
+
+	public long evictions() {
+		return evictions;
+	}
+
+	public long requests() {
+		return hits + misses;
+	}
+
+	public double hitRate() {
+		long requests = requests();
+		return requests == 0 ? 0.0 : (double) hits / requests;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int maxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size
+				+ "/" + maxSize + "]";
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe bounded cache with least-recently-used eviction and hit/miss
+ * counters.
+ * <p>
+ * Reads are lock free. When the number of entries exceeds the
+ * <code>maxSize</code> the least recently used entries are evicted. A
+ * <code>maxSize</code> lower than 1 disables the cache: every call to
+ * {@link #get(Object, Function)} is a miss and nothing is stored.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class LruCache<K, V> {
+
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	private final int maxSize;
+	private final ConcurrentHashMap<K, Entry<V>> map;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public LruCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public LruCache(int maxSize) {
+		super();
+		this.maxSize = maxSize;
+		this.map = new ConcurrentHashMap<>(maxSize > 0 ? Math.min(maxSize, DEFAULT_MAX_SIZE) : 1);
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Returns the value associated to the key, computing it with the loader on
+	 * a miss. The loader runs outside any lock, so concurrent misses on the same
+	 * key may compute the value more than once but only the first one is kept.
+	 *
+	 * @param key    The key [CANNOT BE NULL].
+	 * @param loader Function used to create the value on a miss.
+	 * @return The cached or the computed value.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		if (!isEnabled()) {
+			misses.increment();
+			return loader.apply(key);
+		}
+		Entry<V> entry = map.get(key);
+		if (entry != null) {
+			hits.increment();
+			entry.touch();
+			return entry.value;
+		}
+		misses.increment();
+		V value = loader.apply(key);
+		Entry<V> previous = map.putIfAbsent(key, new Entry<>(value));
+		if (previous != null) {
+			return previous.value;
+		}
+		if (map.size() > maxSize) {
+			evict();
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the value associated to the key or <code>null</code>. Does not
+	 * change the hit/miss counters.
+	 */
+	public V getIfPresent(K key) {
+		Entry<V> entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.touch();
+		return entry.value;
+	}
+
+	public void put(K key, V value) {
+		if (!isEnabled()) {
+			return;
+		}
+		map.put(key, new Entry<>(value));
+		if (map.size() > maxSize) {
+			evict();
+		}
+	}
+
+	public void clear() {
+		map.clear();
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public int maxSize() {
+		return maxSize;
+	}
+
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	public CacheStats stats() {
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), map.size(), maxSize);
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private synchronized void evict() {
+		while (map.size() > maxSize) {
+			Map.Entry<K, Entry<V>> eldest = null;
+			for (Map.Entry<K, Entry<V>> candidate : map.entrySet()) {
+				if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+					eldest = candidate;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			if (map.remove(eldest.getKey(), eldest.getValue())) {
+				evictions.increment();
+			}
+		}
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+		private volatile long lastAccess;
+
+		Entry(V value) {
+			this.value = value;
+			this.lastAccess = System.nanoTime();
+		}
+
+		void touch() {
+			lastAccess = System.nanoTime();
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.cache;
+
+import br.net.buzu4j.metaclass.BasicMetaclass;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * [NOT THREAD-SAFE] Scratch of a single serialization call: the text of each
+ * value formatted by the metadata load (to calculate the max sizes), so the
+ * mappers write the same text without formatting the value again.
+ * <p>
+ * The values are compared by identity. The cache is bound to the current
+ * thread during the serialization (see {@link #bind(ValueTextCache)}) and
+ * discarded at the end of the call.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class ValueTextCache {
+
+	private static final ThreadLocal<ValueTextCache> CURRENT = new ThreadLocal<>();
+
+	private final Map<Object, String> texts = new IdentityHashMap<>();
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * @return The text of the value or <code>null</code> if the value was not
+	 *         formatted.
+	 */
+	public String get(Object value) {
+		return texts.get(value);
+	}
+
+	public void put(Object value, String text) {
+		texts.put(value, text);
+	}
+
+	/**
+	 * @return The text of the value, formatted and kept on the first call.
+	 * @see BasicMetaclass#valueText(Object, boolean)
+	 */
+	public String textOf(Object value, boolean pplSerializable) {
+		String text = texts.get(value);
+		if (text == null) {
+			text = BasicMetaclass.valueText(value, pplSerializable);
+			if (text != null) {
+				texts.put(value, text);
+			}
+		}
+		return text;
+	}
+
+	public int size() {
+		return texts.size();
+	}
+
+	/**
+	 * @return The cache bound to the current thread or <code>null</code>.
+	 */
+	public static ValueTextCache current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Binds the cache to the current thread.
+	 * 
+	 * @param cache The cache or <code>null</code> to unbind.
+	 * @return The cache previously bound (to be restored at the end).
+	 */
+	public static ValueTextCache bind(ValueTextCache cache) {
+		ValueTextCache previous = CURRENT.get();
+		if (cache != null) {
+			CURRENT.set(cache);
+		} else {
+			CURRENT.remove();
+		}
+		return previous;
+	}
+
+}
@@ -20,6 +20,8 @@ import br.net.buzu4j.api.PayloadMapper;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.Subtype;
 import br.net.buzu4j.parsing.complex.ComplexMapper;
+import br.net.buzu4j.parsing.generated.GeneratedMapper;
+import br.net.buzu4j.parsing.generated.GeneratedMappers;
 import br.net.buzu4j.parsing.simple.EnumNameMapper;
 import br.net.buzu4j.parsing.simple.EnumPplSerializableMapper;
 import br.net.buzu4j.parsing.simple.number.IntegerMapper;
@@ -27,13 +29,15 @@ import br.net.buzu4j.parsing.simple.number.LongMapper;
 import br.net.buzu4j.parsing.simple.number.NumberMapper;
 import br.net.buzu4j.parsing.simple.text.CharMapper;
 import br.net.buzu4j.parsing.simple.text.StringMapper;
-import br.net.buzu4j.util.Reflect;
+import br.net.buzu4j.util.InstantiatorStrategy;
+import br.net.buzu4j.util.Instantiators;
 import br.net.buzu4j.parsing.simple.bool.*;
 import br.net.buzu4j.parsing.simple.oldtime.*;
 import br.net.buzu4j.parsing.simple.time.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Basic Implementation for ParserFactory
@@ -74,9 +78,10 @@ public class BasicParserFactory implements ParserFactory {
 		// Date
 		PARSER_ARRAY[Subtype.DATE.ordinal()] = DateMapper.INSTANCE;
 		PARSER_ARRAY[Subtype.ISO_DATE.ordinal()] = IsoDateMapper.INSTANCE;
+		PARSER_ARRAY[Subtype.UTC_DATE.ordinal()] = UtcDateMapper.INSTANCE;
 		// Time
 		PARSER_ARRAY[Subtype.TIME.ordinal()] = TimeMapper.INSTANCE;
-		PARSER_ARRAY[Subtype.TIME_AND_MILLIS.ordinal()] = TimestampAndMillisMapper.INSTANCE;
+		PARSER_ARRAY[Subtype.TIME_AND_MILLIS.ordinal()] = TimeAndMillisMapper.INSTANCE;
 		PARSER_ARRAY[Subtype.ISO_TIME.ordinal()] = IsoTimeMapper.INSTANCE;
 		PARSER_ARRAY[Subtype.UTC_TIME.ordinal()] = UtcTimeMapper.INSTANCE;
 
@@ -88,22 +93,50 @@ public class BasicParserFactory implements ParserFactory {
 		// OLD Date
 		PARSER_ARRAY[TIME_OFFSET + Subtype.DATE.ordinal()] = OldDateMapper.INSTANCE;
 		PARSER_ARRAY[TIME_OFFSET + Subtype.ISO_DATE.ordinal()] = OldIsoDateMapper.INSTANCE;
+		PARSER_ARRAY[TIME_OFFSET + Subtype.UTC_DATE.ordinal()] = OldUtcDateMapper.INSTANCE;
 		// OLD Time
 		PARSER_ARRAY[TIME_OFFSET + Subtype.TIME.ordinal()] = OldTimeMapper.INSTANCE;
-		PARSER_ARRAY[TIME_OFFSET + Subtype.TIME_AND_MILLIS.ordinal()] = OldTimestampAndMillisMapper.INSTANCE;
+		PARSER_ARRAY[TIME_OFFSET + Subtype.TIME_AND_MILLIS.ordinal()] = OldTimeAndMillisMapper.INSTANCE;
 		PARSER_ARRAY[TIME_OFFSET + Subtype.ISO_TIME.ordinal()] = OldIsoTimeMapper.INSTANCE;
 		PARSER_ARRAY[TIME_OFFSET + Subtype.UTC_TIME.ordinal()] = OldUtcTimeMapper.INSTANCE;
 
 	}
 	
+	private final Instantiators instantiators;
+
+	public BasicParserFactory() {
+		this(Instantiators.DEFAULT);
+	}
+
+	/**
+	 * @param strategy The strategy that creates the records and the custom
+	 *                 mappers [CANNOT BE NULL].
+	 */
+	public BasicParserFactory(InstantiatorStrategy strategy) {
+		this(new Instantiators(strategy));
+	}
+
+	protected BasicParserFactory(Instantiators instantiators) {
+		super();
+		this.instantiators = Objects.requireNonNull(instantiators, "'instantiators' cannot be null");
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
 	@Override
 	public PayloadMapper create(Metaclass metaclass) {
 		if (metaclass.hasCustomParser()) {
-			return (PayloadMapper) Reflect.newInstance(metaclass.mapperType());
+			return createCustom(metaclass);
 		}
 		return metaclass.kind().isComplex() ? createComplex(metaclass) : createSimple(metaclass);
 	}
 
+	protected PayloadMapper createCustom(Metaclass metaclass) {
+		return (PayloadMapper) instantiators.newInstance(metaclass.mapperType());
+	}
+
 	protected PayloadMapper createSimple(Metaclass metaclass) {
 		if (metaclass.isEnum()) {
 			if (metaclass.isPplSerializable()){
@@ -121,7 +154,19 @@ public class BasicParserFactory implements ParserFactory {
 	protected PayloadMapper createComplex(Metaclass metaClass) {
 		List<PayloadMapper> children = new ArrayList<>();
 		metaClass.children().forEach(m-> children.add(create((Metaclass) m)));
-		return new ComplexMapper(children);
+		ComplexMapper mapper = new ComplexMapper(children, instantiators);
+		// Compile-time generated mapper (buzu4j-processor)
+		if (metaClass.isStatic()) {
+			GeneratedMapper generated = GeneratedMappers.find(metaClass.elementType());
+			if (generated != null) {
+				return generated.create(mapper, metaClass);
+			}
+		}
+		return mapper;
+	}
+
+	public Instantiators instantiators() {
+		return instantiators;
 	}
 
 }
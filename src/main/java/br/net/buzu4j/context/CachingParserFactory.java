@@ -0,0 +1,115 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.context;
+
+import br.net.buzu4j.api.MapperScope;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.api.PplMapperScope;
+import br.net.buzu4j.cache.CacheStats;
+import br.net.buzu4j.cache.LruCache;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.ThreadLocalMapper;
+import br.net.buzu4j.util.InstantiatorStrategy;
+
+/**
+ * ParserFactory that builds the PayloadMapper tree of each Metaclass only once
+ * and shares it across threads. Mappers are cached by Metaclass identity, so it
+ * works better with a caching MetaclassReader (the default).
+ * <p>
+ * Custom mappers (see <code>PplParser</code>) are reused according to their
+ * {@link PplMapperScope}: <code>SHARED</code> mappers are created once and
+ * <code>THREAD</code> mappers (or not annotated ones) are created once per
+ * thread.
+ * <p>
+ * Usage: <code>new ContextBuilder().parserFactory(CachingParserFactory.INSTANCE)</code>
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class CachingParserFactory extends BasicParserFactory {
+
+	public static final CachingParserFactory INSTANCE = new CachingParserFactory();
+
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final LruCache<MetaclassKey, PayloadMapper> mappers;
+
+	public CachingParserFactory() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public CachingParserFactory(int maxSize) {
+		super();
+		this.mappers = new LruCache<>(maxSize);
+	}
+
+	public CachingParserFactory(int maxSize, InstantiatorStrategy strategy) {
+		super(strategy);
+		this.mappers = new LruCache<>(maxSize);
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	@Override
+	public PayloadMapper create(Metaclass metaclass) {
+		return mappers.get(new MetaclassKey(metaclass), key -> super.create(key.metaclass));
+	}
+
+	@Override
+	protected PayloadMapper createCustom(Metaclass metaclass) {
+		PplMapperScope scope = metaclass.mapperType().getAnnotation(PplMapperScope.class);
+		if (scope != null && scope.value() == MapperScope.SHARED) {
+			return super.createCustom(metaclass);
+		}
+		return new ThreadLocalMapper(() -> super.createCustom(metaclass));
+	}
+
+	public void clear() {
+		mappers.clear();
+	}
+
+	public CacheStats stats() {
+		return mappers.stats();
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private static final class MetaclassKey {
+
+		private final Metaclass metaclass;
+
+		private MetaclassKey(Metaclass metaclass) {
+			this.metaclass = metaclass;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof MetaclassKey && ((MetaclassKey) obj).metaclass == metaclass;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(metaclass);
+		}
+
+	}
+
+}
@@ -18,6 +18,7 @@ package br.net.buzu4j.context;
 
 import br.net.buzu.ext.MetadataCoderResolver;
 import br.net.buzu.ext.MetadataFactory;
+import br.net.buzu4j.util.InstantiatorStrategy;
 
 /**
  * Context domainOf parsing/serialization with Factories used to create objects and
@@ -33,10 +34,16 @@ public class ContextBuilder {
 	private SubtypeManager subtypeManager = new BasicSubtypeManager();
 	private MetadataFactory metadataFactory = new BasicMetadataFactory();
 	private MetadataCoderResolver metadataCoderResolver = new BasicMetadataCoderResolver();
-	private ParserFactory parserFactory = new BasicParserFactory();
+	private ParserFactory parserFactory;
+	private InstantiatorStrategy instantiatorStrategy;
 
 	public JavaContext build() {
-		return new BasicContext(subtypeManager, metadataFactory, metadataCoderResolver, parserFactory);
+		ParserFactory factory = parserFactory;
+		if (factory == null) {
+			factory = instantiatorStrategy != null ? new BasicParserFactory(instantiatorStrategy)
+					: new BasicParserFactory();
+		}
+		return new BasicContext(subtypeManager, metadataFactory, metadataCoderResolver, factory);
 	}
 
 	// **************************************************
@@ -76,4 +83,16 @@ public class ContextBuilder {
 		return this;
 	}
 
+	/**
+	 * Strategy used by the default ParserFactory to create the records (e.g. by
+	 * a DI container). Ignored if a ParserFactory is informed.
+	 */
+	public ContextBuilder instantiatorStrategy(InstantiatorStrategy instantiatorStrategy) {
+		if (instantiatorStrategy == null) {
+			throw new NullPointerException("[PPL Context] instantiatorStrategy canot be null!");
+		}
+		this.instantiatorStrategy = instantiatorStrategy;
+		return this;
+	}
+
 }
@@ -0,0 +1,170 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplSerializeException;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * [IMMUTABLE] Read-only CharSequence view of the bytes of a single-byte charset
+ * (US-ASCII or ISO-8859-1) text. Each byte is a char, so the text is read in
+ * place with no charset decoding and only the values extracted by
+ * <code>toString()</code> are copied.
+ * <p>
+ * The view does not change the position or the limit of the buffer. The
+ * content of the buffer must not change while the view is in use.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class Latin1Text implements CharSequence {
+
+	static final String UNMAPPABLE_CHAR = "Char not supported by single-byte charsets: ";
+
+	private final ByteBuffer buffer;
+	private final int offset;
+	private final int length;
+
+	/**
+	 * View of the bytes between the position and the limit of the buffer.
+	 * 
+	 * @param buffer The heap or direct buffer [CANNOT BE NULL].
+	 */
+	public Latin1Text(ByteBuffer buffer) {
+		this(Objects.requireNonNull(buffer, "'buffer' cannot be null"), buffer.position(), buffer.remaining());
+	}
+
+	/**
+	 * View of the whole array.
+	 * 
+	 * @param bytes The bytes of the text [CANNOT BE NULL].
+	 */
+	public Latin1Text(byte[] bytes) {
+		this(ByteBuffer.wrap(Objects.requireNonNull(bytes, "'bytes' cannot be null")));
+	}
+
+	/**
+	 * View of a region of the buffer (absolute indexes).
+	 * 
+	 * @param buffer The heap or direct buffer [CANNOT BE NULL].
+	 * @param offset The index of the first byte.
+	 * @param length The number of bytes.
+	 */
+	public Latin1Text(ByteBuffer buffer, int offset, int length) {
+		super();
+		Objects.requireNonNull(buffer, "'buffer' cannot be null");
+		if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", limit: "
+					+ buffer.limit());
+		}
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+		}
+		return (char) (buffer.get(offset + index) & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+		}
+		return new Latin1Text(buffer, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		if (buffer.hasArray()) {
+			return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+		}
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Writes the text into the buffer as single-byte chars, starting at the
+	 * position of the buffer. The position is advanced by the length of the
+	 * text.
+	 * 
+	 * @param text The text to be written.
+	 * @param out  The heap or direct buffer.
+	 * @throws PplSerializeException If a char is bigger than 0xFF.
+	 * @throws BufferOverflowException If the buffer has not enough space.
+	 */
+	public static void encode(CharSequence text, ByteBuffer out) {
+		int length = text.length();
+		if (out.remaining() < length) {
+			throw new BufferOverflowException();
+		}
+		int position = out.position();
+		if (out.hasArray()) {
+			byte[] array = out.array();
+			int base = out.arrayOffset() + position;
+			for (int i = 0; i < length; i++) {
+				array[base + i] = toByte(text.charAt(i));
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				out.put(position + i, toByte(text.charAt(i)));
+			}
+		}
+		out.position(position + length);
+	}
+
+	/**
+	 * Array version of {@link #encode(CharSequence, ByteBuffer)}.
+	 */
+	public static byte[] encode(CharSequence text) {
+		byte[] bytes = new byte[text.length()];
+		encode(text, ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private static byte toByte(char c) {
+		if (c > 0xFF) {
+			throw new PplSerializeException(UNMAPPABLE_CHAR + c);
+		}
+		return (byte) c;
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplParseException;
+import br.net.buzu.model.Metadata;
+import br.net.buzu.model.PplString;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.Buzu;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Read-only random access to the records of a PPL file. The payload is memory
+ * mapped (not loaded into the heap) and, since all records have the same size
+ * (<code>serialMaxSize / maxOccurs</code>), the record N is read at a computed
+ * offset. Only the requested records are parsed.
+ * <p>
+ * The file must be encoded in a single-byte charset (US-ASCII or ISO-8859-1),
+ * see {@link Latin1Text}. Only the header is read when the file is opened;
+ * the payload is mapped in segments of up to 2GB on the first access.
+ * <p>
+ * Thread safe if the mapper is stateless. Closing the PplFile closes the
+ * channel.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class PplFile<T> implements Iterable<T>, Closeable {
+
+	static final String NOT_STATIC = "The metadata of a PplFile must be static: ";
+	static final String NOT_SUPPORTED = "Record parsing is not supported by the mapper ";
+	static final String CLOSED = "The file is closed";
+
+	private final FileChannel channel;
+	private final StaticMetadata metadata;
+	private final Metaclass metaclass;
+	private final AbstractPositionalMapper mapper;
+	private final long payloadStart;
+	private final int recordSize;
+	private final long size;
+	private final int recordsPerSegment;
+	private final AtomicReferenceArray<MappedByteBuffer> segments;
+
+	PplFile(FileChannel channel, long payloadStart, StaticMetadata metadata, Metaclass metaclass,
+			PayloadMapper mapper) throws IOException {
+		super();
+		this.channel = Objects.requireNonNull(channel, "'channel' cannot be null");
+		this.metadata = Objects.requireNonNull(metadata, "'metadata' cannot be null");
+		this.metaclass = Objects.requireNonNull(metaclass, "'metaclass' cannot be null");
+		if (!(mapper instanceof AbstractPositionalMapper)) {
+			throw new PplParseException(NOT_SUPPORTED + mapper);
+		}
+		this.mapper = (AbstractPositionalMapper) mapper;
+		this.payloadStart = payloadStart;
+		int maxOccurs = metadata.info().getMaxOccurs();
+		this.recordSize = maxOccurs > 0 ? metadata.serialMaxSize() / maxOccurs : 0;
+		this.size = recordSize > 0 ? Math.min(maxOccurs, (channel.size() - payloadStart) / recordSize) : 0;
+		this.recordsPerSegment = recordSize > 0 ? Math.max(1, Integer.MAX_VALUE / recordSize) : 1;
+		this.segments = new AtomicReferenceArray<>((int) ((size + recordsPerSegment - 1) / recordsPerSegment));
+	}
+
+	/**
+	 * Opens a PPL file with a default <code>Buzu</code>.
+	 * 
+	 * @param path        The path of the file.
+	 * @param elementType The type of each record.
+	 * @return The opened file. The caller must close it.
+	 */
+	public static <T> PplFile<T> open(Path path, Class<T> elementType) {
+		return open(path, elementType, new Buzu());
+	}
+
+	/**
+	 * Opens a PPL file. The header is parsed by the <code>Buzu</code> parser and
+	 * the records are parsed by the mapper of its context.
+	 * 
+	 * @param path        The path of the file.
+	 * @param elementType The type of each record.
+	 * @param buzu        The Buzu instance.
+	 * @return The opened file. The caller must close it.
+	 */
+	public static <T> PplFile<T> open(Path path, Class<T> elementType, Buzu buzu) {
+		Objects.requireNonNull(path, "'path' cannot be null");
+		Objects.requireNonNull(elementType, "'elementType' cannot be null");
+		Objects.requireNonNull(buzu, "'buzu' cannot be null");
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			CountingReader reader = new CountingReader(new BufferedReader(new InputStreamReader(
+					Channels.newInputStream(channel), StandardCharsets.ISO_8859_1)));
+			String header = PplHeaderReader.read(reader);
+			long end = reader.count();
+			Metadata metadata = buzu.parser().parse(new PplString(header));
+			if (!(metadata instanceof StaticMetadata)) {
+				throw new PplParseException(NOT_STATIC + path);
+			}
+			Metaclass metaclass = buzu.reader().read(elementType, elementType);
+			return new PplFile<>(channel, end, (StaticMetadata) metadata, metaclass,
+					buzu.context().parserFactory().create(metaclass));
+		} catch (IOException e) {
+			closeQuietly(channel);
+			throw new UncheckedIOException(e);
+		} catch (RuntimeException e) {
+			closeQuietly(channel);
+			throw e;
+		}
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * @return The number of records (complete records in the file up to the
+	 *         maxOccurs).
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Parses the record at the index.
+	 * 
+	 * @param index The index of the record (zero-based).
+	 * @return The parsed record.
+	 * @throws IndexOutOfBoundsException If the index is out of the file.
+	 * @throws IllegalStateException     If the file is closed.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(long index) {
+		if (!channel.isOpen()) {
+			throw new IllegalStateException(CLOSED);
+		}
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+		}
+		MappedByteBuffer segment = segment((int) (index / recordsPerSegment));
+		int offset = (int) (index % recordsPerSegment) * recordSize;
+		return (T) mapper.parseRecord(metadata, new Latin1Text(segment, offset, recordSize), metaclass);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return iterator(0, size);
+	}
+
+	/**
+	 * Iterates over the records between <code>fromIndex</code> (inclusive) and
+	 * <code>toIndex</code> (exclusive).
+	 */
+	public Iterator<T> iterator(long fromIndex, long toIndex) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: "
+					+ size);
+		}
+		return new Iterator<T>() {
+
+			private long index = fromIndex;
+
+			@Override
+			public boolean hasNext() {
+				return index < toIndex;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(index++);
+			}
+		};
+	}
+
+	/**
+	 * Closes the channel. The records can not be read after close. Closing a
+	 * closed file has no effect.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public StaticMetadata metadata() {
+		return metadata;
+	}
+
+	public int recordSize() {
+		return recordSize;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	/*
+	 * Maps the segment on the first access. Two threads may map the same
+	 * segment, but only the first mapping is published and used.
+	 */
+	private MappedByteBuffer segment(int index) {
+		MappedByteBuffer segment = segments.get(index);
+		if (segment != null) {
+			return segment;
+		}
+		long first = (long) index * recordsPerSegment;
+		long records = Math.min(recordsPerSegment, size - first);
+		try {
+			segment = channel.map(FileChannel.MapMode.READ_ONLY, payloadStart + first * recordSize,
+					records * recordSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return segments.compareAndSet(index, null, segment) ? segment : segments.get(index);
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if (closeable == null) {
+			return;
+		}
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			// ignored: the original exception is thrown
+		}
+	}
+
+	/*
+	 * Counts the chars read, that is the bytes in a single-byte charset. The
+	 * underlying stream reads ahead, so the count is the only reliable offset.
+	 */
+	private static final class CountingReader extends FilterReader {
+
+		private long count;
+
+		CountingReader(Reader reader) {
+			super(reader);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int c = super.read();
+			if (c >= 0) {
+				count++;
+			}
+			return c;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			int n = super.read(cbuf, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+
+		long count() {
+			return count;
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplParseException;
+import br.net.buzu.lang.Token;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads only the <code>(METADATA)</code> part of a PPL text from a Reader,
+ * leaving the Reader at the first char of the payload.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class PplHeaderReader {
+
+	static final String MISSING_HEADER = "The PPL text must start with '" + Token.SUB_OPEN + "'";
+	static final String UNTERMINATED_HEADER = "Unterminated PPL metadata: ";
+
+	/** Private Constructor */
+	private PplHeaderReader() {
+	}
+
+	/**
+	 * Reads the metadata. Parentheses inside strings (domains, default values
+	 * etc.) are ignored.
+	 * 
+	 * @param reader The Reader positioned at the beginning of the PPL text.
+	 * @return The metadata text including the parentheses.
+	 * @throws IOException If the Reader fails.
+	 */
+	public static String read(Reader reader) throws IOException {
+		StringBuilder sb = new StringBuilder(128);
+		int c = reader.read();
+		while (c >= 0 && Character.isWhitespace(c)) {
+			c = reader.read();
+		}
+		if (c != Token.SUB_OPEN) {
+			throw new PplParseException(MISSING_HEADER);
+		}
+		Scanner scanner = new Scanner();
+		for (; c >= 0; c = reader.read()) {
+			sb.append((char) c);
+			if (scanner.isEnd((char) c)) {
+				return sb.toString();
+			}
+		}
+		throw new PplParseException(UNTERMINATED_HEADER + sb);
+	}
+
+	/**
+	 * Finds the end of the metadata in a text already in memory.
+	 * 
+	 * @param text The PPL text.
+	 * @return The index of the first char of the payload.
+	 */
+	public static int end(CharSequence text) {
+		int i = 0;
+		while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+			i++;
+		}
+		if (i == text.length() || text.charAt(i) != Token.SUB_OPEN) {
+			throw new PplParseException(MISSING_HEADER);
+		}
+		Scanner scanner = new Scanner();
+		for (; i < text.length(); i++) {
+			if (scanner.isEnd(text.charAt(i))) {
+				return i + 1;
+			}
+		}
+		throw new PplParseException(UNTERMINATED_HEADER + text);
+	}
+
+	/*
+	 * Tracks the depth of the parentheses outside strings.
+	 */
+	private static final class Scanner {
+
+		private int depth;
+		private char delimiter;
+
+		boolean isEnd(char c) {
+			if (delimiter != 0) {
+				if (c == delimiter) {
+					delimiter = 0;
+				}
+			} else if (c == Token.PLIC || c == Token.QUOTE) {
+				delimiter = c;
+			} else if (c == Token.SUB_OPEN) {
+				depth++;
+			} else if (c == Token.SUB_CLOSE && --depth == 0) {
+				return true;
+			}
+			return false;
+		}
+	}
+
+}
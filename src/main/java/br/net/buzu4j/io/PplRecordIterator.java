@@ -0,0 +1,156 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplParseException;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Iterator that reads a multiple payload one record at a time. Each record has
+ * <code>serialMaxSize / maxOccurs</code> chars, so the memory used does not
+ * depend on the number of records.
+ * <p>
+ * Not thread safe. Closing the iterator closes the Reader.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see br.net.buzu4j.Buzu#iterator(Reader, Class)
+ */
+public class PplRecordIterator<T> implements Iterator<T>, Closeable {
+
+	static final String NOT_SUPPORTED = "Record parsing is not supported by the mapper ";
+	static final String INCOMPLETE_RECORD = "Incomplete record at the end of the payload. Record: ";
+
+	private final Reader reader;
+	private final StaticMetadata metadata;
+	private final Metaclass metaclass;
+	private final AbstractPositionalMapper mapper;
+	private final char[] buffer;
+	private int remaining;
+	private int count;
+	private boolean loaded;
+
+	/**
+	 * @param reader    The Reader positioned at the first char of the payload.
+	 * @param metadata  The StaticMetadata of the payload (all records).
+	 * @param metaclass The Metaclass of the element type.
+	 * @param mapper    The mapper of the element type.
+	 */
+	public PplRecordIterator(Reader reader, StaticMetadata metadata, Metaclass metaclass, PayloadMapper mapper) {
+		super();
+		this.reader = Objects.requireNonNull(reader, "'reader' cannot be null");
+		this.metadata = Objects.requireNonNull(metadata, "'metadata' cannot be null");
+		this.metaclass = Objects.requireNonNull(metaclass, "'metaclass' cannot be null");
+		if (!(mapper instanceof AbstractPositionalMapper)) {
+			throw new PplParseException(NOT_SUPPORTED + mapper);
+		}
+		this.mapper = (AbstractPositionalMapper) mapper;
+		int maxOccurs = metadata.info().getMaxOccurs();
+		this.remaining = maxOccurs > 0 ? maxOccurs : 0;
+		this.buffer = new char[maxOccurs > 0 ? metadata.serialMaxSize() / maxOccurs : 0];
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	@Override
+	public boolean hasNext() {
+		if (!loaded && remaining > 0) {
+			loaded = readRecord();
+			if (!loaded) {
+				remaining = 0;
+			}
+		}
+		return loaded;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		loaded = false;
+		remaining--;
+		count++;
+		return (T) mapper.parseRecord(metadata, CharBuffer.wrap(buffer), metaclass);
+	}
+
+	@Override
+	public void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return The number of records already read.
+	 */
+	public int count() {
+		return count;
+	}
+
+	public StaticMetadata metadata() {
+		return metadata;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	/*
+	 * Fills the buffer with the next record. Returns false at the end of the
+	 * payload.
+	 */
+	private boolean readRecord() {
+		int offset = 0;
+		try {
+			while (offset < buffer.length) {
+				int read = reader.read(buffer, offset, buffer.length - offset);
+				if (read < 0) {
+					break;
+				}
+				offset += read;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (offset == 0 && buffer.length > 0) {
+			return false;
+		}
+		if (offset < buffer.length) {
+			throw new PplParseException(INCOMPLETE_RECORD + (count + 1));
+		}
+		return true;
+	}
+
+}
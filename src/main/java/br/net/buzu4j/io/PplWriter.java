@@ -0,0 +1,263 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplSerializeException;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * Writer of a multiple payload one record at a time. The metadata is fixed (it
+ * is not loaded from the records), so the header is written once and each
+ * record is appended to the output as soon as it is written. The memory used
+ * does not depend on the number of records.
+ * <p>
+ * The maxOccurs of the metadata is the capacity of the writer. Records beyond
+ * the capacity and values bigger than the size of the metadata are handled by
+ * the {@link OverflowPolicy}. When closed, the writer completes the payload
+ * with null records up to the capacity (unless <code>pad</code> is
+ * <code>false</code>, for consumers like {@link PplRecordIterator} that accept a
+ * payload shorter than the maxOccurs).
+ * <p>
+ * Not thread safe. Closing the writer closes the output.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see br.net.buzu4j.Buzu#writer(Writer, StaticMetadata, Class)
+ */
+public class PplWriter<T> implements Closeable, Flushable {
+
+	static final String NOT_SUPPORTED = "Record serialization is not supported by the mapper ";
+	static final String CAPACITY_EXCEEDED = "The capacity (maxOccurs) of the writer was exceeded: ";
+	static final String VALUE_OVERFLOW = "The record does not fit the metadata. Record: ";
+	static final String CLOSED = "The writer is closed";
+
+	/**
+	 * Policy for records that does not fit the metadata.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Values are truncated to the size. Records beyond the capacity and
+		 * records that can not be serialized with the metadata (e.g. a list with
+		 * more occurrences than its maxOccurs) are dropped.
+		 */
+		TRUNCATE,
+		/** A <code>PplSerializeException</code> is thrown (default). */
+		FAIL
+	}
+
+	private final Writer out;
+	private final String header;
+	private final StaticMetadata metadata;
+	private final Metaclass metaclass;
+	private final AbstractPositionalMapper mapper;
+	private final OverflowPolicy policy;
+	private final boolean pad;
+	private final int capacity;
+	private int count;
+	private long dropped;
+	private boolean started;
+	private boolean closed;
+
+	/**
+	 * @param out       The output [CANNOT BE NULL].
+	 * @param header    The coded metadata (header) of the PPL text.
+	 * @param metadata  The StaticMetadata of the payload (all records). The
+	 *                  maxOccurs is the capacity.
+	 * @param metaclass The Metaclass of the element type.
+	 * @param mapper    The mapper of the element type.
+	 * @param policy    The OverflowPolicy [CANNOT BE NULL].
+	 * @param pad       <code>true</code> to complete the payload with null
+	 *                  records up to the capacity on close.
+	 */
+	public PplWriter(Writer out, String header, StaticMetadata metadata, Metaclass metaclass, PayloadMapper mapper,
+			OverflowPolicy policy, boolean pad) {
+		super();
+		this.out = Objects.requireNonNull(out, "'out' cannot be null");
+		this.header = Objects.requireNonNull(header, "'header' cannot be null");
+		this.metadata = Objects.requireNonNull(metadata, "'metadata' cannot be null");
+		this.metaclass = Objects.requireNonNull(metaclass, "'metaclass' cannot be null");
+		if (!(mapper instanceof AbstractPositionalMapper)) {
+			throw new PplSerializeException(NOT_SUPPORTED + mapper);
+		}
+		this.mapper = (AbstractPositionalMapper) mapper;
+		this.policy = Objects.requireNonNull(policy, "'policy' cannot be null");
+		this.pad = pad;
+		int maxOccurs = metadata.info().getMaxOccurs();
+		this.capacity = maxOccurs > 0 ? maxOccurs : 0;
+	}
+
+	/**
+	 * Creates a buffered Writer over a channel.
+	 * 
+	 * @param channel The channel [CANNOT BE NULL].
+	 * @param charset The charset of the PPL text [CANNOT BE NULL].
+	 * @return The Writer of the channel.
+	 */
+	public static Writer writerOf(WritableByteChannel channel, Charset charset) {
+		Objects.requireNonNull(channel, "'channel' cannot be null");
+		Objects.requireNonNull(charset, "'charset' cannot be null");
+		return Channels.newWriter(channel, charset.newEncoder(), -1);
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Appends a record to the payload. The header is written before the first
+	 * record.
+	 * 
+	 * @param record The record. <code>null</code> writes a null record.
+	 * @return <code>false</code> if the record was dropped (policy TRUNCATE).
+	 */
+	public boolean write(T record) {
+		ensureOpen();
+		if (count >= capacity) {
+			if (policy == OverflowPolicy.FAIL) {
+				throw new PplSerializeException(CAPACITY_EXCEEDED + capacity);
+			}
+			dropped++;
+			return false;
+		}
+		if (policy == OverflowPolicy.FAIL && record != null && mapper.overflows(metadata, record, metaclass)) {
+			throw new PplSerializeException(VALUE_OVERFLOW + (count + 1));
+		}
+		String text;
+		try {
+			text = mapper.serializeRecord(metadata, record, metaclass);
+		} catch (PplSerializeException e) {
+			if (policy == OverflowPolicy.FAIL) {
+				throw e;
+			}
+			dropped++;
+			return false;
+		}
+		append(text);
+		count++;
+		return true;
+	}
+
+	/**
+	 * Appends all records of the Iterable.
+	 * 
+	 * @return The number of records written (not dropped).
+	 */
+	public int writeAll(Iterable<? extends T> records) {
+		int written = 0;
+		for (T record : records) {
+			if (write(record)) {
+				written++;
+			}
+		}
+		return written;
+	}
+
+	@Override
+	public void flush() {
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Completes the payload (if <code>pad</code>) and closes the output.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		try {
+			if (pad && count < capacity) {
+				String nullRecord = mapper.serializeRecord(metadata, null, metaclass);
+				while (count < capacity) {
+					append(nullRecord);
+					count++;
+				}
+			} else if (!started) {
+				append("");
+			}
+		} finally {
+			closed = true;
+			try {
+				out.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of records in the payload (written or padded).
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * @return The number of records dropped (policy TRUNCATE).
+	 */
+	public long dropped() {
+		return dropped;
+	}
+
+	public StaticMetadata metadata() {
+		return metadata;
+	}
+
+	public OverflowPolicy policy() {
+		return policy;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private void append(String text) {
+		try {
+			if (!started) {
+				out.write(header);
+				started = true;
+			}
+			out.write(text);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException(CLOSED);
+		}
+	}
+
+}
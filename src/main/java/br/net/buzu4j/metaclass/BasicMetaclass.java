@@ -22,11 +22,12 @@ import br.net.buzu.model.Kind;
 import br.net.buzu.model.MetaInfo;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.PplSerializable;
-import br.net.buzu4j.util.Reflect;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Imutable informations about the target class on a parsing operation.
@@ -38,16 +39,20 @@ public abstract class BasicMetaclass implements Metaclass {
 
 	private final Kind kind;
 	private final Field field;
+	private final FieldAccessor accessor;
 	private final String fieldName;
 	private final Class<?> fieldType;
 	private final Class<?> elementType;
 	private final Class<? extends PayloadMapper> parserType;
 	private final MetaInfo metaInfo;
+	private int id = -1;
+	private int treeSize;
 
 	public BasicMetaclass(Field field, Class<?> fieldType, Class<?> elementType, Kind kind, MetaInfo metaInfo,
 			Class<? extends PayloadMapper> parserType) {
 		super();
 		this.field = field;
+		this.accessor = field != null ? FieldAccessor.of(field) : null;
 		this.fieldName = field != null ? field.getName() : "";
 		this.fieldType = fieldType;
 		this.elementType = elementType;
@@ -147,38 +152,125 @@ public abstract class BasicMetaclass implements Metaclass {
 		return sb.toString();
 	}
 
+	/**
+	 * @return The dense id of the node in the tree of the root Metaclass
+	 *         (pre-order, the root is 0) or -1 if the ids were not assigned.
+	 */
+	public int id() {
+		return id;
+	}
+
+	/**
+	 * @return The number of nodes of the tree under this node (including this
+	 *         node) or 0 if the ids were not assigned.
+	 */
+	public int treeSize() {
+		return treeSize;
+	}
+
+	/*
+	 * Assigns the ids of the tree in pre-order. Called by the reader once, before
+	 * the Metaclass is published. Returns the next id or -1 if some child is not
+	 * a BasicMetaclass.
+	 */
+	int assignIds(int next) {
+		int first = next++;
+		if (hasChildren()) {
+			List<Metaclass> children = children();
+			for (Metaclass child : children) {
+				if (!(child instanceof BasicMetaclass)) {
+					return -1;
+				}
+				next = ((BasicMetaclass) child).assignIds(next);
+				if (next < 0) {
+					return -1;
+				}
+			}
+		}
+		this.id = first;
+		this.treeSize = next - first;
+		return next;
+	}
+
 	@Override
 	public int getValueSize(Object value) {
+		String str = valueText(value, isPplSerializable());
+		return str != null ? str.length() : 0;
+	}
+
+	/**
+	 * The text of a simple value used to calculate the size. BigDecimal values
+	 * are written with no exponent.
+	 * 
+	 * @return The text or <code>null</code> if the value is <code>null</code>.
+	 */
+	public static String valueText(Object value, boolean pplSerializable) {
 		if (value == null) {
-			return 0;
+			return null;
 		}
-		String str;
-		if (isPplSerializable()) {
-			str = ((PplSerializable) value).asPplSerial();
-		} else {
-			str = value.toString();
+		if (pplSerializable) {
+			return ((PplSerializable) value).asPplSerial();
 		}
-		return str != null ? str.length() : 0;
+		if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).toPlainString();
+		}
+		return value.toString();
 	}
 
 	@Override
 	public Object get(Object object) {
-		try {
-			field.setAccessible(true);
-			return field.get(object);
-		} catch (IllegalArgumentException | IllegalAccessException e) {
-			return Reflect.get(object, fieldName);
-		}
+		return accessor.get(object);
 	}
 
 	@Override
 	public void set(Object object, Object param) {
-		try {
-			field.setAccessible(true);
-			field.set(object, param);
-		} catch (IllegalArgumentException | IllegalAccessException e) {
-			Reflect.set(object, fieldName, fieldType, param);
-		}
+		accessor.set(object, param);
+	}
+
+	// ******************** PRIMITIVE (NO BOXING) ********************
+
+	public int getInt(Object object) {
+		return accessor.getInt(object);
+	}
+
+	public void setInt(Object object, int value) {
+		accessor.setInt(object, value);
+	}
+
+	public long getLong(Object object) {
+		return accessor.getLong(object);
+	}
+
+	public void setLong(Object object, long value) {
+		accessor.setLong(object, value);
+	}
+
+	public double getDouble(Object object) {
+		return accessor.getDouble(object);
+	}
+
+	public void setDouble(Object object, double value) {
+		accessor.setDouble(object, value);
+	}
+
+	public boolean getBoolean(Object object) {
+		return accessor.getBoolean(object);
+	}
+
+	public void setBoolean(Object object, boolean value) {
+		accessor.setBoolean(object, value);
+	}
+
+	public char getChar(Object object) {
+		return accessor.getChar(object);
+	}
+
+	public void setChar(Object object, char value) {
+		accessor.setChar(object, value);
+	}
+
+	public FieldAccessor accessor() {
+		return accessor;
 	}
 
 	// **************************************************
@@ -50,6 +50,8 @@ public class BasicMetaclassReader implements MetaclassReader {
 
 	private final JavaContext context;
 	private final SkipStrategy skip;
+	private final MetaclassCache cache;
+	private final boolean generateAccessors;
 
 	public BasicMetaclassReader() {
 		this(new BasicContext());
@@ -60,9 +62,35 @@ public class BasicMetaclassReader implements MetaclassReader {
 	}
 
 	public BasicMetaclassReader(JavaContext context, SkipStrategy skip) {
+		this(context, skip, new MetaclassCache());
+	}
+
+	/**
+	 * @param context The PPL Context [CANNOT BE NULL].
+	 * @param skip    The SkipStrategy [CANNOT BE NULL].
+	 * @param cache   The MetaclassCache. Use {@link MetaclassCache#DISABLED} to
+	 *                read the type on every call [CANNOT BE NULL].
+	 */
+	public BasicMetaclassReader(JavaContext context, SkipStrategy skip, MetaclassCache cache) {
+		this(context, skip, cache, false);
+	}
+
+	/**
+	 * Complete constructor.
+	 * 
+	 * @param context           The PPL Context [CANNOT BE NULL].
+	 * @param skip              The SkipStrategy [CANNOT BE NULL].
+	 * @param cache             The MetaclassCache [CANNOT BE NULL].
+	 * @param generateAccessors <code>true</code> to generate a RecordAccessor
+	 *                          for each complex type.
+	 */
+	public BasicMetaclassReader(JavaContext context, SkipStrategy skip, MetaclassCache cache,
+			boolean generateAccessors) {
 		super();
 		this.context = Objects.requireNonNull(context, "'context' cannot be null");
 		this.skip = Objects.requireNonNull(skip, "'skip' cannot be null");
+		this.cache = Objects.requireNonNull(cache, "'cache' cannot be null");
+		this.generateAccessors = generateAccessors;
 	}
 
 	// **************************************************
@@ -76,15 +104,23 @@ public class BasicMetaclassReader implements MetaclassReader {
 
 	@Override
 	public Metaclass read(Class<?> type, Class<?> elementType) {
-		PplMetadata pplMetadata = elementType.getAnnotation(PplMetadata.class);
-		PplParser pplParser = elementType.getAnnotation(PplParser.class);
-		Class<? extends PayloadMapper> parserType = pplParser != null ? pplParser.value() : null;
-		return createMetaclass(Syntax.EMPTY, type, elementType, pplMetadata, null, parserType);
+		return cache.get(type, elementType, this::readRoot);
 	}
 
 	// **************************************************
 	// Internal
 	// **************************************************
+
+	private Metaclass readRoot(Class<?> type, Class<?> elementType) {
+		PplMetadata pplMetadata = elementType.getAnnotation(PplMetadata.class);
+		PplParser pplParser = elementType.getAnnotation(PplParser.class);
+		Class<? extends PayloadMapper> parserType = pplParser != null ? pplParser.value() : null;
+		Metaclass root = createMetaclass(Syntax.EMPTY, type, elementType, pplMetadata, null, parserType);
+		// dense ids: the loader keeps the max values in arrays indexed by id
+		((BasicMetaclass) root).assignIds(0);
+		return root;
+	}
+
 	private Metaclass read(String parentId, Field field) {
 		// Precedence 1: Field Annotation
 		PplMetadata pplMetadata = field.getAnnotation(PplMetadata.class);
@@ -109,12 +145,15 @@ public class BasicMetaclassReader implements MetaclassReader {
 		List<Metaclass> children = complex ? createChildren(parentId, elementType) : null;
 
 		if (complex) {
+			RecordAccessor recordAccessor = generateAccessors && children != null
+					? RecordAccessor.of(elementType, children)
+					: null;
 			return StaticBehave.isStaticChidren(children)
 					? new ComplexStaticMetaclass(field, fieldType, elementType, kindOf(multiple, complex), metaInfo,
-							parserType, children)
+							parserType, children, recordAccessor)
 
 					: new ComplexMetaclass(field, fieldType, elementType, kindOf(multiple, complex), metaInfo,
-							parserType, children);
+							parserType, children, recordAccessor);
 		} else {
 			return metaInfo.isStatic()
 					? new SimpleStaticMetaclass(field, fieldType, elementType, kindOf(multiple, complex), metaInfo,
@@ -179,4 +218,12 @@ public class BasicMetaclassReader implements MetaclassReader {
 		return skip;
 	}
 
+	public MetaclassCache cache() {
+		return cache;
+	}
+
+	public boolean isGenerateAccessors() {
+		return generateAccessors;
+	}
+
 }
@@ -37,13 +37,25 @@ public class ComplexMetaclass extends BasicMetaclass {
 	
 	private final List<Metaclass> children;
 	private final Map<String, Metaclass> internalMap = new HashMap<>();
+	private final Map<String, Integer> indexMap = new HashMap<>();
+	private final RecordAccessor recordAccessor;
 
 	public ComplexMetaclass(Field field, Class<?> fieldType, Class<?> elementType, Kind kind, MetaInfo metaInfo,
                             Class<? extends PayloadMapper> parserType, List<? extends Metaclass> children) {
+		this(field, fieldType, elementType, kind, metaInfo, parserType, children, null);
+	}
+
+	public ComplexMetaclass(Field field, Class<?> fieldType, Class<?> elementType, Kind kind, MetaInfo metaInfo,
+                            Class<? extends PayloadMapper> parserType, List<? extends Metaclass> children,
+                            RecordAccessor recordAccessor) {
 		super(field, fieldType, elementType, kind, metaInfo, parserType);
 		this.children = children != null ? Collections.unmodifiableList(children)
 				: Collections.unmodifiableList(new ArrayList<>());
 		this.children.forEach(c -> internalMap.put(c.info().getName(), c));
+		for (int i = 0; i < this.children.size(); i++) {
+			indexMap.put(this.children.get(i).info().getName(), i);
+		}
+		this.recordAccessor = recordAccessor;
 	}
 
 	@Override
@@ -61,6 +73,27 @@ public class ComplexMetaclass extends BasicMetaclass {
 		return internalMap.get(childName);
 	}
 
+	/**
+	 * @param childName The name of the child (MetaInfo name).
+	 * @return The position of the child or <code>-1</code> if it is missing.
+	 */
+	public int indexOfChild(String childName) {
+		Integer index = indexMap.get(childName);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * @return The RecordAccessor to read/write all children at once or
+	 *         <code>null</code> if the accessor was not generated.
+	 */
+	public RecordAccessor recordAccessor() {
+		return recordAccessor;
+	}
+
+	public boolean hasRecordAccessor() {
+		return recordAccessor != null;
+	}
+
 
 @Override
 	public boolean isStatic() {
@@ -37,7 +37,13 @@ public class ComplexStaticMetaclass extends ComplexMetaclass implements StaticMe
 
 	public ComplexStaticMetaclass(Field field, Class<?> fieldType, Class<?> elementType, Kind kind,
                                   MetaInfo metaInfo, Class<? extends PayloadMapper> parserType, List<Metaclass> children) {
-		super(field, fieldType, elementType, kind, metaInfo, parserType, children);
+		this(field, fieldType, elementType, kind, metaInfo, parserType, children, null);
+	}
+
+	public ComplexStaticMetaclass(Field field, Class<?> fieldType, Class<?> elementType, Kind kind,
+                                  MetaInfo metaInfo, Class<? extends PayloadMapper> parserType, List<Metaclass> children,
+                                  RecordAccessor recordAccessor) {
+		super(field, fieldType, elementType, kind, metaInfo, parserType, children, recordAccessor);
 		int tmp = 0;
 		for (Metaclass child : children) {
 			StaticBehave.checkStaticChild(child);
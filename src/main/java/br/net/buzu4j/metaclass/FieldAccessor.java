@@ -0,0 +1,284 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.metaclass;
+
+import br.net.buzu.exception.PplReflectionException;
+import br.net.buzu4j.util.Reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Imutable access to a field resolved only once. The access uses a
+ * <code>MethodHandle</code> to the field itself or, if the field can not be
+ * made accessible, to its public get/set methods. If neither is available the
+ * access falls back to <code>Reflect.get</code>/<code>Reflect.set</code>.
+ * <p>
+ * Primitive fields also have exact typed handles, so the typed methods like
+ * {@link #getInt(Object)} and {@link #setInt(Object, int)} do not box the
+ * value.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class FieldAccessor {
+
+	private static final MethodType GENERIC_GET = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType GENERIC_SET = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final String fieldName;
+	private final Class<?> fieldType;
+	private final MethodHandle getter;
+	private final MethodHandle setter;
+	private final MethodHandle exactGetter;
+	private final MethodHandle exactSetter;
+
+	private FieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+		this.fieldName = field.getName();
+		this.fieldType = field.getType();
+		this.getter = getter != null ? getter.asType(GENERIC_GET) : null;
+		this.setter = setter != null ? setter.asType(GENERIC_SET) : null;
+		boolean primitive = fieldType.isPrimitive();
+		this.exactGetter = primitive && getter != null
+				? getter.asType(MethodType.methodType(fieldType, Object.class))
+				: null;
+		this.exactSetter = primitive && setter != null
+				? setter.asType(MethodType.methodType(void.class, Object.class, fieldType))
+				: null;
+	}
+
+	/**
+	 * Resolves the access to the field.
+	 *
+	 * @param field The field [CANNOT BE NULL].
+	 * @return The FieldAccessor of the field.
+	 */
+	public static FieldAccessor of(Field field) {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle getter = null;
+		MethodHandle setter = null;
+		try {
+			field.setAccessible(true);
+			getter = lookup.unreflectGetter(field);
+			setter = lookup.unreflectSetter(field);
+		} catch (RuntimeException | IllegalAccessException e) {
+			// Inaccessible field (security manager, modules or final field)
+		}
+		if (getter == null) {
+			getter = unreflect(lookup, findMethod(field, "get"));
+			if (getter == null && (field.getType() == boolean.class || field.getType() == Boolean.class)) {
+				getter = unreflect(lookup, findMethod(field, "is"));
+			}
+		}
+		if (setter == null) {
+			setter = unreflect(lookup, findMethod(field, "set", field.getType()));
+		}
+		return new FieldAccessor(field, getter, setter);
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	public Object get(Object object) {
+		if (getter == null) {
+			return Reflect.get(object, fieldName);
+		}
+		try {
+			return getter.invokeExact(object);
+		} catch (ClassCastException e) {
+			return Reflect.get(object, fieldName);
+		} catch (Throwable e) {
+			throw accessError("get", e);
+		}
+	}
+
+	public void set(Object object, Object param) {
+		if (setter == null) {
+			Reflect.set(object, fieldName, fieldType, param);
+			return;
+		}
+		try {
+			setter.invokeExact(object, param);
+		} catch (ClassCastException e) {
+			Reflect.set(object, fieldName, fieldType, param);
+		} catch (Throwable e) {
+			throw accessError("set", e);
+		}
+	}
+
+	public int getInt(Object object) {
+		if (fieldType != int.class || exactGetter == null) {
+			return ((Number) get(object)).intValue();
+		}
+		try {
+			return (int) exactGetter.invokeExact(object);
+		} catch (Throwable e) {
+			throw accessError("get", e);
+		}
+	}
+
+	public void setInt(Object object, int value) {
+		if (fieldType != int.class || exactSetter == null) {
+			set(object, value);
+			return;
+		}
+		try {
+			exactSetter.invokeExact(object, value);
+		} catch (Throwable e) {
+			throw accessError("set", e);
+		}
+	}
+
+	public long getLong(Object object) {
+		if (fieldType != long.class || exactGetter == null) {
+			return ((Number) get(object)).longValue();
+		}
+		try {
+			return (long) exactGetter.invokeExact(object);
+		} catch (Throwable e) {
+			throw accessError("get", e);
+		}
+	}
+
+	public void setLong(Object object, long value) {
+		if (fieldType != long.class || exactSetter == null) {
+			set(object, value);
+			return;
+		}
+		try {
+			exactSetter.invokeExact(object, value);
+		} catch (Throwable e) {
+			throw accessError("set", e);
+		}
+	}
+
+	public double getDouble(Object object) {
+		if (fieldType != double.class || exactGetter == null) {
+			return ((Number) get(object)).doubleValue();
+		}
+		try {
+			return (double) exactGetter.invokeExact(object);
+		} catch (Throwable e) {
+			throw accessError("get", e);
+		}
+	}
+
+	public void setDouble(Object object, double value) {
+		if (fieldType != double.class || exactSetter == null) {
+			set(object, value);
+			return;
+		}
+		try {
+			exactSetter.invokeExact(object, value);
+		} catch (Throwable e) {
+			throw accessError("set", e);
+		}
+	}
+
+	public boolean getBoolean(Object object) {
+		if (fieldType != boolean.class || exactGetter == null) {
+			return (Boolean) get(object);
+		}
+		try {
+			return (boolean) exactGetter.invokeExact(object);
+		} catch (Throwable e) {
+			throw accessError("get", e);
+		}
+	}
+
+	public void setBoolean(Object object, boolean value) {
+		if (fieldType != boolean.class || exactSetter == null) {
+			set(object, value);
+			return;
+		}
+		try {
+			exactSetter.invokeExact(object, value);
+		} catch (Throwable e) {
+			throw accessError("set", e);
+		}
+	}
+
+	public char getChar(Object object) {
+		if (fieldType != char.class || exactGetter == null) {
+			return (Character) get(object);
+		}
+		try {
+			return (char) exactGetter.invokeExact(object);
+		} catch (Throwable e) {
+			throw accessError("get", e);
+		}
+	}
+
+	public void setChar(Object object, char value) {
+		if (fieldType != char.class || exactSetter == null) {
+			set(object, value);
+			return;
+		}
+		try {
+			exactSetter.invokeExact(object, value);
+		} catch (Throwable e) {
+			throw accessError("set", e);
+		}
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private static Method findMethod(Field field, String prefix, Class<?>... params) {
+		String name = field.getName();
+		String methodName = prefix + name.substring(0, 1).toUpperCase() + name.substring(1);
+		try {
+			return field.getDeclaringClass().getMethod(methodName, params);
+		} catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+	}
+
+	private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) {
+		if (method == null) {
+			return null;
+		}
+		try {
+			return lookup.unreflect(method);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private PplReflectionException accessError(String operation, Throwable cause) {
+		return new PplReflectionException("Cannot " + operation + " the field '" + fieldName + "' ("
+				+ fieldType.getSimpleName() + ")", cause);
+	}
+
+	// **************************************************
+	// get/set
+	// **************************************************
+
+	public String fieldName() {
+		return fieldName;
+	}
+
+	public Class<?> fieldType() {
+		return fieldType;
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.metaclass;
+
+import br.net.buzu4j.model.Metaclass;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Concurrent cache of imutable <code>Metaclass</code> instances, one per
+ * (type, elementType) pair.
+ * <p>
+ * Entries are attached to the element type through a {@link ClassValue}, so
+ * they are released together with the class (and its ClassLoader) when a web
+ * application is redeployed. The container type (a JDK collection or an array
+ * of the element type) is the key inside the element type entry.
+ * <p>
+ * The cache is bounded by <code>maxSize</code>: when it is full, the oldest
+ * pair is evicted (first in, first out). The eviction queue keeps weak
+ * references, so it does not hold the classes either. A <code>maxSize</code>
+ * lower than 1 disables the cache.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see BasicMetaclassReader
+ */
+public class MetaclassCache {
+
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	public static final MetaclassCache DISABLED = new MetaclassCache(0);
+
+	private final int maxSize;
+	private final AtomicInteger size = new AtomicInteger();
+	private final LongAdder evictions = new LongAdder();
+	private volatile ClassValue<Map<Class<?>, Metaclass>> entries = createEntries();
+	private volatile Queue<Pair> order = new ConcurrentLinkedQueue<>();
+
+	public MetaclassCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public MetaclassCache(int maxSize) {
+		super();
+		this.maxSize = maxSize;
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Returns the cached Metaclass of the pair or reads a new one.
+	 *
+	 * @param type        The original type (root object).
+	 * @param elementType The type of each item if type is multiple or the root
+	 *                    type if not.
+	 * @param reader      Function used to read the Metaclass on a miss.
+	 * @return The instance of Metaclass.
+	 */
+	public Metaclass get(Class<?> type, Class<?> elementType,
+			BiFunction<Class<?>, Class<?>, ? extends Metaclass> reader) {
+		if (!isEnabled()) {
+			return reader.apply(type, elementType);
+		}
+		Map<Class<?>, Metaclass> byType = entries.get(elementType);
+		Metaclass metaclass = byType.get(type);
+		if (metaclass != null) {
+			return metaclass;
+		}
+		metaclass = reader.apply(type, elementType);
+		Metaclass previous = byType.putIfAbsent(type, metaclass);
+		if (previous != null) {
+			return previous;
+		}
+		order.add(new Pair(elementType, type));
+		if (size.incrementAndGet() > maxSize) {
+			evict();
+		}
+		return metaclass;
+	}
+
+	public void clear() {
+		entries = createEntries();
+		order = new ConcurrentLinkedQueue<>();
+		size.set(0);
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	public int maxSize() {
+		return maxSize;
+	}
+
+	public long evictions() {
+		return evictions.sum();
+	}
+
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private void evict() {
+		Pair oldest;
+		while (size.get() > maxSize && (oldest = order.poll()) != null) {
+			Class<?> elementType = oldest.elementType.get();
+			Class<?> type = oldest.type.get();
+			// a collected class takes its entries with it
+			if (elementType != null && type != null) {
+				entries.get(elementType).remove(type);
+			}
+			size.decrementAndGet();
+			evictions.increment();
+		}
+	}
+
+	private static ClassValue<Map<Class<?>, Metaclass>> createEntries() {
+		return new ClassValue<Map<Class<?>, Metaclass>>() {
+			@Override
+			protected Map<Class<?>, Metaclass> computeValue(Class<?> elementType) {
+				return new ConcurrentHashMap<>(4);
+			}
+		};
+	}
+
+	private static final class Pair {
+
+		private final WeakReference<Class<?>> elementType;
+		private final WeakReference<Class<?>> type;
+
+		private Pair(Class<?> elementType, Class<?> type) {
+			this.elementType = new WeakReference<>(elementType);
+			this.type = new WeakReference<>(type);
+		}
+
+	}
+
+}
@@ -17,18 +17,30 @@
 package br.net.buzu4j.metadata.build.load;
 
 import br.net.buzu4j.api.MetadataLoader;
+import br.net.buzu4j.cache.ValueTextCache;
 import br.net.buzu4j.context.BasicContext;
 import br.net.buzu4j.context.JavaContext;
 import br.net.buzu.exception.PplMetaclassViolationException;
+import br.net.buzu.lang.Token;
 import br.net.buzu.model.MetaInfo;
+import br.net.buzu4j.metaclass.BasicMetaclass;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.Metadata;
+import br.net.buzu.model.SizeType;
+import br.net.buzu.model.Subtype;
+import br.net.buzu4j.parsing.simple.number.NumberText;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
- * Default MetadataLoader
+ * Default MetadataLoader. The max values of a Metaclass read by the
+ * BasicMetaclassReader are kept in arrays indexed by the dense id of each node
+ * (see {@link MaxTable}); other Metaclasses use the field paths ({@link MaxMap}).
  *
  * @author Douglas Siviotti
  * @since 1.0
@@ -54,11 +66,63 @@ public class BasicMetadataLoader implements MetadataLoader {
 
 	@Override
 	public Metadata load(Object instance, Metaclass metaclass) {
+		return load(instance, metaclass, (ValueTextCache) null);
+	}
+
+	/**
+	 * Loads the Metadata keeping the text of the values formatted to calculate
+	 * the sizes, so the serialization of the same call can reuse them.
+	 * 
+	 * @param instance  The object or collection to load.
+	 * @param metaclass The Metaclass of the instance.
+	 * @param texts     The scratch of the call or <code>null</code>.
+	 * @return The instance of Metadata loaded from the instance.
+	 */
+	public Metadata load(Object instance, Metaclass metaclass, ValueTextCache texts) {
+		if (isIndexed(metaclass)) {
+			BasicMetaclass root = (BasicMetaclass) metaclass;
+			MaxTable table = new MaxTable(root.treeSize());
+			measure(root, root, instance, table, texts);
+			return createMetadata(root, table);
+		}
 		LoadNode node = new LoadNode(instance, metaclass, "");
 		MaxMap maxMap = new MaxMap();
-		Max max = getMax(maxMap, node, metaclass.info());
+		Max max = getMax(maxMap, node, metaclass.info(), texts);
 		return createMetadata(metaclass.info().update(max.getMaxSize(), max.getMaxOccurs()), max,
-				createChildren(node, maxMap));
+				createChildren(node, maxMap, texts));
+	}
+
+	/**
+	 * Parallel version of {@link #load(Object, Metaclass)} to large collections.
+	 * The max values are calculated by chunks of records in fork/join tasks and
+	 * merged, then the Metadata tree is created once from the merged values.
+	 * 
+	 * @param instance  The object or collection to load.
+	 * @param metaclass The Metaclass of the instance.
+	 * @param pool      The ForkJoinPool that runs the tasks.
+	 * @param threshold The max number of records measured by a single task. If
+	 *                  the instance has not more records, the load is sequential.
+	 * @return The instance of Metadata loaded from the instance.
+	 */
+	public Metadata load(Object instance, Metaclass metaclass, ForkJoinPool pool, int threshold) {
+		if (instance == null || !isIndexed(metaclass) || !isComplex(metaclass)) {
+			return load(instance, metaclass);
+		}
+		Object[] elements;
+		if (metaclass.isCollection()) {
+			elements = ((Collection<?>) instance).toArray();
+		} else if (instance instanceof Object[]) {
+			elements = (Object[]) instance;
+		} else {
+			return load(instance, metaclass);
+		}
+		if (elements.length <= Math.max(threshold, 1)) {
+			return load(instance, metaclass);
+		}
+		BasicMetaclass root = (BasicMetaclass) metaclass;
+		MaxTable table = pool.invoke(new MeasureTask(root, elements, threshold, 0, elements.length));
+		update(root, root, table, root.info().getSubtype().fixedSize(), elements.length);
+		return createMetadata(root, table);
 	}
 
 	// ********** INTERNAL **********
@@ -67,10 +131,10 @@ public class BasicMetadataLoader implements MetadataLoader {
 		return context.metadataFactory().create(metaInfo, children);
 	}
 
-	private Max getMax(MaxMap maxMap, LoadNode node, MetaInfo metaInfo) {
+	private Max getMax(MaxMap maxMap, LoadNode node, MetaInfo metaInfo, ValueTextCache texts) {
 		String fieldPath = node.getFieldPath();
 		Max max = maxMap.get(fieldPath);
-		int size = max.tryNewMaxSize(node.calcMaxSize()).getMaxSize();
+		int size = max.tryNewMaxSize(node.calcMaxSize(texts)).getMaxSize();
 		int maxOccurs = max.tryNewMaxOccurs(node.getOccurs()).getMaxOccurs();
 		if (metaInfo.hasSize()) {
 			checkLimit("size", fieldPath, metaInfo.getSize(), size);
@@ -81,7 +145,7 @@ public class BasicMetadataLoader implements MetadataLoader {
 		return max;
 	}
 
-	private List<Metadata> createChildren(LoadNode node, final MaxMap maxMap) {
+	private List<Metadata> createChildren(LoadNode node, final MaxMap maxMap, ValueTextCache texts) {
 		if (!node.isComplex() || node.isEnum()) {
 			return null;
 		}
@@ -93,22 +157,23 @@ public class BasicMetadataLoader implements MetadataLoader {
 			for (int i = 0; i < metaclassList.size(); i++) {
 				childMetaclass = metaclassList.get(i);
 				fieldValue = itemValue != null ? childMetaclass.get(itemValue) : null;
-				children[i] = loadChild(fieldValue, childMetaclass, node, maxMap);
+				children[i] = loadChild(fieldValue, childMetaclass, node, maxMap, texts);
 			}
 		}
 		return Arrays.asList(children);
 	}
 
-	private Metadata loadChild(Object fieldValue, Metaclass metaclass, LoadNode parentNode, MaxMap maxMap) {
+	private Metadata loadChild(Object fieldValue, Metaclass metaclass, LoadNode parentNode, MaxMap maxMap,
+			ValueTextCache texts) {
 		String fieldPath = MaxMap.getFieldPath(metaclass, parentNode);
 		LoadNode fieldNode = new LoadNode(fieldValue, metaclass, fieldPath);
 		MetaInfo metaInfo = metaclass.info();
-		Max max = getMax(maxMap, fieldNode, metaInfo);
+		Max max = getMax(maxMap, fieldNode, metaInfo, texts);
 		metaInfo = metaInfo.update(max.getMaxSize(), max.getMaxOccurs());
-		return createMetadata(metaInfo, max, createChildren(fieldNode, maxMap));
+		return createMetadata(metaInfo, max, createChildren(fieldNode, maxMap, texts));
 	}
 
-	private void checkLimit(String info, String fieldPath, int maxValue, int newValue) {
+	void checkLimit(String info, String fieldPath, int maxValue, int newValue) {
 		if (newValue > maxValue) {
 			StringBuilder sb = new StringBuilder();
 			sb.append(info).append(" violation on field '").append(fieldPath).append("'. Max value:'").append(maxValue)
@@ -117,4 +182,182 @@ public class BasicMetadataLoader implements MetadataLoader {
 		}
 	}
 
+	// ********** INDEXED (dense ids) **********
+
+	/*
+	 * Only the root of the tree is indexed: a child has ids of its root.
+	 */
+	static boolean isIndexed(Metaclass metaclass) {
+		return metaclass instanceof BasicMetaclass && ((BasicMetaclass) metaclass).id() == 0
+				&& ((BasicMetaclass) metaclass).treeSize() > 0;
+	}
+
+	private static boolean isComplex(Metaclass metaclass) {
+		return metaclass.info().getSubtype().getDataType().isComplex() && !metaclass.isEnum();
+	}
+
+	/*
+	 * Measures the value of the node and its children. Collections and arrays
+	 * are walked in place, with no copies or wrappers.
+	 */
+	private void measure(BasicMetaclass root, BasicMetaclass metaclass, Object value, MaxTable table,
+			ValueTextCache texts) {
+		Subtype subtype = metaclass.info().getSubtype();
+		boolean custom = subtype.getDataType().getSizeType().equals(SizeType.CUSTOM);
+		boolean complex = isComplex(metaclass);
+		int size = 0;
+		int occurs = 1;
+		if (value != null && metaclass.isCollection() && !((Collection<?>) value).isEmpty()) {
+			occurs = ((Collection<?>) value).size();
+			for (Object element : (Collection<?>) value) {
+				size = Math.max(size, measureElement(root, metaclass, element, custom, complex, table, texts));
+			}
+		} else if (value != null && metaclass.isArray() && Array.getLength(value) > 0) {
+			occurs = Array.getLength(value);
+			if (value instanceof Object[]) {
+				for (Object element : (Object[]) value) {
+					size = Math.max(size, measureElement(root, metaclass, element, custom, complex, table, texts));
+				}
+			} else {
+				// primitive array
+				for (int i = 0; i < occurs; i++) {
+					size = Math.max(size,
+							measureElement(root, metaclass, Array.get(value, i), custom, complex, table, texts));
+				}
+			}
+		} else {
+			Object element = metaclass.isCollection() || metaclass.isArray() ? null : value;
+			size = measureElement(root, metaclass, element, custom, complex, table, texts);
+		}
+		update(root, metaclass, table, custom ? size : subtype.fixedSize(), occurs);
+	}
+
+	/*
+	 * Measures a single record (element) of the root and returns the size of
+	 * the record. The root itself is not updated.
+	 */
+	int measureRecord(BasicMetaclass root, Object record, MaxTable table, ValueTextCache texts) {
+		boolean custom = root.info().getSubtype().getDataType().getSizeType().equals(SizeType.CUSTOM);
+		int size = measureElement(root, root, record, custom, isComplex(root), table, texts);
+		return custom ? size : root.info().getSubtype().fixedSize();
+	}
+
+	/*
+	 * Measures the children of a single element and returns the size of the
+	 * element (custom size only).
+	 */
+	private int measureElement(BasicMetaclass root, BasicMetaclass metaclass, Object element, boolean custom,
+			boolean complex, MaxTable table, ValueTextCache texts) {
+		if (complex) {
+			List<Metaclass> children = metaclass.children();
+			Metaclass child;
+			for (int i = 0; i < children.size(); i++) {
+				child = children.get(i);
+				measure(root, (BasicMetaclass) child, element != null ? child.get(element) : null, table, texts);
+			}
+		}
+		return custom ? sizeOf(metaclass, element, texts) : 0;
+	}
+
+	private static int sizeOf(BasicMetaclass metaclass, Object value, ValueTextCache texts) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof String) {
+			return ((String) value).length();
+		}
+		if ((value instanceof Integer || value instanceof Long) && !metaclass.isPplSerializable()) {
+			return NumberText.stringSize(((Number) value).longValue());
+		}
+		if (texts != null) {
+			String text = texts.textOf(value, metaclass.isPplSerializable());
+			return text != null ? text.length() : 0;
+		}
+		return metaclass.getValueSize(value);
+	}
+
+	void update(BasicMetaclass root, BasicMetaclass metaclass, MaxTable table, int size, int occurs) {
+		int id = metaclass.id();
+		table.tryNewMax(id, size, occurs);
+		MetaInfo metaInfo = metaclass.info();
+		if (metaInfo.hasSize() && table.getMaxSize(id) > metaInfo.getSize()) {
+			checkLimit("size", pathOf(root, id), metaInfo.getSize(), table.getMaxSize(id));
+		}
+		if (metaInfo.hasMaxOccurs() && table.getMaxOccurs(id) > metaInfo.getMaxOccurs()) {
+			checkLimit("maxOccurs", pathOf(root, id), metaInfo.getMaxOccurs(), table.getMaxOccurs(id));
+		}
+	}
+
+	Metadata createMetadata(BasicMetaclass metaclass, MaxTable table) {
+		int id = metaclass.id();
+		Max max = new Max(table.getMaxSize(id), table.getMaxOccurs(id));
+		List<Metadata> children = null;
+		if (isComplex(metaclass)) {
+			List<Metaclass> metaclassList = metaclass.children();
+			Metadata[] array = new Metadata[metaclassList.size()];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = createMetadata((BasicMetaclass) metaclassList.get(i), table);
+			}
+			children = Arrays.asList(array);
+		}
+		return createMetadata(metaclass.info().update(max.getMaxSize(), max.getMaxOccurs()), max, children);
+	}
+
+	/*
+	 * The field path of the node (only to error messages).
+	 */
+	private static String pathOf(BasicMetaclass metaclass, int id) {
+		if (metaclass.id() == id) {
+			return "";
+		}
+		List<Metaclass> children = metaclass.children();
+		BasicMetaclass child;
+		for (int i = 0; i < children.size(); i++) {
+			child = (BasicMetaclass) children.get(i);
+			if (id >= child.id() && id < child.id() + child.treeSize()) {
+				String path = pathOf(child, id);
+				return path.isEmpty() ? child.fieldName() : child.fieldName() + Token.PATH_SEP + path;
+			}
+		}
+		return "";
+	}
+
+	/*
+	 * Measures the records [from, to) of the root or splits them in two subtasks.
+	 */
+	private class MeasureTask extends RecursiveTask<MaxTable> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final BasicMetaclass root;
+		private final Object[] elements;
+		private final int threshold;
+		private final int from;
+		private final int to;
+
+		MeasureTask(BasicMetaclass root, Object[] elements, int threshold, int from, int to) {
+			this.root = root;
+			this.elements = elements;
+			this.threshold = threshold;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected MaxTable compute() {
+			if (to - from > threshold) {
+				int middle = (from + to) >>> 1;
+				MeasureTask left = new MeasureTask(root, elements, threshold, from, middle);
+				left.fork();
+				MaxTable right = new MeasureTask(root, elements, threshold, middle, to).compute();
+				return left.join().merge(right);
+			}
+			MaxTable table = new MaxTable(root.treeSize());
+			for (int i = from; i < to; i++) {
+				measureElement(root, root, elements[i], false, true, table, null);
+			}
+			return table;
+		}
+	}
+
 }
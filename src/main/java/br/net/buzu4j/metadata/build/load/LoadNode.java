@@ -16,11 +16,13 @@
  */
 package br.net.buzu4j.metadata.build.load;
 
-import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.cache.ValueTextCache;
+import br.net.buzu4j.metaclass.BasicMetaclass;
 import br.net.buzu.model.SizeType;
 import br.net.buzu.model.Subtype;
 import br.net.buzu4j.model.Metaclass;
 
+import java.lang.reflect.Array;
 import java.util.Collection;
 
 /**
@@ -49,10 +51,16 @@ public class LoadNode {
 				this.value = ((Collection<?>) value).toArray();
 			}
 		} else if (metaclass.isArray()) {
-			if (((Object[]) value).length == 0) {
+			if (Array.getLength(value) == 0) {
 				this.value = new Object[1];
-			} else {
+			} else if (value instanceof Object[]) {
 				this.value = (Object[]) value;
+			} else {
+				// primitive array
+				this.value = new Object[Array.getLength(value)];
+				for (int i = 0; i < this.value.length; i++) {
+					this.value[i] = Array.get(value, i);
+				}
 			}
 		} else {
 			this.value = new Object[1];
@@ -61,11 +69,20 @@ public class LoadNode {
 	}
 
 	public int calcMaxSize() {
+		return calcMaxSize(null);
+	}
+
+	/**
+	 * @param texts The cache that keeps the text of each value to the
+	 *              serialization or <code>null</code>.
+	 */
+	public int calcMaxSize(ValueTextCache texts) {
 		if (subtype.getDataType().getSizeType().equals(SizeType.CUSTOM)) {
+			boolean keepText = texts != null && metaclass instanceof BasicMetaclass;
 			int max = 0;
 			int tmp = 0;
 			for (Object obj : value) {
-				tmp = metaclass.getValueSize(obj);
+				tmp = keepText ? textSize(obj, texts) : metaclass.getValueSize(obj);
 				if (tmp > max) {
 					max = tmp;
 				}
@@ -75,6 +92,17 @@ public class LoadNode {
 		return subtype.fixedSize();
 	}
 
+	private int textSize(Object obj, ValueTextCache texts) {
+		if (obj == null) {
+			return 0;
+		}
+		if (obj instanceof String) {
+			return ((String) obj).length();
+		}
+		String text = texts.textOf(obj, metaclass.isPplSerializable());
+		return text != null ? text.length() : 0;
+	}
+
 	boolean isNull() {
 		return value[0] == null && value.length == 1;
 	}
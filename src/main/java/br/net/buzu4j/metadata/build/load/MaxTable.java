@@ -0,0 +1,79 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.metadata.build.load;
+
+/**
+ * Max size and occurrences of each node of a Metaclass tree, indexed by the
+ * dense id of the node (see <code>BasicMetaclass.id()</code>).
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see MaxMap
+ */
+public class MaxTable {
+
+	private final int[] sizes;
+	private final int[] occurs;
+
+	public MaxTable(int treeSize) {
+		super();
+		this.sizes = new int[treeSize];
+		this.occurs = new int[treeSize];
+	}
+
+	public void tryNewMax(int id, int size, int maxOccurs) {
+		if (size > sizes[id]) {
+			sizes[id] = size;
+		}
+		if (maxOccurs > occurs[id]) {
+			occurs[id] = maxOccurs;
+		}
+	}
+
+	/**
+	 * Merges the values of other table (partial result of other records) into
+	 * this table.
+	 */
+	public MaxTable merge(MaxTable other) {
+		for (int id = 0; id < sizes.length; id++) {
+			tryNewMax(id, other.sizes[id], other.occurs[id]);
+		}
+		return this;
+	}
+
+	/**
+	 * Indicates if no value of other table is bigger than the value of this
+	 * table, so a layout created from this table fits the other values.
+	 */
+	public boolean covers(MaxTable other) {
+		for (int id = 0; id < sizes.length; id++) {
+			if (other.sizes[id] > sizes[id] || other.occurs[id] > occurs[id]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int getMaxSize(int id) {
+		return sizes[id];
+	}
+
+	public int getMaxOccurs(int id) {
+		return occurs[id];
+	}
+
+}
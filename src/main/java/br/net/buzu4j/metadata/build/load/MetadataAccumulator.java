@@ -0,0 +1,188 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.metadata.build.load;
+
+import br.net.buzu.exception.PplException;
+import br.net.buzu.model.MetaInfo;
+import br.net.buzu.model.Metadata;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.metaclass.BasicMetaclass;
+import br.net.buzu4j.model.Metaclass;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * [THREAD SAFE] Incremental version of the {@link BasicMetadataLoader}. Keeps
+ * the max sizes and occurrences of the records added one by one (or by
+ * batches), so the metadata of a growing dataset is available at any time
+ * without scanning the whole collection again.
+ * <p>
+ * Records are measured out of the lock. Only the merge of the max values is
+ * synchronized, so several threads can add records at the same time.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see MaxTable
+ */
+public class MetadataAccumulator {
+
+	private static final String METACLASS_NOT_INDEXED = "The Metaclass has no ids (use the BasicMetaclassReader): ";
+
+	private final BasicMetaclass root;
+	private final BasicMetadataLoader loader;
+	private final MaxTable table;
+	private int count;
+
+	public MetadataAccumulator(Metaclass metaclass) {
+		this(metaclass, new BasicMetadataLoader());
+	}
+
+	/**
+	 * Complete constructor.
+	 * 
+	 * @param metaclass The Metaclass of the dataset (usually a collection of
+	 *                  records) read by the <code>BasicMetaclassReader</code>
+	 *                  [CANNOT BE NULL].
+	 * @param loader    The loader that creates the Metadata [CANNOT BE NULL].
+	 */
+	public MetadataAccumulator(Metaclass metaclass, BasicMetadataLoader loader) {
+		super();
+		Objects.requireNonNull(metaclass, "'metaclass' cannot be null");
+		this.loader = Objects.requireNonNull(loader, "'loader' cannot be null");
+		if (!BasicMetadataLoader.isIndexed(metaclass)) {
+			throw new IllegalArgumentException(METACLASS_NOT_INDEXED + metaclass.fieldType().getName());
+		}
+		this.root = (BasicMetaclass) metaclass;
+		this.table = new MaxTable(root.treeSize());
+		// same start values of the load of an empty collection
+		loader.update(root, root, table, loader.measureRecord(root, null, table, null), 1);
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Adds a record to the dataset.
+	 * 
+	 * @param record The record (an element of the collection).
+	 * @return <code>true</code> if the record fits the current layout, that is,
+	 *         the max values did not change. The number of records is not part
+	 *         of the layout.
+	 */
+	public boolean add(Object record) {
+		MaxTable recordTable = measure(record);
+		return merge(recordTable, 1);
+	}
+
+	/**
+	 * Adds a batch of records to the dataset. The batch is measured out of the
+	 * lock and merged once.
+	 * 
+	 * @param records The records.
+	 * @return <code>true</code> if all records fit the current layout.
+	 */
+	public boolean addAll(Collection<?> records) {
+		MaxTable batchTable = new MaxTable(root.treeSize());
+		for (Object record : records) {
+			measure(record, batchTable);
+		}
+		return merge(batchTable, records.size());
+	}
+
+	/**
+	 * Indicates if the record fits the current layout without adding it.
+	 * 
+	 * @param record The record.
+	 * @return <code>true</code> if the layout would not change.
+	 */
+	public boolean fits(Object record) {
+		MaxTable recordTable = measure(record);
+		synchronized (table) {
+			return table.covers(recordTable);
+		}
+	}
+
+	/**
+	 * Creates the StaticMetadata of the records added so far.
+	 * 
+	 * @return The current StaticMetadata.
+	 */
+	public StaticMetadata metadata() {
+		Metadata metadata;
+		synchronized (table) {
+			metadata = loader.createMetadata(root, table);
+		}
+		if (metadata instanceof StaticMetadata) {
+			return (StaticMetadata) metadata;
+		}
+		throw new PplException("The accumulated metadata is not Static:\n" + metadata.toTree(0));
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private MaxTable measure(Object record) {
+		MaxTable recordTable = new MaxTable(root.treeSize());
+		measure(record, recordTable);
+		return recordTable;
+	}
+
+	private void measure(Object record, MaxTable recordTable) {
+		// the limits of the children and the size of the root are checked here
+		loader.update(root, root, recordTable, loader.measureRecord(root, record, recordTable, null), 0);
+	}
+
+	private boolean merge(MaxTable recordTable, int records) {
+		synchronized (table) {
+			int newCount = count + records;
+			MetaInfo metaInfo = root.info();
+			if (isMultiple() && metaInfo.hasMaxOccurs()) {
+				loader.checkLimit("maxOccurs", "", metaInfo.getMaxOccurs(), newCount);
+			}
+			boolean fits = table.covers(recordTable);
+			table.merge(recordTable);
+			if (isMultiple()) {
+				table.tryNewMax(root.id(), 0, newCount);
+			}
+			count = newCount;
+			return fits;
+		}
+	}
+
+	private boolean isMultiple() {
+		return root.isCollection() || root.isArray();
+	}
+
+	// ********** get/set **********
+
+	public Metaclass metaclass() {
+		return root;
+	}
+
+	/**
+	 * @return The number of records added.
+	 */
+	public int count() {
+		synchronized (table) {
+			return count;
+		}
+	}
+
+}
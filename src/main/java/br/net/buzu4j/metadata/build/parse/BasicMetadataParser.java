@@ -16,6 +16,8 @@
  */
 package br.net.buzu4j.metadata.build.parse;
 
+import br.net.buzu4j.cache.CacheStats;
+import br.net.buzu4j.cache.LruCache;
 import br.net.buzu4j.context.BasicContext;
 import br.net.buzu4j.context.JavaContext;
 import br.net.buzu.exception.PplParseException;
@@ -50,8 +52,8 @@ public class BasicMetadataParser implements MetadataParser {
 
 	private final Splitter splitter;
 	private final JavaContext context;
-
-	private int count;
+	private final LruCache<String, Metadata> cache;
+	private final ThreadLocal<NameSequence> names = new ThreadLocal<>();
 
 	/**
 	 * Default constructor.
@@ -67,13 +69,20 @@ public class BasicMetadataParser implements MetadataParser {
 		this(context, new Splitter());
 	}
 
+	public BasicMetadataParser(JavaContext context, Splitter splitter) {
+		this(context, splitter, LruCache.DEFAULT_MAX_SIZE);
+	}
+
 	/**
 	 * Complete comstructor.
 	 * 
 	 * @param splitter
 	 * @param context
+	 * @param cacheSize
+	 *            Max number of headers (METADATA) cached. Zero disables the
+	 *            cache.
 	 */
-	public BasicMetadataParser(JavaContext context, Splitter splitter) {
+	public BasicMetadataParser(JavaContext context, Splitter splitter, int cacheSize) {
 		super();
 		if (splitter == null) {
 			throw new IllegalArgumentException("Splitter cannot be null!");
@@ -83,14 +92,29 @@ public class BasicMetadataParser implements MetadataParser {
 			throw new IllegalArgumentException("Context cannot be null!");
 		}
 		this.context = context;
+		this.cache = new LruCache<>(cacheSize);
 	}
 
 	// **************************************************
 	// API
 	// **************************************************
 
+	/**
+	 * Parses the metadata of the PPL text. The resulting Metadata is imutable
+	 * and cached by the header text, so the same header is parsed only once.
+	 */
 	@Override
 	public Metadata parse(PplString pplString) {
+		return cache.get(pplString.getPplMetadata(), header -> parseHeader(pplString));
+	}
+
+	/*
+	 * Each parsing has its own sequence of anonymous names, so the parser can be
+	 * shared by many threads.
+	 */
+	private Metadata parseHeader(PplString pplString) {
+		NameSequence previous = names.get();
+		names.set(new NameSequence());
 		try {
 			List<ParseNode> nodes = splitter.splitLayout(pplString.getPplMetadata());
 			if (nodes.size() > 1) {
@@ -102,6 +126,12 @@ public class BasicMetadataParser implements MetadataParser {
 			}
 		} catch (ParseException e) {
 			throw new PplParseException("Parsing error on text:\n" + pplString, e);
+		} finally {
+			if (previous != null) {
+				names.set(previous);
+			} else {
+				names.remove();
+			}
 		}
 	}
 
@@ -122,6 +152,19 @@ public class BasicMetadataParser implements MetadataParser {
 	}
 
 	protected Metadata parse(String parentId, ParseNode node, int index) {
+		if (names.get() != null) {
+			return parseNode(parentId, node, index);
+		}
+		// a call out of parse(PplString) (e.g. by a subclass) has its own sequence
+		names.set(new NameSequence());
+		try {
+			return parseNode(parentId, node, index);
+		} finally {
+			names.remove();
+		}
+	}
+
+	private Metadata parseNode(String parentId, ParseNode node, int index) {
 		String name = parseName(node);
 		Subtype subtype = parseSubtype(node);
 		int size = parseSize(node, subtype);
@@ -147,7 +190,7 @@ public class BasicMetadataParser implements MetadataParser {
 	}
 
 	protected String parseName(ParseNode node) {
-		String name = (node.hasName()) ? node.getName() : NO_NAME_START + count++;
+		String name = (node.hasName()) ? node.getName() : NO_NAME_START + nextAnonymous();
 		if (!pplIsValidMetaName(name)) {
 			throw new MetadataParseException("Invalid Metadata name:" + name, node);
 		}
@@ -281,4 +324,30 @@ public class BasicMetadataParser implements MetadataParser {
 		return context;
 	}
 
+	public CacheStats getCacheStats() {
+		return cache.stats();
+	}
+
+	/*
+	 * Out of a parsing (e.g. parseName called by a subclass) the name is the
+	 * first of a new sequence, which is not bound to the thread.
+	 */
+	private int nextAnonymous() {
+		NameSequence sequence = names.get();
+		return sequence != null ? sequence.next() : 0;
+	}
+
+	/**
+	 * Sequence of anonymous names of a single parsing.
+	 */
+	private static final class NameSequence {
+
+		private int count;
+
+		int next() {
+			return count++;
+		}
+
+	}
+
 }
@@ -16,12 +16,16 @@
  */
 package br.net.buzu4j.parsing;
 
+import br.net.buzu.exception.PplSerializeException;
 import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.metaclass.RecordAccessor;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
 import br.net.buzu.pplimpl.core.FitKt;
+import br.net.buzu4j.util.Instantiator;
 import br.net.buzu4j.util.Reflect;
 
+import java.lang.reflect.Array;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -33,6 +37,8 @@ import java.util.logging.Logger;
  */
 public abstract class AbstractPositionalMapper implements PayloadMapper {
 
+	static final String OCCURS_OVERFLOW = "The number of occurrences exceeds the maxOccurs: ";
+
 	// ******************** PARSE ********************
 
 	@SuppressWarnings("unchecked")
@@ -43,36 +49,145 @@ public abstract class AbstractPositionalMapper implements PayloadMapper {
 
 	protected abstract Object doParse(StaticMetadata metadata, String text, Metaclass toClass);
 
+	/**
+	 * Parses a region of the payload in place, without copying the region.
+	 * 
+	 * @param metadata
+	 *            The StaticMetadata used to parse the region.
+	 * @param text
+	 *            The whole payload (or any text containing the region).
+	 * @param offset
+	 *            The index of the first char of the region.
+	 * @param length
+	 *            The length of the region (usually the serialMaxSize).
+	 * @param toClass
+	 *            The class of the resulting object.
+	 * @return The object resulting of parsing process.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T parse(StaticMetadata metadata, CharSequence text, int offset, int length, Metaclass toClass) {
+		return (T) doParse(metadata, text, offset, length, toClass);
+	}
+
+	/**
+	 * Region version of {@link #doParse(StaticMetadata, String, Metaclass)}. The
+	 * default implementation copies the region.
+	 */
+	protected Object doParse(StaticMetadata metadata, CharSequence text, int offset, int length, Metaclass toClass) {
+		return doParse(metadata, text.subSequence(offset, offset + length).toString(), toClass);
+	}
+
+	/**
+	 * Parses a region of the payload with any mapper. The region is copied only
+	 * if the mapper is not an <code>AbstractPositionalMapper</code>.
+	 */
+	public static Object parseRegion(PayloadMapper mapper, StaticMetadata metadata, CharSequence text, int offset,
+			int length, Metaclass toClass) {
+		if (mapper instanceof AbstractPositionalMapper) {
+			return ((AbstractPositionalMapper) mapper).doParse(metadata, text, offset, length, toClass);
+		}
+		return mapper.parse(metadata, text.subSequence(offset, offset + length).toString(), toClass);
+	}
+
+	/**
+	 * Parses a single occurrence (record) of the metadata, ignoring the
+	 * maxOccurs. Used to read a multiple payload record by record.
+	 * 
+	 * @param metadata
+	 *            The StaticMetadata of the records.
+	 * @param text
+	 *            The text of one record (serialMaxSize / maxOccurs). It is read
+	 *            in place, so it can be a view of a buffer.
+	 * @param toClass
+	 *            The Metaclass of the element type.
+	 * @return The object of the record.
+	 */
+	public abstract Object parseRecord(StaticMetadata metadata, CharSequence text, Metaclass toClass);
+
 	protected Object[] createAndFillArray(Metaclass toClass, int maxOccurs) {
 		Object[] array = new Object[maxOccurs];
 		if (!toClass.isPrimitive() && toClass.kind().isComplex()) {
+			Instantiator instantiator = instantiatorOf(toClass.elementType());
 			for (int i = 0; i < array.length; i++) {
-				array[i] = Reflect.newInstance(toClass.elementType());
+				array[i] = instantiator.newInstance();
 			}
 		}
 		return array;
 	}
 
+	/**
+	 * Returns the Instantiator of the records. The default uses the
+	 * {@link Reflect} (BasicInstantiatorStrategy).
+	 */
+	protected Instantiator instantiatorOf(Class<?> type) {
+		return Reflect.instantiatorOf(type);
+	}
+
 	protected void callSet(Object object, Metaclass childMetaclass, Object parsed) {
+		Object value = toSettable(childMetaclass, parsed);
+		if (value != RecordAccessor.UNSET) {
+			childMetaclass.set(object, value);
+		}
+	}
+
+	/**
+	 * Adapts the parsed value to the field of the child Metaclass.
+	 * 
+	 * @return The value to be set or {@link RecordAccessor#UNSET} if the value
+	 *         can not be set.
+	 */
+	protected Object toSettable(Metaclass childMetaclass, Object parsed) {
 		if (parsed == null) {
-			childMetaclass.set(object, parsed);
-			// Reflect.set(object, childMetaclass.metaName(), childMetaclass.fieldType(),
-			// parsed);
+			return null;
 		} else if (Collection.class.isAssignableFrom(childMetaclass.fieldType())
 				&& !(parsed instanceof Collection<?>)) {
 			List<Object> list = new ArrayList<>();
 			list.add(parsed);
-			// Reflect.set(object, childMetaclass.metaName(), childMetaclass.fieldType(),
-			// list);
-			childMetaclass.set(object, list);
-		} else if (childMetaclass.fieldType().isArray() && !parsed.getClass().isArray()) {
-			// TODO
-			Logger.getLogger(getClass().getCanonicalName()).severe("ARRAY ERROR");
-		} else {
-			// Reflect.set(object, childMetaclass.metaName(), childMetaclass.fieldType(),
-			// parsed);
-			childMetaclass.set(object, parsed);
+			return list;
+		} else if (childMetaclass.fieldType().isArray() && !childMetaclass.fieldType().isInstance(parsed)) {
+			Class<?> componentType = childMetaclass.fieldType().getComponentType();
+			if (parsed instanceof Object[]) {
+				return toTypedArray((Object[]) parsed, componentType);
+			}
+			if (parsed.getClass().isArray()) {
+				Logger.getLogger(getClass().getCanonicalName())
+						.severe("Array type mismatch: " + parsed.getClass() + " -> " + childMetaclass.fieldType());
+				return RecordAccessor.UNSET;
+			}
+			return toTypedArray(new Object[] { parsed }, componentType);
+		}
+		return parsed;
+	}
+
+	/**
+	 * Copies the values into a new array of the component type (primitive or
+	 * not). Null values are skipped in primitive arrays (default value).
+	 */
+	protected static Object toTypedArray(Object[] values, Class<?> componentType) {
+		if (componentType == null || componentType == values.getClass().getComponentType()) {
+			return values;
+		}
+		Object array = Array.newInstance(componentType, values.length);
+		Object value;
+		for (int i = 0; i < values.length; i++) {
+			value = toComponent(values[i], componentType);
+			if (value != null) {
+				Array.set(array, i, value);
+			}
 		}
+		return array;
+	}
+
+	/**
+	 * Adapts a parsed value to the component type of an array. Simple text
+	 * mappers parse chars as Strings.
+	 */
+	protected static Object toComponent(Object value, Class<?> componentType) {
+		if ((componentType == char.class || componentType == Character.class) && value instanceof CharSequence) {
+			CharSequence text = (CharSequence) value;
+			return text.length() > 0 ? text.charAt(0) : null;
+		}
+		return value;
 	}
 
 	// ******************** SERIALIZE ********************
@@ -89,33 +204,149 @@ public abstract class AbstractPositionalMapper implements PayloadMapper {
 
 	protected abstract String serializeNotNull(StaticMetadata metadata, Object objNullSafe, Metaclass fromClass);
 
+	/**
+	 * Serializes the object straight into the output, without intermediate
+	 * strings. Exactly <code>metadata.serialMaxSize()</code> chars are appended.
+	 * 
+	 * @param metadata
+	 *            The StaticMetadata used to serialize the object.
+	 * @param obj
+	 *            The object or <code>null</code>.
+	 * @param fromClass
+	 *            Class information for serialization.
+	 * @param out
+	 *            The output (usually presized by the caller).
+	 */
+	public void serializeTo(StaticMetadata metadata, Object obj, Metaclass fromClass, StringBuilder out) {
+		if (obj != null) {
+			serializeNotNullTo(metadata, obj, fromClass, out);
+		} else {
+			serializeNullTo(metadata, out);
+		}
+	}
+
+	/**
+	 * Output version of {@link #serializeNotNull(StaticMetadata, Object, Metaclass)}.
+	 * The default implementation appends the serialized String.
+	 */
+	protected void serializeNotNullTo(StaticMetadata metadata, Object obj, Metaclass fromClass, StringBuilder out) {
+		out.append(serializeNotNull(metadata, obj, fromClass));
+	}
+
+	protected void serializeNullTo(StaticMetadata metadata, StringBuilder out) {
+		char nullChar = metadata.info().getSubtype().getDataType().getNullChar();
+		for (int i = metadata.serialMaxSize(); i > 0; i--) {
+			out.append(nullChar);
+		}
+	}
+
+	/**
+	 * Serializes the object with any mapper into the output. There is no
+	 * intermediate String if the mapper is an
+	 * <code>AbstractPositionalMapper</code>.
+	 */
+	public static void serializeTo(PayloadMapper mapper, StaticMetadata metadata, Object obj, Metaclass fromClass,
+			StringBuilder out) {
+		if (mapper instanceof AbstractPositionalMapper) {
+			((AbstractPositionalMapper) mapper).serializeTo(metadata, obj, fromClass, out);
+		} else {
+			out.append(mapper.serialize(metadata, obj, fromClass));
+		}
+	}
+
+	/**
+	 * Serializes a single occurrence (record) of the metadata, ignoring the
+	 * maxOccurs. Used to write a multiple payload record by record.
+	 * 
+	 * @param metadata
+	 *            The StaticMetadata of the records.
+	 * @param record
+	 *            The record. If <code>null</code> a null record is serialized.
+	 * @param fromClass
+	 *            The Metaclass of the element type.
+	 * @return The text of the record (serialMaxSize / maxOccurs).
+	 */
+	public abstract String serializeRecord(StaticMetadata metadata, Object record, Metaclass fromClass);
+
+	/**
+	 * Indicates if the object does not fit the metadata: it has more occurrences
+	 * than the maxOccurs or some value is bigger than the size. The serialization
+	 * truncates the values bigger than the size and fails if there are more
+	 * occurrences than the maxOccurs.
+	 * 
+	 * @param metadata
+	 *            The StaticMetadata.
+	 * @param obj
+	 *            The object (all occurrences).
+	 * @param fromClass
+	 *            The Metaclass of the object.
+	 * @return <code>true</code> if the object does not fit the metadata.
+	 */
+	public boolean overflows(StaticMetadata metadata, Object obj, Metaclass fromClass) {
+		return occurrencesOf(obj) > metadata.info().getMaxOccurs();
+	}
+
+	protected int occurrencesOf(Object obj) {
+		if (obj == null) {
+			return 0;
+		}
+		if (obj instanceof Collection<?>) {
+			return ((Collection<?>) obj).size();
+		}
+		if (obj.getClass().isArray()) {
+			return Array.getLength(obj);
+		}
+		return 1;
+	}
+
+	/**
+	 * Returns the occurrences of the object in an array of the maxOccurs,
+	 * completed with <code>null</code>.
+	 * 
+	 * @throws PplSerializeException
+	 *             If the object has more occurrences than the maxOccurs.
+	 */
 	protected Object[] toMaxArray(Object obj, int size) {
 		Object[] array = new Object[size];
 		if (size == 0) {
 			return array;
 		}
-		for (int i = 0; i < array.length; i++) {
-			array[i] = null;
-		}
+		int occurrences = occurrencesOf(obj);
+		checkOccurrences(occurrences, size);
 		if (obj instanceof Collection<?>) {
 			int i = 0;
 			for (Iterator<?> iterator = ((Collection<?>) obj).iterator(); iterator.hasNext();) {
 				array[i] = iterator.next();
 				i++;
 			}
-		} else if (obj != null && obj.getClass().isArray()) {
-			for (int i = 0; i < ((Object[]) obj).length; i++) {
+		} else if (obj instanceof Object[]) {
+			for (int i = 0; i < occurrences; i++) {
 				array[i] = ((Object[]) obj)[i];
 			}
+		} else if (obj != null && obj.getClass().isArray()) {
+			// primitive array
+			for (int i = 0; i < occurrences; i++) {
+				array[i] = Array.get(obj, i);
+			}
 		} else {
 			array[0] = obj;
 		}
 		return array;
 	}
 
+	/**
+	 * @throws PplSerializeException
+	 *             If the occurrences exceed the maxOccurs.
+	 */
+	protected static void checkOccurrences(int occurrences, int maxOccurs) {
+		if (occurrences > maxOccurs) {
+			throw new PplSerializeException(OCCURS_OVERFLOW + occurrences + " > " + maxOccurs);
+		}
+	}
+
 	public Object fromArray(Object[] array, Metaclass toClass) {
 		if (toClass.isArray()) {
-			return array;
+			return toTypedArray(array, toClass.fieldType().getComponentType());
 		}
 		if (toClass.isCollection()) {
 			Collection<Object> collection;
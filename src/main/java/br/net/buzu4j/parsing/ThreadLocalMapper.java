@@ -0,0 +1,54 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing;
+
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu.model.StaticMetadata;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * PayloadMapper that delegates to one instance per thread. Used to share a
+ * mapper tree across threads when a custom mapper is not stateless.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see br.net.buzu4j.api.MapperScope#THREAD
+ */
+public class ThreadLocalMapper implements PayloadMapper {
+
+	private final ThreadLocal<PayloadMapper> delegate;
+
+	public ThreadLocalMapper(Supplier<? extends PayloadMapper> supplier) {
+		super();
+		Objects.requireNonNull(supplier, "'supplier' cannot be null");
+		this.delegate = ThreadLocal.withInitial(supplier);
+	}
+
+	@Override
+	public <T> T parse(StaticMetadata metadata, String text, Metaclass toClass) {
+		return delegate.get().parse(metadata, text, toClass);
+	}
+
+	@Override
+	public String serialize(StaticMetadata metadata, Object obj, Metaclass fromClass) {
+		return delegate.get().serialize(metadata, obj, fromClass);
+	}
+
+}
@@ -18,11 +18,21 @@ package br.net.buzu4j.parsing.complex;
 
 import br.net.buzu4j.api.PayloadMapper;
 import br.net.buzu.exception.PplParseException;
+import br.net.buzu.exception.PplSerializeException;
+import br.net.buzu4j.metaclass.ComplexMetaclass;
+import br.net.buzu4j.metaclass.RecordAccessor;
 import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+import br.net.buzu4j.parsing.simple.number.AbstractPrimitiveMapper;
 import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.util.Instantiator;
+import br.net.buzu4j.util.Instantiators;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  *
@@ -34,78 +44,391 @@ import java.util.List;
 public class ComplexMapper extends AbstractComplexMapper {
 
 	protected final List<PayloadMapper> children;
+	private final Instantiators instantiators;
 
 	public ComplexMapper(List<PayloadMapper> children) {
+		this(children, Instantiators.DEFAULT);
+	}
+
+	/**
+	 * @param children      The mappers of the children.
+	 * @param instantiators The instantiators of the records (from the context).
+	 */
+	public ComplexMapper(List<PayloadMapper> children, Instantiators instantiators) {
 		super();
 		this.children = Collections.unmodifiableList(children);
+		this.instantiators = Objects.requireNonNull(instantiators, "'instantiators' cannot be null");
+	}
+
+	public List<PayloadMapper> children() {
+		return children;
+	}
+
+	public Instantiators instantiators() {
+		return instantiators;
 	}
 
 	// ******************** PARSE ********************
 
 	@Override
 	protected Object doParse(StaticMetadata metadata, String text, Metaclass toClass) {
+		return doParse(metadata, text, 0, text.length(), toClass);
+	}
+
+	@Override
+	protected Object doParse(StaticMetadata metadata, CharSequence text, int offset, int length, Metaclass toClass) {
 		Object[] array = createAndFillArray(toClass, metadata.info().getMaxOccurs());
-		int beginIndex = 0;
-		int endIndex = 0;
-		Object parsed = null;
+		RecordAccessor recordAccessor = recordAccessorOf(toClass);
+		int[] positions = recordAccessor != null ? positionsOf(metadata, (ComplexMetaclass) toClass) : null;
+		int beginIndex = offset;
+		for (int i = 0; i < array.length; i++) {
+			beginIndex = fillRecord(metadata, text, beginIndex, toClass, array[i], recordAccessor, positions);
+		}
+		return fromArray(array, toClass);
+	}
+
+	/**
+	 * Parses the occurrences (records) of a multiple metadata in parallel. Each
+	 * record is an independent slice of <code>serialMaxSize / maxOccurs</code>
+	 * chars, so the records are split in fork/join tasks of at most
+	 * <code>threshold</code> records and the result keeps the original order.
+	 * The text must support concurrent reads (e.g. a String) and the children
+	 * mappers must be stateless.
+	 * 
+	 * @param pool      The ForkJoinPool that runs the tasks.
+	 * @param threshold The max number of records parsed by a single task. If
+	 *                  the maxOccurs is not bigger, the parsing is sequential.
+	 * @see #parse(StaticMetadata, CharSequence, int, int, Metaclass)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T parseParallel(StaticMetadata metadata, CharSequence text, int offset, int length,
+			Metaclass toClass, ForkJoinPool pool, int threshold) {
+		int maxOccurs = metadata.info().getMaxOccurs();
+		if (maxOccurs <= Math.max(threshold, 1) || toClass.isPrimitive()) {
+			return (T) doParse(metadata, text, offset, length, toClass);
+		}
+		Object[] array = new Object[maxOccurs];
+		RecordAccessor recordAccessor = recordAccessorOf(toClass);
+		int[] positions = recordAccessor != null ? positionsOf(metadata, (ComplexMetaclass) toClass) : null;
+		pool.invoke(new RecordsTask(metadata, text, offset, metadata.serialMaxSize() / maxOccurs, toClass, array,
+				instantiators.instantiatorOf(toClass.elementType()), recordAccessor, positions, threshold, 0, maxOccurs));
+		return (T) fromArray(array, toClass);
+	}
+
+	@Override
+	public Object parseRecord(StaticMetadata metadata, CharSequence text, Metaclass toClass) {
+		Object record = instantiators.newInstance(toClass.elementType());
+		RecordAccessor recordAccessor = recordAccessorOf(toClass);
+		int[] positions = recordAccessor != null ? positionsOf(metadata, (ComplexMetaclass) toClass) : null;
+		fillRecord(metadata, text, 0, toClass, record, recordAccessor, positions);
+		return record;
+	}
+
+	/*
+	 * Parses the children of one record starting at 'beginIndex' and returns the
+	 * index of the next record.
+	 */
+	private int fillRecord(StaticMetadata metadata, CharSequence text, int beginIndex, Metaclass toClass,
+			Object record, RecordAccessor recordAccessor, int[] positions) {
+		Object parsed;
 		Metaclass metaclassChild;
 		StaticMetadata metadataChild;
 		List<StaticMetadata> staticMetadataChildren = metadata.children();
 		PayloadMapper parserChild;
-		for (int i = 0; i < array.length; i++) {
-			for (int j = 0; j < children.size(); j++) {
-				metadataChild = staticMetadataChildren.get(j);
-				parserChild = children.get(j);
-				// Def types
-				metaclassChild = getMetaclassChild(metadataChild, toClass);
-				// Split and parseMetadata
-				endIndex += metadataChild.serialMaxSize();
-				parsed = parserChild.parse(metadataChild, text.substring(beginIndex, endIndex), metaclassChild);
+		Object[] values = positions != null ? recordAccessor.newValues() : null;
+		for (int j = 0; j < children.size(); j++) {
+			metadataChild = staticMetadataChildren.get(j);
+			parserChild = children.get(j);
+			// Field left out of the projection: no parsing, no allocation
+			if (parserChild == SkipMapper.INSTANCE) {
 				beginIndex += metadataChild.serialMaxSize();
-				// set parsed into field
-				if (metaclassChild.isPrimitive()) {
-					if (parsed == null) {
-						continue;
-					}
-					if (metaclassChild.elementType().equals(char.class)) {
-						parsed = parsed.toString().charAt(0);
-					}
+				continue;
+			}
+			// Def types
+			metaclassChild = getMetaclassChild(metadataChild, toClass);
+			// Primitive numbers are set with no boxing
+			if (parserChild instanceof AbstractPrimitiveMapper && ((AbstractPrimitiveMapper) parserChild)
+					.parseInto(metadataChild, text, beginIndex, beginIndex + metadataChild.serialMaxSize(),
+							metaclassChild, record)) {
+				beginIndex += metadataChild.serialMaxSize();
+				continue;
+			}
+			// Parse the region of the child in place
+			parsed = parseRegion(parserChild, metadataChild, text, beginIndex, metadataChild.serialMaxSize(),
+					metaclassChild);
+			beginIndex += metadataChild.serialMaxSize();
+			// set parsed into field
+			if (metaclassChild.isPrimitive()) {
+				if (parsed == null) {
+					continue;
 				}
-				callSet(array[i], metaclassChild, parsed);
+				if (metaclassChild.elementType().equals(char.class) && !metaclassChild.isArray()) {
+					parsed = parsed.toString().charAt(0);
+				}
+			}
+			if (values != null) {
+				values[positions[j]] = toSettable(metaclassChild, parsed);
+			} else {
+				callSet(record, metaclassChild, parsed);
 			}
 		}
-		return fromArray(array, toClass);
+		if (values != null) {
+			recordAccessor.writeAll(record, values);
+		}
+		return beginIndex;
+	}
+
+	/*
+	 * Parses the records [from, to) or splits them in two subtasks.
+	 */
+	private class RecordsTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final StaticMetadata metadata;
+		private final CharSequence text;
+		private final int offset;
+		private final int recordSize;
+		private final Metaclass toClass;
+		private final Object[] array;
+		private final Instantiator instantiator;
+		private final RecordAccessor recordAccessor;
+		private final int[] positions;
+		private final int threshold;
+		private final int from;
+		private final int to;
+
+		RecordsTask(StaticMetadata metadata, CharSequence text, int offset, int recordSize, Metaclass toClass,
+				Object[] array, Instantiator instantiator, RecordAccessor recordAccessor, int[] positions,
+				int threshold, int from, int to) {
+			this.metadata = metadata;
+			this.text = text;
+			this.offset = offset;
+			this.recordSize = recordSize;
+			this.toClass = toClass;
+			this.array = array;
+			this.instantiator = instantiator;
+			this.recordAccessor = recordAccessor;
+			this.positions = positions;
+			this.threshold = threshold;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > threshold) {
+				int middle = (from + to) >>> 1;
+				invokeAll(subtask(from, middle), subtask(middle, to));
+				return;
+			}
+			for (int i = from; i < to; i++) {
+				array[i] = instantiator.newInstance();
+				fillRecord(metadata, text, offset + i * recordSize, toClass, array[i], recordAccessor, positions);
+			}
+		}
+
+		private RecordsTask subtask(int from, int to) {
+			return new RecordsTask(metadata, text, offset, recordSize, toClass, array, instantiator, recordAccessor,
+					positions, threshold, from, to);
+		}
 	}
 
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String serializeNotNull(StaticMetadata metadata, Object obj, Metaclass fromClass) {
-		StringBuilder sb = new StringBuilder();
+		StringBuilder sb = new StringBuilder(metadata.serialMaxSize());
+		serializeNotNullTo(metadata, obj, fromClass, sb);
+		return sb.toString();
+	}
+
+	@Override
+	protected void serializeNotNullTo(StaticMetadata metadata, Object obj, Metaclass fromClass, StringBuilder out) {
 		Object[] array = toMaxArray(obj, metadata.info().getMaxOccurs());
+		RecordAccessor recordAccessor = recordAccessorOf(fromClass);
+		int[] positions = recordAccessor != null ? positionsOf(metadata, (ComplexMetaclass) fromClass) : null;
+		for (int i = 0; i < array.length; i++) {
+			appendRecord(out, metadata, array[i], fromClass, recordAccessor, positions);
+		}
+	}
+
+	/**
+	 * Serializes the occurrences (records) of a multiple metadata in parallel.
+	 * All records have the same size (<code>serialMaxSize / maxOccurs</code>),
+	 * so each fork/join task writes its chunk at a computed position of a single
+	 * presized buffer, which is appended to the output at the end.
+	 * 
+	 * @param pool      The ForkJoinPool that runs the tasks.
+	 * @param threshold The max number of records serialized by a single task.
+	 *                  If the maxOccurs is not bigger, the serialization is
+	 *                  sequential.
+	 * @see #serializeTo(StaticMetadata, Object, Metaclass, StringBuilder)
+	 */
+	public void serializeParallel(StaticMetadata metadata, Object obj, Metaclass fromClass, StringBuilder out,
+			ForkJoinPool pool, int threshold) {
+		int maxOccurs = metadata.info().getMaxOccurs();
+		if (obj == null || maxOccurs <= Math.max(threshold, 1)) {
+			serializeTo(metadata, obj, fromClass, out);
+			return;
+		}
+		Object[] array = toMaxArray(obj, maxOccurs);
+		RecordAccessor recordAccessor = recordAccessorOf(fromClass);
+		int[] positions = recordAccessor != null ? positionsOf(metadata, (ComplexMetaclass) fromClass) : null;
+		int recordSize = metadata.serialMaxSize() / maxOccurs;
+		char[] buffer = new char[recordSize * maxOccurs];
+		pool.invoke(new AppendTask(metadata, array, fromClass, recordAccessor, positions, buffer, recordSize,
+				threshold, 0, maxOccurs));
+		out.append(buffer);
+	}
+
+	@Override
+	public String serializeRecord(StaticMetadata metadata, Object record, Metaclass fromClass) {
+		int maxOccurs = metadata.info().getMaxOccurs();
+		StringBuilder sb = new StringBuilder(maxOccurs > 0 ? metadata.serialMaxSize() / maxOccurs : 16);
+		RecordAccessor recordAccessor = recordAccessorOf(fromClass);
+		int[] positions = recordAccessor != null ? positionsOf(metadata, (ComplexMetaclass) fromClass) : null;
+		appendRecord(sb, metadata, record, fromClass, recordAccessor, positions);
+		return sb.toString();
+	}
+
+	/*
+	 * Serializes the children of one record (or a null record).
+	 */
+	private void appendRecord(StringBuilder sb, StaticMetadata metadata, Object record, Metaclass fromClass,
+			RecordAccessor recordAccessor, int[] positions) {
 		StaticMetadata metadataChild;
 		PayloadMapper parserChild;
 		Metaclass metaclassChild;
 		List<StaticMetadata> staticMetadataChildren = metadata.children();
-		for (int i = 0; i < array.length; i++) {
+		Object[] values = positions != null && record != null ? recordAccessor.readAll(record) : null;
+		for (int j = 0; j < children.size(); j++) {
+			metadataChild = staticMetadataChildren.get(j);
+			parserChild = children.get(j);
+			metaclassChild = fromClass.getChildByName(metadataChild.info().getName());
+			if (record != null) {
+				if (parserChild instanceof AbstractPrimitiveMapper && ((AbstractPrimitiveMapper) parserChild)
+						.serializeFrom(metadataChild, record, metaclassChild, sb)) {
+					continue;
+				}
+				serializeTo(parserChild, metadataChild,
+						values != null ? values[positions[j]] : metaclassChild.get(record), metaclassChild, sb);
+			} else {
+				serializeNullTo(metadataChild, sb);
+			}
+		}
+	}
+
+	/*
+	 * Serializes the records [from, to) into the buffer or splits them in two
+	 * subtasks.
+	 */
+	private class AppendTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final StaticMetadata metadata;
+		private final Object[] array;
+		private final Metaclass fromClass;
+		private final RecordAccessor recordAccessor;
+		private final int[] positions;
+		private final char[] buffer;
+		private final int recordSize;
+		private final int threshold;
+		private final int from;
+		private final int to;
+
+		AppendTask(StaticMetadata metadata, Object[] array, Metaclass fromClass, RecordAccessor recordAccessor,
+				int[] positions, char[] buffer, int recordSize, int threshold, int from, int to) {
+			this.metadata = metadata;
+			this.array = array;
+			this.fromClass = fromClass;
+			this.recordAccessor = recordAccessor;
+			this.positions = positions;
+			this.buffer = buffer;
+			this.recordSize = recordSize;
+			this.threshold = threshold;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > threshold) {
+				int middle = (from + to) >>> 1;
+				invokeAll(subtask(from, middle), subtask(middle, to));
+				return;
+			}
+			StringBuilder sb = new StringBuilder((to - from) * recordSize);
+			for (int i = from; i < to; i++) {
+				appendRecord(sb, metadata, array[i], fromClass, recordAccessor, positions);
+			}
+			if (sb.length() != (to - from) * recordSize) {
+				throw new PplSerializeException("Records " + from + "-" + to + " do not fit the record size "
+						+ recordSize + ": " + sb.length() + " chars");
+			}
+			sb.getChars(0, sb.length(), buffer, from * recordSize);
+		}
+
+		private AppendTask subtask(int from, int to) {
+			return new AppendTask(metadata, array, fromClass, recordAccessor, positions, buffer, recordSize,
+					threshold, from, to);
+		}
+	}
+
+	@Override
+	public boolean overflows(StaticMetadata metadata, Object obj, Metaclass fromClass) {
+		if (super.overflows(metadata, obj, fromClass)) {
+			return true;
+		}
+		List<StaticMetadata> staticMetadataChildren = metadata.children();
+		StaticMetadata metadataChild;
+		Metaclass metaclassChild;
+		PayloadMapper parserChild;
+		for (Object record : toMaxArray(obj, metadata.info().getMaxOccurs())) {
+			if (record == null) {
+				continue;
+			}
 			for (int j = 0; j < children.size(); j++) {
 				metadataChild = staticMetadataChildren.get(j);
 				parserChild = children.get(j);
 				metaclassChild = fromClass.getChildByName(metadataChild.info().getName());
-				if (array[i] != null) {
-					
-					sb.append(parserChild.serialize(metadataChild, metaclassChild.get(array[i]),
-							metaclassChild));
-				} else {
-					sb.append(serializeNull(metadataChild));
+				if (parserChild instanceof AbstractPositionalMapper && ((AbstractPositionalMapper) parserChild)
+						.overflows(metadataChild, metaclassChild.get(record), metaclassChild)) {
+					return true;
 				}
 			}
 		}
-		return sb.toString();
+		return false;
 	}
 
 	// ******************** COMMON ********************
 
+	@Override
+	protected Instantiator instantiatorOf(Class<?> type) {
+		return instantiators.instantiatorOf(type);
+	}
+
+	private RecordAccessor recordAccessorOf(Metaclass metaclass) {
+		return metaclass instanceof ComplexMetaclass ? ((ComplexMetaclass) metaclass).recordAccessor() : null;
+	}
+
+	/*
+	 * Position of each metadata child at the RecordAccessor values or null if some
+	 * child is missing in the Metaclass.
+	 */
+	private int[] positionsOf(StaticMetadata metadata, ComplexMetaclass metaclass) {
+		List<StaticMetadata> staticMetadataChildren = metadata.children();
+		int[] positions = new int[staticMetadataChildren.size()];
+		for (int j = 0; j < positions.length; j++) {
+			positions[j] = metaclass.indexOfChild(staticMetadataChildren.get(j).info().getName());
+			if (positions[j] < 0) {
+				return null;
+			}
+		}
+		return positions;
+	}
+
 	private Metaclass getMetaclassChild(StaticMetadata metadataChild, Metaclass metaclass) {
 		Metaclass metaclassChild = metaclass.getChildByName(metadataChild.name());
 		if (metaclassChild == null) {
@@ -0,0 +1,77 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.complex;
+
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+
+/**
+ * [STATELESS] Mapper of a field left out of a projection. The
+ * <code>ComplexMapper</code> skips the region of the field without parsing it
+ * and the field is not set. Serialization writes a null value.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see br.net.buzu4j.plan.Projection
+ */
+public class SkipMapper extends AbstractPositionalMapper {
+
+	public static final SkipMapper INSTANCE = new SkipMapper();
+
+	// ******************** PARSE ********************
+
+	@Override
+	protected Object doParse(StaticMetadata metadata, String text, Metaclass toClass) {
+		return null;
+	}
+
+	@Override
+	protected Object doParse(StaticMetadata metadata, CharSequence text, int offset, int length, Metaclass toClass) {
+		return null;
+	}
+
+	@Override
+	public Object parseRecord(StaticMetadata metadata, CharSequence text, Metaclass toClass) {
+		return null;
+	}
+
+	// ******************** SERIALIZE ********************
+
+	@Override
+	protected String serializeNotNull(StaticMetadata metadata, Object objNullSafe, Metaclass fromClass) {
+		return serializeNull(metadata);
+	}
+
+	@Override
+	protected void serializeNotNullTo(StaticMetadata metadata, Object obj, Metaclass fromClass, StringBuilder out) {
+		serializeNullTo(metadata, out);
+	}
+
+	@Override
+	public String serializeRecord(StaticMetadata metadata, Object record, Metaclass fromClass) {
+		int maxOccurs = metadata.info().getMaxOccurs();
+		int recordSize = maxOccurs > 0 ? metadata.serialMaxSize() / maxOccurs : 0;
+		char nullChar = metadata.info().getSubtype().getDataType().getNullChar();
+		StringBuilder sb = new StringBuilder(recordSize);
+		for (int i = recordSize; i > 0; i--) {
+			sb.append(nullChar);
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,295 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.generated;
+
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.metaclass.ComplexMetaclass;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.parsing.complex.AbstractComplexMapper;
+import br.net.buzu4j.parsing.complex.ComplexMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Superclass of the mappers generated at compile time by the
+ * <code>buzu4j-processor</code> for static complex types. The generated code
+ * has hard-coded names, offsets and sizes and accesses the fields directly (or
+ * by get/set methods), so there is no reflection on parsing and serialization.
+ * <p>
+ * The generated layout is used only if it matches the StaticMetadata of the
+ * call. Any other layout (e.g. a PPL text with a different header) is delegated
+ * to the fallback <code>ComplexMapper</code> built by the ParserFactory. The
+ * fallback also provides the mappers of the children values.
+ * <p>
+ * Generated mappers are registered as services of this class (see
+ * {@link GeneratedMappers}). The instance created by the ServiceLoader is only
+ * a prototype: the ParserFactory calls {@link #create(ComplexMapper, Metaclass)}.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public abstract class GeneratedMapper extends AbstractComplexMapper {
+
+	private final ComplexMapper fallback;
+	private final String[] names;
+	private final int[] sizes;
+	private final int recordSize;
+	private final PayloadMapper[] mappers;
+	private final Metaclass[] metaclasses;
+	private final boolean bound;
+	private volatile StaticMetadata matched;
+
+	/** Prototype constructor used by the ServiceLoader. */
+	protected GeneratedMapper() {
+		this(null, null);
+	}
+
+	protected GeneratedMapper(ComplexMapper fallback, Metaclass metaclass) {
+		super();
+		this.fallback = fallback;
+		this.names = names();
+		this.sizes = sizes();
+		int tmp = 0;
+		for (int size : sizes) {
+			tmp += size;
+		}
+		this.recordSize = tmp;
+		this.mappers = new PayloadMapper[names.length];
+		this.metaclasses = new Metaclass[names.length];
+		this.bound = bind(fallback, metaclass);
+	}
+
+	// **************************************************
+	// Generated
+	// **************************************************
+
+	/**
+	 * @return The complex type handled by this mapper.
+	 */
+	public abstract Class<?> targetType();
+
+	/**
+	 * @return The names of the children in the generated order.
+	 */
+	protected abstract String[] names();
+
+	/**
+	 * @return The serial max size of each child in the generated order.
+	 */
+	protected abstract int[] sizes();
+
+	/**
+	 * Creates the effective mapper of a Metaclass.
+	 */
+	public abstract GeneratedMapper create(ComplexMapper fallback, Metaclass metaclass);
+
+	protected abstract Object parseRecord(List<StaticMetadata> children, CharSequence text, int offset);
+
+	protected abstract void serializeRecord(List<StaticMetadata> children, Object record, StringBuilder sb);
+
+	// ******************** PARSE ********************
+
+	@Override
+	protected Object doParse(StaticMetadata metadata, String text, Metaclass toClass) {
+		return doParse(metadata, text, 0, text.length(), toClass);
+	}
+
+	@Override
+	protected Object doParse(StaticMetadata metadata, CharSequence text, int offset, int length, Metaclass toClass) {
+		if (!matches(metadata)) {
+			return parseRegion(fallback, metadata, text, offset, length, toClass);
+		}
+		List<StaticMetadata> children = metadata.children();
+		Object[] array = new Object[metadata.info().getMaxOccurs()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = parseRecord(children, text, offset + i * recordSize);
+		}
+		return fromArray(array, toClass);
+	}
+
+	@Override
+	public Object parseRecord(StaticMetadata metadata, CharSequence text, Metaclass toClass) {
+		if (!matches(metadata)) {
+			return fallback.parseRecord(metadata, text, toClass);
+		}
+		return parseRecord(metadata.children(), text, 0);
+	}
+
+	// ******************** SERIALIZE ********************
+
+	@Override
+	protected String serializeNotNull(StaticMetadata metadata, Object obj, Metaclass fromClass) {
+		if (!matches(metadata)) {
+			return fallback.serialize(metadata, obj, fromClass);
+		}
+		StringBuilder sb = new StringBuilder(metadata.serialMaxSize());
+		serializeNotNullTo(metadata, obj, fromClass, sb);
+		return sb.toString();
+	}
+
+	@Override
+	protected void serializeNotNullTo(StaticMetadata metadata, Object obj, Metaclass fromClass, StringBuilder out) {
+		if (!matches(metadata)) {
+			fallback.serializeTo(metadata, obj, fromClass, out);
+			return;
+		}
+		List<StaticMetadata> children = metadata.children();
+		Object[] array = toMaxArray(obj, metadata.info().getMaxOccurs());
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] != null) {
+				serializeRecord(children, array[i], out);
+			} else {
+				for (StaticMetadata child : children) {
+					serializeNullTo(child, out);
+				}
+			}
+		}
+	}
+
+	@Override
+	public String serializeRecord(StaticMetadata metadata, Object record, Metaclass fromClass) {
+		if (!matches(metadata)) {
+			return fallback.serializeRecord(metadata, record, fromClass);
+		}
+		List<StaticMetadata> children = metadata.children();
+		StringBuilder sb = new StringBuilder(recordSize);
+		if (record != null) {
+			serializeRecord(children, record, sb);
+		} else {
+			for (StaticMetadata child : children) {
+				serializeNullTo(child, sb);
+			}
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public boolean overflows(StaticMetadata metadata, Object obj, Metaclass fromClass) {
+		return fallback != null ? fallback.overflows(metadata, obj, fromClass)
+				: super.overflows(metadata, obj, fromClass);
+	}
+
+	// ******************** GENERATED CODE SUPPORT ********************
+
+	/**
+	 * Parses the value of the child <code>k</code> starting at
+	 * <code>begin</code>.
+	 */
+	protected final Object value(List<StaticMetadata> children, int k, CharSequence text, int begin) {
+		return parseRegion(mappers[k], children.get(k), text, begin, sizes[k], metaclasses[k]);
+	}
+
+	/**
+	 * Serializes the value of the child <code>k</code> into the output.
+	 */
+	protected final void text(List<StaticMetadata> children, int k, Object value, StringBuilder sb) {
+		serializeTo(mappers[k], children.get(k), value, metaclasses[k], sb);
+	}
+
+	/**
+	 * Serializes the value of the child <code>k</code>.
+	 */
+	protected final String text(List<StaticMetadata> children, int k, Object value) {
+		return value != null ? mappers[k].serialize(children.get(k), value, metaclasses[k])
+				: serializeNull(children.get(k));
+	}
+
+	@SuppressWarnings("unchecked")
+	protected static <T> T asCollection(Object value) {
+		if (value == null || value instanceof Collection<?>) {
+			return (T) value;
+		}
+		List<Object> list = new ArrayList<>();
+		list.add(value);
+		return (T) list;
+	}
+
+	protected static Character asChar(Object value) {
+		if (value == null || value instanceof Character) {
+			return (Character) value;
+		}
+		String str = value.toString();
+		return str.isEmpty() ? null : str.charAt(0);
+	}
+
+	/**
+	 * Conversion of a primitive <code>char</code>: the empty text is the
+	 * default value, so the generated code never unboxes a null Character.
+	 */
+	protected static char asChar(Object value, char defaultValue) {
+		Character c = asChar(value);
+		return c != null ? c : defaultValue;
+	}
+
+	// ******************** COMMON ********************
+
+	/*
+	 * Indicates if the metadata has the generated layout (same names and sizes in
+	 * the same order).
+	 */
+	boolean matches(StaticMetadata metadata) {
+		if (metadata == matched) {
+			return true;
+		}
+		if (!bound) {
+			return false;
+		}
+		List<StaticMetadata> children = metadata.children();
+		if (children.size() != names.length) {
+			return false;
+		}
+		StaticMetadata child;
+		for (int k = 0; k < names.length; k++) {
+			child = children.get(k);
+			if (!names[k].equals(child.name()) || sizes[k] != child.serialMaxSize()) {
+				return false;
+			}
+		}
+		matched = metadata;
+		return true;
+	}
+
+	private boolean bind(ComplexMapper fallback, Metaclass metaclass) {
+		if (fallback == null || !(metaclass instanceof ComplexMetaclass)) {
+			return false;
+		}
+		ComplexMetaclass complex = (ComplexMetaclass) metaclass;
+		List<PayloadMapper> fallbackChildren = fallback.children();
+		Metaclass[] tmpMetaclasses = new Metaclass[names.length];
+		PayloadMapper[] tmpMappers = new PayloadMapper[names.length];
+		int index;
+		for (int k = 0; k < names.length; k++) {
+			index = complex.indexOfChild(names[k]);
+			if (index < 0 || index >= fallbackChildren.size()) {
+				return false;
+			}
+			tmpMetaclasses[k] = complex.children().get(index);
+			tmpMappers[k] = fallbackChildren.get(index);
+		}
+		System.arraycopy(tmpMetaclasses, 0, metaclasses, 0, names.length);
+		System.arraycopy(tmpMappers, 0, mappers, 0, names.length);
+		return true;
+	}
+
+	public ComplexMapper fallback() {
+		return fallback;
+	}
+
+}
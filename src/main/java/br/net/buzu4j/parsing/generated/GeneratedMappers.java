@@ -0,0 +1,126 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.generated;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the generated mappers declared as services of
+ * {@link GeneratedMapper} (<code>META-INF/services</code>).
+ * <p>
+ * The services of each ClassLoader are scanned once and only the names are
+ * kept by the ClassLoader, so a redeployed application is not retained. The
+ * prototype of each type is stored in a {@link ClassValue} of the type.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class GeneratedMappers {
+
+	private static final Map<ClassLoader, Map<String, String>> NAMES = new WeakHashMap<>();
+
+	private static final ClassValue<Optional<GeneratedMapper>> PROTOTYPES = new ClassValue<Optional<GeneratedMapper>>() {
+		@Override
+		protected Optional<GeneratedMapper> computeValue(Class<?> type) {
+			return Optional.ofNullable(load(type));
+		}
+	};
+
+	/** Private Constructor */
+	private GeneratedMappers() {
+	}
+
+	/**
+	 * Returns the generated mapper prototype of a complex type.
+	 * 
+	 * @param type The complex type.
+	 * @return The prototype or <code>null</code> if there is no generated mapper
+	 *         for the type.
+	 */
+	public static GeneratedMapper find(Class<?> type) {
+		return PROTOTYPES.get(type).orElse(null);
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private static GeneratedMapper load(Class<?> type) {
+		ClassLoader loader = type.getClassLoader();
+		if (loader == null) {
+			return null;
+		}
+		String mapperName = namesOf(loader).get(type.getName());
+		if (mapperName == null) {
+			return null;
+		}
+		try {
+			GeneratedMapper prototype = (GeneratedMapper) Class.forName(mapperName, true, loader)
+					.getDeclaredConstructor().newInstance();
+			return prototype.targetType() == type ? prototype : null;
+		} catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+			warning(mapperName, e);
+			return null;
+		}
+	}
+
+	private static Map<String, String> namesOf(ClassLoader loader) {
+		synchronized (NAMES) {
+			Map<String, String> names = NAMES.get(loader);
+			if (names == null) {
+				names = scan(loader);
+				NAMES.put(loader, names);
+			}
+			return names;
+		}
+	}
+
+	private static Map<String, String> scan(ClassLoader loader) {
+		Map<String, String> names = new HashMap<>();
+		Iterator<GeneratedMapper> iterator = ServiceLoader.load(GeneratedMapper.class, loader).iterator();
+		while (hasNext(iterator)) {
+			try {
+				GeneratedMapper mapper = iterator.next();
+				names.put(mapper.targetType().getName(), mapper.getClass().getName());
+			} catch (ServiceConfigurationError | LinkageError e) {
+				warning(GeneratedMapper.class.getName(), e);
+			}
+		}
+		return names;
+	}
+
+	private static boolean hasNext(Iterator<GeneratedMapper> iterator) {
+		try {
+			return iterator.hasNext();
+		} catch (ServiceConfigurationError e) {
+			warning(GeneratedMapper.class.getName(), e);
+			return false;
+		}
+	}
+
+	private static void warning(String name, Throwable e) {
+		Logger.getLogger(GeneratedMappers.class.getName()).warning("Generated mapper ignored: " + name + " " + e);
+	}
+
+}
@@ -17,11 +17,15 @@
 package br.net.buzu4j.parsing.simple;
 
 import br.net.buzu.model.MetaInfo;
+import br.net.buzu4j.cache.ValueTextCache;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
 import br.net.buzu4j.parsing.AbstractPositionalMapper;
 import br.net.buzu.pplimpl.core.FitKt;
 
+import java.lang.reflect.Array;
+import java.util.Collection;
+
 /**
  * Superclass domainOf simple parsers (String, Integer Boolean etc).
  *
@@ -35,27 +39,56 @@ public abstract class AbstractSimpleMapper extends AbstractPositionalMapper {
 	// ******************** PARSE ********************
 	@Override
 	protected Object doParse(StaticMetadata metadata, String text, Metaclass toClass) {
-		if (isNull(text, metadata.info().getSubtype().getDataType().getNullChar())) {
+		return doParse(metadata, text, 0, text.length(), toClass);
+	}
+
+	@Override
+	protected Object doParse(StaticMetadata metadata, CharSequence text, int offset, int length, Metaclass toClass) {
+		if (isNull(text, offset, offset + length, metadata.info().getSubtype().getDataType().getNullChar())) {
 			if (metadata.info().hasDefaultValue()) {
 				text = metadata.info().getDefaultValue();
+				offset = 0;
 			} else {
 				return null;
 			}
 		}
-		int beginIndex = 0;
-		int endIndex = 0;
+		int size = metadata.info().getSize();
+		int beginIndex = offset;
+		if (toClass.isArray() && toClass.fieldType().getComponentType().isPrimitive()) {
+			Object primitiveArray = Array.newInstance(toClass.fieldType().getComponentType(),
+					metadata.info().getMaxOccurs());
+			for (int i = 0; i < metadata.info().getMaxOccurs(); i++) {
+				parseElementInto(metadata, text, beginIndex, beginIndex + size, toClass, primitiveArray, i);
+				beginIndex += size;
+			}
+			return primitiveArray;
+		}
 		Object[] array = createAndFillArray(toClass, metadata.info().getMaxOccurs());
 		for (int i = 0; i < array.length; i++) {
-			endIndex += metadata.info().getSize();
-			array[i] = asSingleObject(metadata, text.substring(beginIndex, endIndex), toClass);
-			beginIndex += metadata.info().getSize();
+			array[i] = asSingleObject(metadata, text, beginIndex, beginIndex + size, toClass);
+			beginIndex += size;
 		}
 		return fromArray(array, toClass);
 
 	}
 
+	@Override
+	public Object parseRecord(StaticMetadata metadata, CharSequence text, Metaclass toClass) {
+		if (isNull(text, 0, text.length(), metadata.info().getSubtype().getDataType().getNullChar())) {
+			if (!metadata.info().hasDefaultValue()) {
+				return null;
+			}
+			return asSingleObject(metadata, metadata.info().getDefaultValue(), toClass);
+		}
+		return asSingleObject(metadata, text, 0, text.length(), toClass);
+	}
+
 	protected boolean isNull(String text, char nullChar) {
-		for (int i = 0; i < text.length(); i++) {
+		return isNull(text, 0, text.length(), nullChar);
+	}
+
+	protected boolean isNull(CharSequence text, int beginIndex, int endIndex, char nullChar) {
+		for (int i = beginIndex; i < endIndex; i++) {
 			if (text.charAt(i) != nullChar) {
 				return false;
 			}
@@ -65,19 +98,100 @@ public abstract class AbstractSimpleMapper extends AbstractPositionalMapper {
 
 	protected abstract Object asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass);
 
+	/**
+	 * Parses the element between <code>beginIndex</code> and
+	 * <code>endIndex</code>. The default implementation copies the element text,
+	 * the only allocation besides the resulting value.
+	 */
+	protected Object asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		return asSingleObject(metadata, text.subSequence(beginIndex, endIndex).toString(), metaClass);
+	}
+
+	/**
+	 * Parses the element between <code>beginIndex</code> and
+	 * <code>endIndex</code> into the primitive array. Null elements keep the
+	 * default value of the array.
+	 */
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			return;
+		}
+		Object value = toComponent(asSingleObject(metadata, text, beginIndex, endIndex, toClass),
+				array.getClass().getComponentType());
+		if (value != null) {
+			Array.set(array, index, value);
+		}
+	}
+
+	/**
+	 * Copies the text between <code>beginIndex</code> and <code>endIndex</code>
+	 * without the leading and trailing whitespaces (like
+	 * <code>String.trim()</code> with a single copy).
+	 */
+	protected static String trimmed(CharSequence text, int beginIndex, int endIndex) {
+		while (beginIndex < endIndex && text.charAt(beginIndex) <= ' ') {
+			beginIndex++;
+		}
+		while (endIndex > beginIndex && text.charAt(endIndex - 1) <= ' ') {
+			endIndex--;
+		}
+		return text.subSequence(beginIndex, endIndex).toString();
+	}
+
 	// ******************** SERIALIZE ********************
 
 	protected String serializeNotNull(StaticMetadata metadata, Object obj, Metaclass metaClass) {
-		StringBuilder sb = new StringBuilder();
+		if (metadata.info().getMaxOccurs() == 1 && !(obj instanceof Collection<?>) && !obj.getClass().isArray()) {
+			return serializeElement(metadata.info(), obj);
+		}
+		StringBuilder sb = new StringBuilder(metadata.serialMaxSize());
+		serializeNotNullTo(metadata, obj, metaClass, sb);
+		return sb.toString();
+	}
+
+	@Override
+	protected void serializeNotNullTo(StaticMetadata metadata, Object obj, Metaclass metaClass, StringBuilder out) {
+		if (obj.getClass().isArray() && obj.getClass().getComponentType().isPrimitive()) {
+			int length = Array.getLength(obj);
+			checkOccurrences(length, metadata.info().getMaxOccurs());
+			for (int i = 0; i < metadata.info().getMaxOccurs(); i++) {
+				if (i < length) {
+					serializeElementTo(metadata.info(), obj, i, out);
+				} else {
+					out.append(serializeNullElement(metadata.info()));
+				}
+			}
+			return;
+		}
 		Object[] array = toMaxArray(obj, metadata.info().getMaxOccurs());
 		for (int i = 0; i < array.length; i++) {
 			if (array[i] == null) {
-				sb.append(serializeNullElement(metadata.info()));
+				out.append(serializeNullElement(metadata.info()));
 			} else {
-				sb.append(serializeElement(metadata.info(), array[i]));
+				serializeElementTo(metadata.info(), array[i], out);
 			}
 		}
-		return sb.toString();
+	}
+
+	@Override
+	public String serializeRecord(StaticMetadata metadata, Object record, Metaclass fromClass) {
+		return record != null ? serializeElement(metadata.info(), record) : serializeNullElement(metadata.info());
+	}
+
+	@Override
+	public boolean overflows(StaticMetadata metadata, Object obj, Metaclass fromClass) {
+		if (super.overflows(metadata, obj, fromClass)) {
+			return true;
+		}
+		MetaInfo meta = metadata.info();
+		for (Object element : toMaxArray(obj, meta.getMaxOccurs())) {
+			if (element != null && textOf(meta, element).length() > meta.getSize()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -88,7 +202,55 @@ public abstract class AbstractSimpleMapper extends AbstractPositionalMapper {
 	}
 
 	protected String serializeElement(MetaInfo meta, Object obj) {
-		return FitKt.fit(meta.getAlign(), asStringFromNotNull(meta, obj), meta.getSize(), meta.getFillChar());
+		return FitKt.fit(meta.getAlign(), textOf(meta, obj), meta.getSize(), meta.getFillChar());
+	}
+
+	/**
+	 * Appends the text of an element fitted to the size of the metadata. Used
+	 * by the primitive array overrides, which have the text with no boxing.
+	 */
+	protected static void appendFitted(MetaInfo meta, String text, StringBuilder out) {
+		out.append(FitKt.fit(meta.getAlign(), text, meta.getSize(), meta.getFillChar()));
+	}
+
+	/**
+	 * The text of a not null element: the text kept by the metadata load of the
+	 * current call (see {@link ValueTextCache}) or
+	 * {@link #asStringFromNotNull(MetaInfo, Object)}.
+	 */
+	protected String textOf(MetaInfo meta, Object obj) {
+		if (reusesLoadedText(meta, obj)) {
+			ValueTextCache texts = ValueTextCache.current();
+			String text = texts != null ? texts.get(obj) : null;
+			if (text != null) {
+				return text;
+			}
+		}
+		return asStringFromNotNull(meta, obj);
+	}
+
+	/**
+	 * Indicates if the text of the element is the same text used by the
+	 * metadata load to calculate the size (see
+	 * <code>BasicMetaclass.valueText</code>). Default <code>false</code>.
+	 */
+	protected boolean reusesLoadedText(MetaInfo meta, Object obj) {
+		return false;
+	}
+
+	/**
+	 * Output version of {@link #serializeElement(MetaInfo, Object)}.
+	 */
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		out.append(serializeElement(meta, obj));
+	}
+
+	/**
+	 * Serializes the element of a primitive array. The default implementation
+	 * boxes the element.
+	 */
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		serializeElementTo(meta, Array.get(primitiveArray, index), out);
 	}
 
 	protected abstract String asStringFromNotNull(MetaInfo meta, Object obj);
@@ -21,8 +21,6 @@ import br.net.buzu.model.MetaInfo;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
 
-import java.lang.reflect.Field;
-
 /**
  *
  * @author Douglas Siviotti
@@ -32,22 +30,25 @@ public class EnumNameMapper extends AbstractSimpleMapper {
 
 	public static final EnumNameMapper INSTANCE = new EnumNameMapper();
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	protected Object asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
-		Field[] fields = metaClass.elementType().getDeclaredFields();
-		String constName = text.trim();
-		for (Field field : fields) {
-			if (field.isEnumConstant() && (field.getName().equals(constName))) {
-				return Enum.valueOf((Class<Enum>) field.getType(), constName);
-			}
+		return asSingleObject(metadata, text, 0, text.length(), metaClass);
+	}
+
+	@Override
+	protected Object asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		Enum<?> constant = EnumTable.byName(metaClass.elementType()).find(text, beginIndex, endIndex);
+		if (constant == null) {
+			throw new PplParseException("The text '" + text.subSequence(beginIndex, endIndex)
+					+ "' is missing at enum " + metaClass.elementType());
 		}
-		throw new PplParseException("The text '" + text + "' is missing at enum " + metaClass.elementType());
+		return constant;
 	}
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
-		return ((Enum<?>) obj).name();
+		return EnumTable.byName(((Enum<?>) obj).getDeclaringClass()).text((Enum<?>) obj);
 	}
 
 }
@@ -23,8 +23,6 @@ import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.PplSerializable;
 import br.net.buzu.model.StaticMetadata;
 
-import java.lang.reflect.Field;
-
 /**
  *
  * @author Douglas Siviotti
@@ -34,26 +32,27 @@ public class EnumPplSerializableMapper extends AbstractSimpleMapper {
 
 	public static final EnumPplSerializableMapper INSTANCE = new EnumPplSerializableMapper();
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Override
 	protected Object asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
-		Field[] fields = metaClass.elementType().getDeclaredFields();
-		String value = text.trim();
-		PplSerializable pplValue;
-		for (Field field : fields) {
-			if (field.isEnumConstant()) {
-				pplValue =(PplSerializable) Enum.valueOf((Class<Enum>) field.getType(), field.getName());
-				if (pplValue.asPplSerial().equals(value)){
-					return pplValue;
-				}
-			}
-		}
-		throw new PplParseException("The text '" + text + "' is missing at enum " + metaClass.elementType());
+		return asSingleObject(metadata, text, 0, text.length(), metaClass);
 	}
 
+	@Override
+	protected Object asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		Enum<?> constant = EnumTable.bySerial(metaClass.elementType()).find(text, beginIndex, endIndex);
+		if (constant == null) {
+			throw new PplParseException("The text '" + text.subSequence(beginIndex, endIndex)
+					+ "' is missing at enum " + metaClass.elementType());
+		}
+		return constant;
+	}
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
+		if (obj instanceof Enum<?>) {
+			return EnumTable.bySerial(((Enum<?>) obj).getDeclaringClass()).text((Enum<?>) obj);
+		}
 		return ((PplSerializable) obj).asPplSerial();
 	}
 
@@ -0,0 +1,165 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.simple;
+
+import br.net.buzu.model.PplSerializable;
+
+import java.util.Objects;
+
+/**
+ * [IMMUTABLE] Lookup table of the constants of an enum by its text (the name
+ * or the <code>asPplSerial()</code> value). The table is built once per enum
+ * class and cached. Lookups are done directly on a region of the payload,
+ * ignoring the fill (leading and trailing whitespaces), with no String
+ * created. The texts are also cached by ordinal for serialization.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class EnumTable {
+
+	private static final ClassValue<EnumTable> BY_NAME = new ClassValue<EnumTable>() {
+		@Override
+		protected EnumTable computeValue(Class<?> type) {
+			return new EnumTable(type, false);
+		}
+	};
+
+	private static final ClassValue<EnumTable> BY_SERIAL = new ClassValue<EnumTable>() {
+		@Override
+		protected EnumTable computeValue(Class<?> type) {
+			return new EnumTable(type, true);
+		}
+	};
+
+	private final Class<?> type;
+	private final String[] texts;
+	private final String[] keys;
+	private final Enum<?>[] values;
+	private final int mask;
+
+	private EnumTable(Class<?> type, boolean serial) {
+		super();
+		this.type = type;
+		Object[] constants = type.getEnumConstants();
+		if (constants == null) {
+			throw new IllegalArgumentException(type + " is not an enum");
+		}
+		this.texts = new String[constants.length];
+		int capacity = Integer.highestOneBit(Math.max(1, constants.length) * 2) << 1;
+		this.keys = new String[capacity];
+		this.values = new Enum<?>[capacity];
+		this.mask = capacity - 1;
+		Enum<?> constant;
+		for (Object obj : constants) {
+			constant = (Enum<?>) obj;
+			texts[constant.ordinal()] = serial ? ((PplSerializable) constant).asPplSerial() : constant.name();
+			put(texts[constant.ordinal()], constant);
+		}
+	}
+
+	/**
+	 * @param type The enum class.
+	 * @return The table of the constants by name.
+	 */
+	public static EnumTable byName(Class<?> type) {
+		return BY_NAME.get(Objects.requireNonNull(type, "'type' cannot be null"));
+	}
+
+	/**
+	 * @param type The enum class (implementing <code>PplSerializable</code>).
+	 * @return The table of the constants by <code>asPplSerial()</code>.
+	 */
+	public static EnumTable bySerial(Class<?> type) {
+		return BY_SERIAL.get(Objects.requireNonNull(type, "'type' cannot be null"));
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Finds the constant of the text between <code>beginIndex</code> and
+	 * <code>endIndex</code>, ignoring leading and trailing whitespaces.
+	 * 
+	 * @return The constant or <code>null</code> if there is no constant with the
+	 *         text.
+	 */
+	public Enum<?> find(CharSequence text, int beginIndex, int endIndex) {
+		while (beginIndex < endIndex && text.charAt(beginIndex) <= ' ') {
+			beginIndex++;
+		}
+		while (endIndex > beginIndex && text.charAt(endIndex - 1) <= ' ') {
+			endIndex--;
+		}
+		int length = endIndex - beginIndex;
+		String key;
+		for (int slot = hash(text, beginIndex, endIndex) & mask; (key = keys[slot]) != null; slot = (slot + 1)
+				& mask) {
+			if (key.length() == length && regionEquals(key, text, beginIndex)) {
+				return values[slot];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return The text of the constant (cached by ordinal).
+	 */
+	public String text(Enum<?> constant) {
+		return texts[constant.ordinal()];
+	}
+
+	public Class<?> type() {
+		return type;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private void put(String key, Enum<?> constant) {
+		int slot = hash(key, 0, key.length()) & mask;
+		while (keys[slot] != null) {
+			if (keys[slot].equals(key)) {
+				// first constant wins (same as a linear scan)
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = constant;
+	}
+
+	private static int hash(CharSequence text, int beginIndex, int endIndex) {
+		int h = 0;
+		for (int i = beginIndex; i < endIndex; i++) {
+			h = 31 * h + text.charAt(i);
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean regionEquals(String key, CharSequence text, int beginIndex) {
+		for (int i = 0; i < key.length(); i++) {
+			if (key.charAt(i) != text.charAt(beginIndex + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
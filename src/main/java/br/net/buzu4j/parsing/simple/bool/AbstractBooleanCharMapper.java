@@ -58,6 +58,27 @@ public abstract class AbstractBooleanCharMapper extends AbstractSimpleMapper {
 		return ((Boolean) obj).booleanValue() ? trueValue : falseValue;
 	}
 
+	// ******************** PRIMITIVE ARRAY (NO BOXING) ********************
+
+	@Override
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (!(array instanceof boolean[])) {
+			super.parseElementInto(metadata, text, beginIndex, endIndex, toClass, array, index);
+		} else if (!isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			((boolean[]) array)[index] = endIndex - beginIndex == 1 && text.charAt(beginIndex) == getTrueValue();
+		}
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		if (primitiveArray instanceof boolean[]) {
+			appendFitted(meta, ((boolean[]) primitiveArray)[index] ? trueValue : falseValue, out);
+		} else {
+			super.serializeElementTo(meta, primitiveArray, index, out);
+		}
+	}
+
 	protected abstract char getTrueValue();
 
 	protected abstract char getFalseValue();
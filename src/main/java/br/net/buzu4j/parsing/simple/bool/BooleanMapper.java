@@ -51,4 +51,41 @@ public class BooleanMapper extends AbstractSimpleMapper {
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
 		return Boolean.toString((Boolean) obj);
 	}
+
+	// ******************** PRIMITIVE ARRAY (NO BOXING) ********************
+
+	@Override
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (!(array instanceof boolean[])) {
+			super.parseElementInto(metadata, text, beginIndex, endIndex, toClass, array, index);
+		} else if (!isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			((boolean[]) array)[index] = isTrue(text, beginIndex, endIndex);
+		}
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		if (primitiveArray instanceof boolean[]) {
+			appendFitted(meta, Boolean.toString(((boolean[]) primitiveArray)[index]), out);
+		} else {
+			super.serializeElementTo(meta, primitiveArray, index, out);
+		}
+	}
+
+	/*
+	 * Boolean.parseBoolean of the region with no copy.
+	 */
+	private static boolean isTrue(CharSequence text, int beginIndex, int endIndex) {
+		String value = Boolean.TRUE.toString();
+		if (endIndex - beginIndex != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.toLowerCase(text.charAt(beginIndex + i)) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
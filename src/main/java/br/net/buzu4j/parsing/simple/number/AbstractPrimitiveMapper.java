@@ -0,0 +1,95 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.simple.number;
+
+import br.net.buzu.model.MetaInfo;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.metaclass.BasicMetaclass;
+import br.net.buzu4j.model.Metaclass;
+
+/**
+ * Superclass for Numeric Parsers of a primitive type. Single occurrence fields
+ * of the primitive type are parsed and serialized with no boxing.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public abstract class AbstractPrimitiveMapper extends AbstractNumericMapper {
+
+	// ******************** PRIMITIVE (NO BOXING) ********************
+
+	/**
+	 * Parses the region straight into the primitive field of the record, with
+	 * no boxing. A null region (only null chars) without default value keeps
+	 * the field unchanged.
+	 * 
+	 * @return <code>false</code> if the field is not supported (nothing is
+	 *         parsed).
+	 */
+	public boolean parseInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass field, Object record) {
+		if (!isPrimitiveField(metadata, field)) {
+			return false;
+		}
+		if (isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			if (metadata.info().hasDefaultValue()) {
+				String defaultValue = metadata.info().getDefaultValue();
+				setPrimitive(metadata, defaultValue, 0, defaultValue.length(), (BasicMetaclass) field, record);
+			}
+			return true;
+		}
+		setPrimitive(metadata, text, beginIndex, endIndex, (BasicMetaclass) field, record);
+		return true;
+	}
+
+	/**
+	 * Serializes the primitive field of the record straight into the output,
+	 * with no boxing.
+	 * 
+	 * @return <code>false</code> if the field is not supported (nothing is
+	 *         appended).
+	 */
+	public boolean serializeFrom(StaticMetadata metadata, Object record, Metaclass field, StringBuilder out) {
+		if (!isPrimitiveField(metadata, field)) {
+			return false;
+		}
+		appendPrimitive(metadata.info(), record, (BasicMetaclass) field, out);
+		return true;
+	}
+
+	private boolean isPrimitiveField(StaticMetadata metadata, Metaclass field) {
+		return field instanceof BasicMetaclass && field.fieldType() == primitiveType()
+				&& metadata.info().getMaxOccurs() == 1;
+	}
+
+	/**
+	 * @return The primitive type supported by the typed methods.
+	 */
+	protected abstract Class<?> primitiveType();
+
+	/**
+	 * Parses the region and sets the primitive field of the record.
+	 */
+	protected abstract void setPrimitive(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			BasicMetaclass field, Object record);
+
+	/**
+	 * Appends the primitive field of the record to the output.
+	 */
+	protected abstract void appendPrimitive(MetaInfo meta, Object record, BasicMetaclass field, StringBuilder out);
+
+}
@@ -20,6 +20,7 @@ import br.net.buzu.exception.PplParseException;
 import br.net.buzu.model.MetaInfo;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.metaclass.BasicMetaclass;
 
 import java.math.BigInteger;
 
@@ -29,7 +30,7 @@ import java.math.BigInteger;
  * @author Douglas Siviotti
  * @since 1.0
  */
-public class IntegerMapper extends AbstractNumericMapper {
+public class IntegerMapper extends AbstractPrimitiveMapper {
 
 	public static final IntegerMapper INSTANCE = new IntegerMapper();
 
@@ -48,10 +49,74 @@ public class IntegerMapper extends AbstractNumericMapper {
 		}
 	}
 
+	@Override
+	protected Object asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass) {
+		if (toClass.match(BigInteger.class)) {
+			return super.asSingleObject(metadata, text, beginIndex, endIndex, toClass);
+		}
+		return parseInt(text, beginIndex, endIndex);
+	}
+
+	private int parseInt(CharSequence text, int beginIndex, int endIndex) {
+		try {
+			return NumberText.parseInt(text, beginIndex, endIndex);
+		} catch (NumberFormatException nfe) {
+			throw new PplParseException(PARSING_ERROR + " Text:\n" + text.subSequence(beginIndex, endIndex), nfe);
+		}
+	}
+
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
 		return Integer.toString((Integer) obj);
 	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		if (obj instanceof Integer) {
+			NumberText.append(out, meta.getAlign(), (Integer) obj, meta.getSize(), meta.getFillChar());
+		} else {
+			super.serializeElementTo(meta, obj, out);
+		}
+	}
+
+	// ******************** PRIMITIVE (NO BOXING) ********************
+
+	@Override
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (!(array instanceof int[])) {
+			super.parseElementInto(metadata, text, beginIndex, endIndex, toClass, array, index);
+		} else if (!isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			((int[]) array)[index] = parseInt(text, beginIndex, endIndex);
+		}
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		if (primitiveArray instanceof int[]) {
+			NumberText.append(out, meta.getAlign(), ((int[]) primitiveArray)[index], meta.getSize(),
+					meta.getFillChar());
+		} else {
+			super.serializeElementTo(meta, primitiveArray, index, out);
+		}
+	}
+
+	@Override
+	protected Class<?> primitiveType() {
+		return int.class;
+	}
+
+	@Override
+	protected void setPrimitive(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			BasicMetaclass field, Object record) {
+		field.setInt(record, parseInt(text, beginIndex, endIndex));
+	}
+
+	@Override
+	protected void appendPrimitive(MetaInfo meta, Object record, BasicMetaclass field, StringBuilder out) {
+		NumberText.append(out, meta.getAlign(), field.getInt(record), meta.getSize(), meta.getFillChar());
+	}
 }
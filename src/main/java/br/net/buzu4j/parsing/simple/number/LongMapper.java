@@ -20,6 +20,7 @@ import br.net.buzu.exception.PplParseException;
 import br.net.buzu.model.MetaInfo;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.metaclass.BasicMetaclass;
 import br.net.buzu.model.Subtype;
 
 import java.math.BigInteger;
@@ -30,7 +31,7 @@ import java.math.BigInteger;
  * @author Douglas Siviotti
  * @since 1.0
  */
-public class LongMapper extends AbstractNumericMapper {
+public class LongMapper extends AbstractPrimitiveMapper {
 
 	public static final LongMapper INSTANCE = new LongMapper();
 
@@ -49,10 +50,74 @@ public class LongMapper extends AbstractNumericMapper {
 		}
 	}
 
+	@Override
+	protected Object asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass) {
+		if (toClass.match(BigInteger.class)) {
+			return super.asSingleObject(metadata, text, beginIndex, endIndex, toClass);
+		}
+		return parseLong(text, beginIndex, endIndex);
+	}
+
+	private long parseLong(CharSequence text, int beginIndex, int endIndex) {
+		try {
+			return NumberText.parseLong(text, beginIndex, endIndex);
+		} catch (NumberFormatException nfe) {
+			throw new PplParseException(PARSING_ERROR + " Text:\n" + text.subSequence(beginIndex, endIndex), nfe);
+		}
+	}
+
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
 		return Long.toString((Long) obj);
 	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		if (obj instanceof Long) {
+			NumberText.append(out, meta.getAlign(), (Long) obj, meta.getSize(), meta.getFillChar());
+		} else {
+			super.serializeElementTo(meta, obj, out);
+		}
+	}
+
+	// ******************** PRIMITIVE (NO BOXING) ********************
+
+	@Override
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (!(array instanceof long[])) {
+			super.parseElementInto(metadata, text, beginIndex, endIndex, toClass, array, index);
+		} else if (!isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			((long[]) array)[index] = parseLong(text, beginIndex, endIndex);
+		}
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		if (primitiveArray instanceof long[]) {
+			NumberText.append(out, meta.getAlign(), ((long[]) primitiveArray)[index], meta.getSize(),
+					meta.getFillChar());
+		} else {
+			super.serializeElementTo(meta, primitiveArray, index, out);
+		}
+	}
+
+	@Override
+	protected Class<?> primitiveType() {
+		return long.class;
+	}
+
+	@Override
+	protected void setPrimitive(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			BasicMetaclass field, Object record) {
+		field.setLong(record, parseLong(text, beginIndex, endIndex));
+	}
+
+	@Override
+	protected void appendPrimitive(MetaInfo meta, Object record, BasicMetaclass field, StringBuilder out) {
+		NumberText.append(out, meta.getAlign(), field.getLong(record), meta.getSize(), meta.getFillChar());
+	}
 }
@@ -66,8 +66,48 @@ public class NumberMapper extends AbstractNumericMapper {
 		}
 	}
 
+	// ******************** PRIMITIVE ARRAY (NO BOXING) ********************
+
+	@Override
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (!(array instanceof double[]) && !(array instanceof float[])) {
+			super.parseElementInto(metadata, text, beginIndex, endIndex, toClass, array, index);
+			return;
+		}
+		if (isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			return;
+		}
+		String element = text.subSequence(beginIndex, endIndex).toString();
+		try {
+			if (array instanceof double[]) {
+				((double[]) array)[index] = Double.parseDouble(element);
+			} else {
+				((float[]) array)[index] = Float.parseFloat(element);
+			}
+		} catch (NumberFormatException nfe) {
+			throw new PplParseException(getClass().getSimpleName(), element, toClass.elementType(), nfe);
+		}
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		if (primitiveArray instanceof double[]) {
+			appendFitted(meta, Double.toString(((double[]) primitiveArray)[index]), out);
+		} else if (primitiveArray instanceof float[]) {
+			appendFitted(meta, Float.toString(((float[]) primitiveArray)[index]), out);
+		} else {
+			super.serializeElementTo(meta, primitiveArray, index, out);
+		}
+	}
+
 	// ******************** SERIALIZE ********************
 
+	@Override
+	protected boolean reusesLoadedText(MetaInfo meta, Object obj) {
+		return !(obj instanceof BigDecimal) || !meta.hasScale();
+	}
+
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
 		if (obj instanceof BigDecimal) {
@@ -0,0 +1,167 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.simple.number;
+
+import br.net.buzu.model.Align;
+import br.net.buzu.pplimpl.core.FitKt;
+
+/**
+ * Digit level parsing and formatting of integral numbers directly on a region
+ * of the payload, with no intermediate String.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class NumberText {
+
+	/** Private Constructor */
+	private NumberText() {
+	}
+
+	// **************************************************
+	// Parse
+	// **************************************************
+
+	/**
+	 * Parses an <code>int</code> in place.
+	 * 
+	 * @see #parseLong(CharSequence, int, int)
+	 */
+	public static int parseInt(CharSequence text, int beginIndex, int endIndex) {
+		long value = parseLong(text, beginIndex, endIndex);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw forInput(text, beginIndex, endIndex);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Parses a <code>long</code> in place. Leading and trailing spaces and
+	 * leading zeros (fill chars) are ignored and the sign may follow the
+	 * leading zeros (e.g. <code>"000-12"</code>).
+	 * 
+	 * @param text       The payload.
+	 * @param beginIndex The index of the first char of the field.
+	 * @param endIndex   The index after the last char of the field.
+	 * @return The parsed value.
+	 * @throws NumberFormatException If the region is not a valid number.
+	 */
+	public static long parseLong(CharSequence text, int beginIndex, int endIndex) {
+		int i = beginIndex;
+		int end = endIndex;
+		while (i < end && text.charAt(i) == ' ') {
+			i++;
+		}
+		while (end > i && text.charAt(end - 1) == ' ') {
+			end--;
+		}
+		if (i == end) {
+			throw forInput(text, beginIndex, endIndex);
+		}
+		boolean zeros = false;
+		while (i < end && text.charAt(i) == '0') {
+			i++;
+			zeros = true;
+		}
+		if (i == end) {
+			return 0L;
+		}
+		boolean negative = false;
+		char c = text.charAt(i);
+		if (c == '-' || c == '+') {
+			negative = c == '-';
+			if (++i == end) {
+				throw forInput(text, beginIndex, endIndex);
+			}
+		} else if (zeros && (c < '0' || c > '9')) {
+			throw forInput(text, beginIndex, endIndex);
+		}
+		// Accumulates negatively (like Long.parseLong) to reach MIN_VALUE
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / 10;
+		long result = 0;
+		int digit;
+		for (; i < end; i++) {
+			digit = text.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || result < multmin) {
+				throw forInput(text, beginIndex, endIndex);
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw forInput(text, beginIndex, endIndex);
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	// **************************************************
+	// Format
+	// **************************************************
+
+	/**
+	 * Appends the value aligned and filled up to the size. The digits are
+	 * written straight into the output. A value bigger than the size is fitted
+	 * by <code>FitKt.fit</code>.
+	 * 
+	 * @param out      The output.
+	 * @param align    The alignment.
+	 * @param value    The value.
+	 * @param size     The size of the field.
+	 * @param fillChar The fill char.
+	 */
+	public static void append(StringBuilder out, Align align, long value, int size, char fillChar) {
+		int length = stringSize(value);
+		if (length > size) {
+			out.append(FitKt.fit(align, Long.toString(value), size, fillChar));
+		} else if (align == Align.LEFT) {
+			out.append(value);
+			fill(out, fillChar, size - length);
+		} else {
+			fill(out, fillChar, size - length);
+			out.append(value);
+		}
+	}
+
+	/**
+	 * @return The number of chars of the value (digits and sign).
+	 */
+	public static int stringSize(long value) {
+		long negative = value < 0 ? value : -value;
+		int size = 1;
+		while (negative <= -10) {
+			negative /= 10;
+			size++;
+		}
+		return value < 0 ? size + 1 : size;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private static void fill(StringBuilder out, char fillChar, int count) {
+		for (int i = 0; i < count; i++) {
+			out.append(fillChar);
+		}
+	}
+
+	private static NumberFormatException forInput(CharSequence text, int beginIndex, int endIndex) {
+		return new NumberFormatException("For input string: \"" + text.subSequence(beginIndex, endIndex) + "\"");
+	}
+
+}
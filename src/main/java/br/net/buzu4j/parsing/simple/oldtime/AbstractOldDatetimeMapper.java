@@ -21,13 +21,23 @@ import br.net.buzu.model.MetaInfo;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
 import br.net.buzu4j.parsing.simple.AbstractSimpleMapper;
+import br.net.buzu4j.parsing.simple.time.DateTimeCodec;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 /**
- * Abstract ValueParser to Old Date
+ * Abstract ValueParser to Old Date. The format is read and written by a
+ * {@link DateTimeCodec}, so the mapper is thread-safe. A text that does not
+ * match the format exactly is parsed by a <code>SimpleDateFormat</code> of the
+ * current thread.
  *
  * @author Douglas Siviotti
  * @since 1.0
@@ -36,27 +46,62 @@ public abstract class AbstractOldDatetimeMapper extends AbstractSimpleMapper {
 
 	static final String PARSING_ERROR = "Old Date parsing error. ";
 
-	private final SimpleDateFormat sdf;
+	private final DateTimeCodec codec;
+	private final ThreadLocal<SimpleDateFormat> fallback;
 
 	public AbstractOldDatetimeMapper() {
-		sdf = new SimpleDateFormat(getFormat());
+		String format = getFormat();
+		codec = DateTimeCodec.of(format);
+		fallback = ThreadLocal.withInitial(() -> new SimpleDateFormat(format));
 	}
 
 	// ******************** PARSE ********************
 	@Override
 	protected Date asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
+		return asSingleObject(metadata, text, 0, text.length(), metaClass);
+	}
+
+	@Override
+	protected Date asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		LocalDateTime parsed;
 		try {
-			return sdf.parse(text);
-		} catch (ParseException e) {
-			throw new PplParseException(PARSING_ERROR + " Text:\n" + text, e);
+			parsed = codec.parse(text, beginIndex, endIndex);
+		} catch (DateTimeException e) {
+			// out of range fields: the lenient SimpleDateFormat decides
+			parsed = null;
 		}
+		if (parsed == null) {
+			String element = text.subSequence(beginIndex, endIndex).toString();
+			try {
+				return fallback.get().parse(element);
+			} catch (ParseException e) {
+				throw new PplParseException(PARSING_ERROR + " Text:\n" + element, e);
+			}
+		}
+		ZoneOffset offset = codec.parseOffset(text, beginIndex);
+		return Date.from(offset != null ? parsed.toInstant(offset) : parsed.atZone(ZoneId.systemDefault()).toInstant());
 	}
 
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
-		return sdf.format((Date) obj);
+		StringBuilder sb = new StringBuilder(codec.length());
+		return append(sb, (Date) obj) ? sb.toString() : fallback.get().format((Date) obj);
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		if (meta.getSize() != codec.length() || !append(out, (Date) obj)) {
+			super.serializeElementTo(meta, obj, out);
+		}
+	}
+
+	private boolean append(StringBuilder out, Date date) {
+		// java.sql.Date does not support toInstant()
+		ZonedDateTime dateTime = Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault());
+		return codec.append(out, dateTime.toLocalDateTime(), dateTime.getOffset());
 	}
 
 	protected abstract String getFormat();
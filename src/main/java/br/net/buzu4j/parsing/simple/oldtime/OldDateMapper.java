@@ -26,9 +26,9 @@ import br.net.buzu.model.Subtype;
  */
 public class OldDateMapper extends AbstractOldDatetimeMapper {
 
-	public static final String FORMAT = "yyyy-MM-dd+HH:mm";
+	public static final String FORMAT = "yyyyMMdd";
 	
-	public static final OldTimeMapper INSTANCE = new OldTimeMapper();
+	public static final OldDateMapper INSTANCE = new OldDateMapper();
 
 	@Override
 	protected String getFormat() {
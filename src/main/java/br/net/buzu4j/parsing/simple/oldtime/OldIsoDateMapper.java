@@ -28,7 +28,7 @@ public class OldIsoDateMapper extends AbstractOldDatetimeMapper {
 
 	public static final String FORMAT = "yyyy-MM-dd";
 	
-	public static final OldTimeMapper INSTANCE = new OldTimeMapper();
+	public static final OldIsoDateMapper INSTANCE = new OldIsoDateMapper();
 
 	@Override
 	protected String getFormat() {
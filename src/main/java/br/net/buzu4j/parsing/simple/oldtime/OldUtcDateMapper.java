@@ -26,9 +26,9 @@ import br.net.buzu.model.Subtype;
  */
 public class OldUtcDateMapper extends AbstractOldDatetimeMapper {
 
-	public static final String FORMAT = "yyyyMMdd";
+	public static final String FORMAT = "yyyy-MM-ddXXX";
 	
-	public static final OldTimeMapper INSTANCE = new OldTimeMapper();
+	public static final OldUtcDateMapper INSTANCE = new OldUtcDateMapper();
 
 	@Override
 	protected String getFormat() {
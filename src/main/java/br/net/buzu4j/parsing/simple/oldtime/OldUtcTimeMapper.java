@@ -26,7 +26,7 @@ import br.net.buzu.model.Subtype;
  */
 public class OldUtcTimeMapper extends AbstractOldDatetimeMapper {
 
-	public static final String FORMAT = "HH:mm:ss+HH:MM";
+	public static final String FORMAT = "HH:mm:ssXXX";
 	
 	public static final OldUtcTimeMapper INSTANCE = new OldUtcTimeMapper();
 
@@ -26,7 +26,7 @@ import br.net.buzu.model.Subtype;
  */
 public class OldUtcTimestampMapper extends AbstractOldDatetimeMapper {
 
-	public static final String FORMAT = "yyyy-MM-dd'T'HH:mm:ss+HH:mm";
+	public static final String FORMAT = "yyyy-MM-dd'T'HH:mm:ssXXX";
 
 	public static final OldUtcTimestampMapper INSTANCE = new OldUtcTimestampMapper();
 
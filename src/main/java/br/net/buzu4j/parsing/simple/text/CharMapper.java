@@ -44,5 +44,27 @@ public class CharMapper extends AbstractTextMapper {
 		return obj.toString();
 	}
 
+	// ******************** PRIMITIVE ARRAY (NO BOXING) ********************
+
+	@Override
+	protected void parseElementInto(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass toClass, Object array, int index) {
+		if (!(array instanceof char[])) {
+			super.parseElementInto(metadata, text, beginIndex, endIndex, toClass, array, index);
+		} else if (endIndex > beginIndex
+				&& !isNull(text, beginIndex, endIndex, metadata.info().getSubtype().getDataType().getNullChar())) {
+			((char[]) array)[index] = text.charAt(beginIndex);
+		}
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object primitiveArray, int index, StringBuilder out) {
+		if (primitiveArray instanceof char[]) {
+			appendFitted(meta, String.valueOf(((char[]) primitiveArray)[index]), out);
+		} else {
+			super.serializeElementTo(meta, primitiveArray, index, out);
+		}
+	}
+
 
 }
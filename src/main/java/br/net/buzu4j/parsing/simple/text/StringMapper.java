@@ -37,6 +37,12 @@ public class StringMapper extends AbstractTextMapper {
 		return text.trim();
 	}
 
+	@Override
+	protected Object asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		return trimmed(text, beginIndex, endIndex);
+	}
+
 	// ******************** SERIALIZE ********************
 
 	@Override
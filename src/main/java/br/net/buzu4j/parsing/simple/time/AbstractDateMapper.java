@@ -22,10 +22,18 @@ import br.net.buzu.model.StaticMetadata;
 import br.net.buzu4j.parsing.simple.AbstractSimpleMapper;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 
 /**
- * Abstract ValueParser to Date
+ * Abstract ValueParser to Date. Texts matching the fixed pattern of the
+ * {@link DateTimeCodec} are parsed and written with no formatter. Other texts
+ * use the <code>DateTimeFormatter</code>. If the pattern has an offset the
+ * start of the parsed day is converted to UTC, the offset of the serialized
+ * text.
  *
  * @author Douglas Siviotti
  * @since 1.0
@@ -33,23 +41,66 @@ import java.time.format.DateTimeFormatter;
 public abstract class AbstractDateMapper extends AbstractSimpleMapper {
 
 	private final DateTimeFormatter formatter;
+	private final DateTimeCodec codec;
 
 	public AbstractDateMapper() {
 		formatter = getFormatter();
+		codec = getCodec();
 	}
 
 	// ******************** PARSE ********************
 	@Override
 	protected LocalDate asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
-		return LocalDate.parse(text, formatter);
+		return asSingleObject(metadata, text, 0, text.length(), metaClass);
+	}
+
+	@Override
+	protected LocalDate asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		LocalDateTime parsed = codec.parse(text, beginIndex, endIndex);
+		if (parsed != null) {
+			ZoneOffset offset = codec.parseOffset(text, beginIndex);
+			return offset != null ? toUtc(parsed.atOffset(offset)) : parsed.toLocalDate();
+		}
+		CharSequence region = text.subSequence(beginIndex, endIndex);
+		if (codec.hasOffset()) {
+			TemporalAccessor date = formatter.parse(region);
+			return toUtc(LocalDate.from(date).atStartOfDay().atOffset(ZoneOffset.from(date)));
+		}
+		return LocalDate.parse(region, formatter);
+	}
+
+	private static LocalDate toUtc(OffsetDateTime startOfDay) {
+		return startOfDay.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
 	}
 
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
-		return ((LocalDate) obj).format(formatter);
+		if (meta.getSize() == codec.length()) {
+			StringBuilder sb = new StringBuilder(codec.length());
+			if (codec.append(sb, (LocalDate) obj)) {
+				return sb.toString();
+			}
+		}
+		// offset patterns write the value as UTC
+		return codec.hasOffset() ? ((LocalDate) obj).atStartOfDay().atOffset(ZoneOffset.UTC).format(formatter)
+				: ((LocalDate) obj).format(formatter);
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		if (meta.getSize() != codec.length() || !codec.append(out, (LocalDate) obj)) {
+			super.serializeElementTo(meta, obj, out);
+		}
 	}
 
 	protected abstract DateTimeFormatter getFormatter();
+
+	/**
+	 * @return The fixed-width codec of the date (the text of the
+	 *         formatter without fractions of seconds).
+	 */
+	protected abstract DateTimeCodec getCodec();
 }
@@ -21,12 +21,17 @@ import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.StaticMetadata;
 import br.net.buzu4j.parsing.simple.AbstractSimpleMapper;
 
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Abstract ValueParser to Timestamp
+ * Abstract ValueParser to Time. Texts matching the fixed pattern of the
+ * {@link DateTimeCodec} are parsed and written with no formatter. Other texts
+ * use the <code>DateTimeFormatter</code>. If the pattern has an offset the
+ * parsed time is converted to UTC, the offset of the serialized text.
  *
  * @author Douglas Siviotti
  * @since 1.0
@@ -34,23 +39,62 @@ import java.time.format.DateTimeFormatter;
 public abstract class AbstractTimeMapper extends AbstractSimpleMapper {
 
 	private final DateTimeFormatter formatter;
+	private final DateTimeCodec codec;
 
 	public AbstractTimeMapper() {
 		formatter = getFormatter();
+		codec = getCodec();
 	}
 
 	// ******************** PARSE ********************
 	@Override
-	protected LocalDateTime asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
-		return LocalDateTime.parse(text, formatter);
+	protected LocalTime asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
+		return asSingleObject(metadata, text, 0, text.length(), metaClass);
+	}
+
+	@Override
+	protected LocalTime asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		LocalDateTime parsed = codec.parse(text, beginIndex, endIndex);
+		if (parsed != null) {
+			ZoneOffset offset = codec.parseOffset(text, beginIndex);
+			return offset != null ? toUtc(parsed.toLocalTime().atOffset(offset)) : parsed.toLocalTime();
+		}
+		CharSequence region = text.subSequence(beginIndex, endIndex);
+		return codec.hasOffset() ? toUtc(OffsetTime.parse(region, formatter)) : LocalTime.parse(region, formatter);
+	}
+
+	private static LocalTime toUtc(OffsetTime time) {
+		return time.withOffsetSameInstant(ZoneOffset.UTC).toLocalTime();
 	}
 
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
-		return ((LocalTime) obj).format(formatter);
+		if (meta.getSize() == codec.length()) {
+			StringBuilder sb = new StringBuilder(codec.length());
+			if (codec.append(sb, (LocalTime) obj)) {
+				return sb.toString();
+			}
+		}
+		// offset patterns write the value as UTC
+		return codec.hasOffset() ? ((LocalTime) obj).atOffset(ZoneOffset.UTC).format(formatter)
+				: ((LocalTime) obj).format(formatter);
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		if (meta.getSize() != codec.length() || !codec.append(out, (LocalTime) obj)) {
+			super.serializeElementTo(meta, obj, out);
+		}
 	}
 
 	protected abstract DateTimeFormatter getFormatter();
+
+	/**
+	 * @return The fixed-width codec of the time (the text of the
+	 *         formatter without fractions of seconds).
+	 */
+	protected abstract DateTimeCodec getCodec();
 }
@@ -22,11 +22,15 @@ import br.net.buzu.model.StaticMetadata;
 import br.net.buzu4j.parsing.simple.AbstractSimpleMapper;
 
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Abstract ValueParser to Timestamp
+ * Abstract ValueParser to Timestamp. Texts matching the fixed pattern of the
+ * {@link DateTimeCodec} are parsed and written with no formatter. Other texts
+ * use the <code>DateTimeFormatter</code>. If the pattern has an offset the
+ * parsed timestamp is converted to UTC, the offset of the serialized text.
  *
  * @author Douglas Siviotti
  * @since 1.0
@@ -34,23 +38,63 @@ import java.time.format.DateTimeFormatter;
 public abstract class AbstractTimestampMapper extends AbstractSimpleMapper {
 
 	private final DateTimeFormatter formatter;
+	private final DateTimeCodec codec;
 
 	public AbstractTimestampMapper() {
 		formatter = getFormatter();
+		codec = getCodec();
 	}
 
 	// ******************** PARSE ********************
 	@Override
-	protected LocalTime asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
-		return LocalTime.parse(text, formatter);
+	protected LocalDateTime asSingleObject(StaticMetadata metadata, String text, Metaclass metaClass) {
+		return asSingleObject(metadata, text, 0, text.length(), metaClass);
+	}
+
+	@Override
+	protected LocalDateTime asSingleObject(StaticMetadata metadata, CharSequence text, int beginIndex, int endIndex,
+			Metaclass metaClass) {
+		LocalDateTime parsed = codec.parse(text, beginIndex, endIndex);
+		if (parsed != null) {
+			ZoneOffset offset = codec.parseOffset(text, beginIndex);
+			return offset != null ? toUtc(parsed.atOffset(offset)) : parsed;
+		}
+		CharSequence region = text.subSequence(beginIndex, endIndex);
+		return codec.hasOffset() ? toUtc(OffsetDateTime.parse(region, formatter))
+				: LocalDateTime.parse(region, formatter);
+	}
+
+	private static LocalDateTime toUtc(OffsetDateTime dateTime) {
+		return dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
 	}
 
 	// ******************** SERIALIZE ********************
 
 	@Override
 	protected String asStringFromNotNull(MetaInfo meta, Object obj) {
-		return ((LocalDateTime) obj).format(formatter);
+		if (meta.getSize() == codec.length()) {
+			StringBuilder sb = new StringBuilder(codec.length());
+			if (codec.append(sb, (LocalDateTime) obj)) {
+				return sb.toString();
+			}
+		}
+		// offset patterns write the value as UTC
+		return codec.hasOffset() ? ((LocalDateTime) obj).atOffset(ZoneOffset.UTC).format(formatter)
+				: ((LocalDateTime) obj).format(formatter);
+	}
+
+	@Override
+	protected void serializeElementTo(MetaInfo meta, Object obj, StringBuilder out) {
+		if (meta.getSize() != codec.length() || !codec.append(out, (LocalDateTime) obj)) {
+			super.serializeElementTo(meta, obj, out);
+		}
 	}
 
 	protected abstract DateTimeFormatter getFormatter();
+
+	/**
+	 * @return The fixed-width codec of the timestamp (the text of the
+	 *         formatter without fractions of seconds).
+	 */
+	protected abstract DateTimeCodec getCodec();
 }
@@ -34,4 +34,10 @@ public class DateMapper extends AbstractDateMapper {
 	protected DateTimeFormatter getFormatter() {
 		return DateTimeFormatter.BASIC_ISO_DATE;
 	}
+
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("yyyyMMdd");
+	}
+
 }
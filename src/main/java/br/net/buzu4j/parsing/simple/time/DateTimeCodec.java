@@ -0,0 +1,316 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.simple.time;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * [IMMUTABLE] Codec of a fixed-width date/time pattern. The digits are read and
+ * written at fixed positions with no formatter, so a single instance can be
+ * shared by all threads.
+ * <p>
+ * Pattern letters (a subset of <code>SimpleDateFormat</code>):
+ * <code>yyyy MM dd HH mm ss SSS</code> and <code>XXX</code> for the offset
+ * <code>&plusmn;HH:mm</code>. Any other char is a literal and text between
+ * single quotes (e.g. <code>'T'</code>) is quoted literal.
+ * <p>
+ * The codec is a fast path: a text that does not match the pattern exactly
+ * (e.g. a 'Z' offset or fractions of seconds) is not parsed (returns
+ * <code>null</code>) and the mapper uses its general formatter.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public final class DateTimeCodec {
+
+	static final String INVALID_PATTERN = "Invalid date/time pattern: ";
+
+	private static final char DIGIT = 0;
+	private static final char SIGN = 1;
+	private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+	private final String pattern;
+	private final char[] template;
+	private final int year;
+	private final int month;
+	private final int day;
+	private final int hour;
+	private final int minute;
+	private final int second;
+	private final int millis;
+	private final int offset;
+
+	private DateTimeCodec(String pattern) {
+		super();
+		this.pattern = pattern;
+		StringBuilder sb = new StringBuilder(pattern.length());
+		// positions of the fields in the template (-1 = absent)
+		int year = -1;
+		int month = -1;
+		int day = -1;
+		int hour = -1;
+		int minute = -1;
+		int second = -1;
+		int millis = -1;
+		int offset = -1;
+		int i = 0;
+		char c;
+		while (i < pattern.length()) {
+			c = pattern.charAt(i);
+			if (c == '\'') {
+				int end = pattern.indexOf('\'', i + 1);
+				if (end < 0) {
+					throw new IllegalArgumentException(INVALID_PATTERN + pattern);
+				}
+				sb.append(pattern, i + 1, end);
+				i = end + 1;
+			} else if (pattern.startsWith("yyyy", i)) {
+				year = field(sb, 4);
+				i += 4;
+			} else if (pattern.startsWith("MM", i)) {
+				month = field(sb, 2);
+				i += 2;
+			} else if (pattern.startsWith("dd", i)) {
+				day = field(sb, 2);
+				i += 2;
+			} else if (pattern.startsWith("HH", i)) {
+				hour = field(sb, 2);
+				i += 2;
+			} else if (pattern.startsWith("mm", i)) {
+				minute = field(sb, 2);
+				i += 2;
+			} else if (pattern.startsWith("ss", i)) {
+				second = field(sb, 2);
+				i += 2;
+			} else if (pattern.startsWith("SSS", i)) {
+				millis = field(sb, 3);
+				i += 3;
+			} else if (pattern.startsWith("XXX", i)) {
+				offset = sb.length();
+				sb.append(SIGN).append(DIGIT).append(DIGIT).append(':').append(DIGIT).append(DIGIT);
+				i += 3;
+			} else if (Character.isLetter(c)) {
+				throw new IllegalArgumentException(INVALID_PATTERN + pattern);
+			} else {
+				sb.append(c);
+				i++;
+			}
+		}
+		this.template = sb.toString().toCharArray();
+		this.year = year;
+		this.month = month;
+		this.day = day;
+		this.hour = hour;
+		this.minute = minute;
+		this.second = second;
+		this.millis = millis;
+		this.offset = offset;
+	}
+
+	/**
+	 * @param pattern The fixed-width pattern (e.g.
+	 *                <code>yyyy-MM-dd'T'HH:mm:ss</code>).
+	 * @return The codec of the pattern.
+	 * @throws IllegalArgumentException If the pattern has an unsupported letter.
+	 */
+	public static DateTimeCodec of(String pattern) {
+		return new DateTimeCodec(Objects.requireNonNull(pattern, "'pattern' cannot be null"));
+	}
+
+	// **************************************************
+	// Parse
+	// **************************************************
+
+	/**
+	 * Parses the text between <code>beginIndex</code> and
+	 * <code>endIndex</code>. Absent date fields are 1970-01-01 and absent time
+	 * fields are zero.
+	 * 
+	 * @return The date/time or <code>null</code> if the text does not match the
+	 *         pattern.
+	 * @throws java.time.DateTimeException If a field is out of range.
+	 */
+	public LocalDateTime parse(CharSequence text, int beginIndex, int endIndex) {
+		if (!matches(text, beginIndex, endIndex)) {
+			return null;
+		}
+		LocalDate date = year < 0 ? EPOCH
+				: LocalDate.of(digits(text, beginIndex + year, 4), digits(text, beginIndex + month, 2),
+						digits(text, beginIndex + day, 2));
+		if (hour < 0) {
+			return date.atStartOfDay();
+		}
+		return date.atTime(digits(text, beginIndex + hour, 2), minute < 0 ? 0 : digits(text, beginIndex + minute, 2),
+				second < 0 ? 0 : digits(text, beginIndex + second, 2),
+				millis < 0 ? 0 : digits(text, beginIndex + millis, 3) * 1_000_000);
+	}
+
+	/**
+	 * Reads the offset of a text already matched by
+	 * {@link #parse(CharSequence, int, int)}.
+	 * 
+	 * @return The offset or <code>null</code> if the pattern has no offset.
+	 */
+	public ZoneOffset parseOffset(CharSequence text, int beginIndex) {
+		if (offset < 0) {
+			return null;
+		}
+		int hours = digits(text, beginIndex + offset + 1, 2);
+		int minutes = digits(text, beginIndex + offset + 4, 2);
+		return text.charAt(beginIndex + offset) == '-' ? ZoneOffset.ofHoursMinutes(-hours, -minutes)
+				: ZoneOffset.ofHoursMinutes(hours, minutes);
+	}
+
+	// **************************************************
+	// Format
+	// **************************************************
+
+	/**
+	 * Appends the date.
+	 * 
+	 * @see #append(StringBuilder, LocalDateTime, ZoneOffset)
+	 */
+	public boolean append(StringBuilder out, LocalDate date) {
+		return append(out, date.atStartOfDay(), null);
+	}
+
+	/**
+	 * Appends the time.
+	 * 
+	 * @see #append(StringBuilder, LocalDateTime, ZoneOffset)
+	 */
+	public boolean append(StringBuilder out, LocalTime time) {
+		return append(out, EPOCH.atTime(time), null);
+	}
+
+	/**
+	 * Appends the date/time.
+	 * 
+	 * @see #append(StringBuilder, LocalDateTime, ZoneOffset)
+	 */
+	public boolean append(StringBuilder out, LocalDateTime dateTime) {
+		return append(out, dateTime, null);
+	}
+
+	/**
+	 * Appends exactly {@link #length()} chars. Fields absent in the pattern are
+	 * ignored.
+	 * 
+	 * @param out      The output.
+	 * @param dateTime The value.
+	 * @param zone     The offset written by <code>XXX</code>. <code>null</code>
+	 *                 means UTC.
+	 * @return <code>false</code> if the value does not fit the pattern (year
+	 *         out of 0-9999). Nothing is appended.
+	 */
+	public boolean append(StringBuilder out, LocalDateTime dateTime, ZoneOffset zone) {
+		if (year >= 0 && (dateTime.getYear() < 0 || dateTime.getYear() > 9999)) {
+			return false;
+		}
+		int start = out.length();
+		out.append(template);
+		put(out, start, year, dateTime.getYear(), 4);
+		put(out, start, month, dateTime.getMonthValue(), 2);
+		put(out, start, day, dateTime.getDayOfMonth(), 2);
+		put(out, start, hour, dateTime.getHour(), 2);
+		put(out, start, minute, dateTime.getMinute(), 2);
+		put(out, start, second, dateTime.getSecond(), 2);
+		put(out, start, millis, dateTime.getNano() / 1_000_000, 3);
+		if (offset >= 0) {
+			int seconds = zone != null ? zone.getTotalSeconds() : 0;
+			out.setCharAt(start + offset, seconds < 0 ? '-' : '+');
+			seconds = Math.abs(seconds);
+			put(out, start, offset + 1, seconds / 3600, 2);
+			put(out, start, offset + 4, (seconds / 60) % 60, 2);
+		}
+		return true;
+	}
+
+	/**
+	 * @return The number of chars of the pattern.
+	 */
+	public int length() {
+		return template.length;
+	}
+
+	public boolean hasOffset() {
+		return offset >= 0;
+	}
+
+	public String pattern() {
+		return pattern;
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private static int field(StringBuilder sb, int width) {
+		int position = sb.length();
+		for (int i = 0; i < width; i++) {
+			sb.append(DIGIT);
+		}
+		return position;
+	}
+
+	private boolean matches(CharSequence text, int beginIndex, int endIndex) {
+		if (endIndex - beginIndex != template.length) {
+			return false;
+		}
+		char t;
+		char c;
+		for (int i = 0; i < template.length; i++) {
+			t = template[i];
+			c = text.charAt(beginIndex + i);
+			if (t == DIGIT) {
+				if (c < '0' || c > '9') {
+					return false;
+				}
+			} else if (t == SIGN) {
+				if (c != '+' && c != '-') {
+					return false;
+				}
+			} else if (c != t) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int digits(CharSequence text, int index, int width) {
+		int value = 0;
+		for (int i = 0; i < width; i++) {
+			value = value * 10 + (text.charAt(index + i) - '0');
+		}
+		return value;
+	}
+
+	private static void put(StringBuilder out, int start, int position, int value, int width) {
+		if (position < 0) {
+			return;
+		}
+		for (int i = width - 1; i >= 0; i--) {
+			out.setCharAt(start + position + i, (char) ('0' + value % 10));
+			value /= 10;
+		}
+	}
+
+}
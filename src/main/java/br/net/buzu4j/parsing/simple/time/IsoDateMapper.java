@@ -34,4 +34,10 @@ public class IsoDateMapper extends AbstractDateMapper {
 	protected DateTimeFormatter getFormatter() {
 		return DateTimeFormatter.ISO_DATE;
 	}
+
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("yyyy-MM-dd");
+	}
+
 }
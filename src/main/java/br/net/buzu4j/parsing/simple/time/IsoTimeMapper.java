@@ -35,4 +35,9 @@ public class IsoTimeMapper extends AbstractTimeMapper {
 		return DateTimeFormatter.ISO_LOCAL_TIME;
 	}
 
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("HH:mm:ss");
+	}
+
 }
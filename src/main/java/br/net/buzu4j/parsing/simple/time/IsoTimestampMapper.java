@@ -35,4 +35,9 @@ public class IsoTimestampMapper extends AbstractTimestampMapper {
 		return DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 	}
 
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("yyyy-MM-dd'T'HH:mm:ss");
+	}
+
 }
@@ -37,5 +37,9 @@ public class TimeAndMillisMapper extends AbstractTimeMapper {
 		return DateTimeFormatter.ofPattern(FORMAT);
 	}
 
-	
- }
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of(FORMAT);
+	}
+
+}
@@ -37,4 +37,9 @@ public class TimestampMapper extends AbstractTimestampMapper {
 		return DateTimeFormatter.ofPattern(FORMAT);
 	}
 
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of(FORMAT);
+	}
+
 }
@@ -34,4 +34,10 @@ public class UtcDateMapper extends AbstractDateMapper {
 	protected DateTimeFormatter getFormatter() {
 		return DateTimeFormatter.ISO_OFFSET_DATE;
 	}
+
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("yyyy-MM-ddXXX");
+	}
+
 }
@@ -35,4 +35,9 @@ public class UtcTimeMapper extends AbstractTimeMapper {
 		return DateTimeFormatter.ISO_OFFSET_TIME;
 	}
 
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("HH:mm:ssXXX");
+	}
+
 }
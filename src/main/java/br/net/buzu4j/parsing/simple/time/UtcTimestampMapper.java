@@ -35,4 +35,9 @@ public class UtcTimestampMapper extends AbstractTimestampMapper {
 		return DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 	}
 
+	@Override
+	protected DateTimeCodec getCodec() {
+		return DateTimeCodec.of("yyyy-MM-dd'T'HH:mm:ssXXX");
+	}
+
 }
@@ -0,0 +1,203 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.plan;
+
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+import br.net.buzu4j.parsing.complex.ComplexMapper;
+import br.net.buzu4j.parsing.generated.GeneratedMapper;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Compiled mapping plan: the Metaclass bound to a target class, the
+ * StaticMetadata of the header (when it is known) and the PayloadMapper tree
+ * created for the Metaclass. A plan is imutable and can be shared by many
+ * threads, so a warm request only maps the payload.
+ * <p>
+ * A mapper tree with custom mappers (see <code>PplParser</code>) that are not
+ * scoped by the factory is not shared: {@link #forCall()} creates a new tree
+ * on each call, as if the plan was not cached.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see PlanKey
+ */
+public class MappingPlan {
+
+	private final Metaclass metaclass;
+	private final StaticMetadata metadata;
+	private final PayloadMapper mapper;
+	private final Function<Metaclass, PayloadMapper> mapperFactory;
+
+	/**
+	 * Complete constructor.
+	 *
+	 * @param metaclass The Metaclass [CANNOT BE NULL].
+	 * @param metadata  The StaticMetadata or <code>null</code> if the metadata
+	 *                  depends on the serialized value.
+	 * @param mapper    The PayloadMapper created for the Metaclass [CANNOT BE
+	 *                  NULL].
+	 */
+	public MappingPlan(Metaclass metaclass, StaticMetadata metadata, PayloadMapper mapper) {
+		this(metaclass, metadata, mapper, null);
+	}
+
+	/**
+	 * @param metaclass     The Metaclass [CANNOT BE NULL].
+	 * @param metadata      The StaticMetadata or <code>null</code>.
+	 * @param mapper        The PayloadMapper created for the Metaclass [CANNOT
+	 *                      BE NULL].
+	 * @param mapperFactory The factory of a new mapper tree for each call or
+	 *                      <code>null</code> if the mapper can be shared.
+	 */
+	public MappingPlan(Metaclass metaclass, StaticMetadata metadata, PayloadMapper mapper,
+			Function<Metaclass, PayloadMapper> mapperFactory) {
+		super();
+		this.metaclass = Objects.requireNonNull(metaclass, "'metaclass' cannot be null");
+		this.metadata = metadata;
+		this.mapper = Objects.requireNonNull(mapper, "'mapper' cannot be null");
+		this.mapperFactory = mapperFactory;
+	}
+
+	/**
+	 * Indicates if the Metaclass or some descendant has a custom mapper.
+	 */
+	public static boolean hasCustomMapper(Metaclass metaclass) {
+		if (metaclass.hasCustomParser()) {
+			return true;
+		}
+		if (metaclass.hasChildren()) {
+			List<Metaclass> children = metaclass.children();
+			for (Metaclass child : children) {
+				if (hasCustomMapper(child)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	public <T> T parse(String payload) {
+		return mapper.parse(metadata, payload, metaclass);
+	}
+
+	/**
+	 * Parses the payload in place.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T parse(CharSequence text, int offset, int length) {
+		return (T) AbstractPositionalMapper.parseRegion(mapper, metadata, text, offset, length, metaclass);
+	}
+
+	/**
+	 * Parses the records of a multiple payload in parallel when the mapper is a
+	 * <code>ComplexMapper</code> (or a generated mapper with a fallback).
+	 * Otherwise the payload is parsed in place by the calling thread.
+	 * 
+	 * @see ComplexMapper#parseParallel(StaticMetadata, CharSequence, int, int,
+	 *      Metaclass, ForkJoinPool, int)
+	 */
+	public <T> T parseParallel(CharSequence text, int offset, int length, ForkJoinPool pool, int threshold) {
+		ComplexMapper complex = complexMapper();
+		if (complex == null) {
+			return parse(text, offset, length);
+		}
+		return complex.parseParallel(metadata, text, offset, length, metaclass, pool, threshold);
+	}
+
+	public String serialize(StaticMetadata metadata, Object source) {
+		return mapper.serialize(metadata, source, metaclass);
+	}
+
+	/**
+	 * Serializes the source straight into the output.
+	 */
+	public void serializeTo(StaticMetadata metadata, Object source, StringBuilder out) {
+		AbstractPositionalMapper.serializeTo(mapper, metadata, source, metaclass, out);
+	}
+
+	/**
+	 * Serializes the records of a multiple source in parallel when the mapper
+	 * is a <code>ComplexMapper</code> (or a generated mapper with a fallback).
+	 * Otherwise the source is serialized by the calling thread.
+	 * 
+	 * @see ComplexMapper#serializeParallel(StaticMetadata, Object, Metaclass,
+	 *      StringBuilder, ForkJoinPool, int)
+	 */
+	public void serializeParallel(StaticMetadata metadata, Object source, StringBuilder out, ForkJoinPool pool,
+			int threshold) {
+		ComplexMapper complex = complexMapper();
+		if (complex == null) {
+			serializeTo(metadata, source, out);
+		} else {
+			complex.serializeParallel(metadata, source, metaclass, out, pool, threshold);
+		}
+	}
+
+	private ComplexMapper complexMapper() {
+		if (mapper instanceof ComplexMapper) {
+			return (ComplexMapper) mapper;
+		}
+		if (mapper instanceof GeneratedMapper) {
+			return ((GeneratedMapper) mapper).fallback();
+		}
+		return null;
+	}
+
+	/**
+	 * @return This plan if the mapper tree can be shared or a copy with a new
+	 *         mapper tree (used by a single call).
+	 */
+	public MappingPlan forCall() {
+		return mapperFactory == null ? this : new MappingPlan(metaclass, metadata, mapperFactory.apply(metaclass));
+	}
+
+	public boolean isShared() {
+		return mapperFactory == null;
+	}
+
+	public boolean isStatic() {
+		return metadata != null;
+	}
+
+	// **************************************************
+	// get/set
+	// **************************************************
+
+	public Metaclass metaclass() {
+		return metaclass;
+	}
+
+	public StaticMetadata metadata() {
+		return metadata;
+	}
+
+	public PayloadMapper mapper() {
+		return mapper;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.plan;
+
+import java.util.Objects;
+
+/**
+ * Key of a MappingPlan: the target class, the element class, the metadata
+ * header text and the projection of the parsed fields. Serialization plans do
+ * not depend on a header and use <code>null</code>.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see MappingPlan
+ */
+public final class PlanKey {
+
+	private final Class<?> type;
+	private final Class<?> elementType;
+	private final String header;
+	private final Projection projection;
+	private final int hash;
+
+	public PlanKey(Class<?> type, Class<?> elementType, String header) {
+		this(type, elementType, header, Projection.ALL);
+	}
+
+	/**
+	 * Complete constructor.
+	 * 
+	 * @param type        The target class [CANNOT BE NULL].
+	 * @param elementType The element class [CANNOT BE NULL].
+	 * @param header      The metadata header text or <code>null</code>.
+	 * @param projection  The projection of the parsed fields [CANNOT BE NULL].
+	 */
+	public PlanKey(Class<?> type, Class<?> elementType, String header, Projection projection) {
+		super();
+		this.type = Objects.requireNonNull(type, "'type' cannot be null");
+		this.elementType = Objects.requireNonNull(elementType, "'elementType' cannot be null");
+		this.header = header;
+		this.projection = Objects.requireNonNull(projection, "'projection' cannot be null");
+		this.hash = Objects.hash(type, elementType, header, projection);
+	}
+
+	public Class<?> type() {
+		return type;
+	}
+
+	public Class<?> elementType() {
+		return elementType;
+	}
+
+	public String header() {
+		return header;
+	}
+
+	public Projection projection() {
+		return projection;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof PlanKey) {
+			PlanKey other = (PlanKey) obj;
+			return hash == other.hash && type.equals(other.type) && elementType.equals(other.elementType)
+					&& Objects.equals(header, other.header) && projection.equals(other.projection);
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return type.getSimpleName() + "<" + elementType.getSimpleName() + ">" + (header != null ? header : "")
+				+ (projection.isAll() ? "" : "[" + projection + "]");
+	}
+
+}
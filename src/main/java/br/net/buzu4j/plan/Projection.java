@@ -0,0 +1,212 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.plan;
+
+import br.net.buzu.lang.Token;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.context.BasicParserFactory;
+import br.net.buzu4j.context.ParserFactory;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.complex.ComplexMapper;
+import br.net.buzu4j.parsing.complex.SkipMapper;
+import br.net.buzu4j.util.Instantiators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Selection of the field paths to be parsed (e.g.
+ * <code>Projection.of("numero", "itens.valor")</code>) by the names of the
+ * metadata. The fields out of the projection are skipped by the parser and
+ * keep the default value of the type. Selecting a complex field selects its
+ * whole subtree. A projection is imutable and is part of the {@link PlanKey}.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see SkipMapper
+ */
+public final class Projection {
+
+	/**
+	 * All fields (no projection).
+	 */
+	public static final Projection ALL = new Projection(null);
+
+	private static final String PATH_SEP = String.valueOf(Token.PATH_SEP);
+
+	// field name -> projection of the field (ALL if the field is selected)
+	private final Map<String, Projection> children;
+	private final int hash;
+
+	private Projection(Map<String, Projection> children) {
+		super();
+		this.children = children != null ? Collections.unmodifiableMap(children) : null;
+		this.hash = Objects.hashCode(children);
+	}
+
+	/**
+	 * Creates a projection of the field paths.
+	 * 
+	 * @param paths The paths of the selected fields. The names of a path are
+	 *              separated by '.' [CANNOT BE EMPTY].
+	 * @return The Projection of the paths.
+	 */
+	public static Projection of(String... paths) {
+		Objects.requireNonNull(paths, "'paths' cannot be null");
+		if (paths.length == 0) {
+			throw new IllegalArgumentException("A projection requires at least one path");
+		}
+		Map<String, Object> tree = new TreeMap<>();
+		for (String path : paths) {
+			if (path == null || path.isEmpty()) {
+				throw new IllegalArgumentException("Invalid projection path: '" + path + "'");
+			}
+			add(tree, path.split("\\" + PATH_SEP, -1), 0, path);
+		}
+		return create(tree);
+	}
+
+	/*
+	 * A node of the tree is a Map of names (partial selection) or ALL.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void add(Map<String, Object> tree, String[] names, int index, String path) {
+		String name = names[index];
+		if (name.isEmpty()) {
+			throw new IllegalArgumentException("Invalid projection path: '" + path + "'");
+		}
+		Object node = tree.get(name);
+		if (index == names.length - 1) {
+			tree.put(name, ALL);
+		} else if (node != ALL) {
+			if (node == null) {
+				node = new TreeMap<String, Object>();
+				tree.put(name, node);
+			}
+			add((Map<String, Object>) node, names, index + 1, path);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Projection create(Map<String, Object> tree) {
+		Map<String, Projection> children = new TreeMap<>();
+		for (Map.Entry<String, Object> entry : tree.entrySet()) {
+			children.put(entry.getKey(), entry.getValue() == ALL ? ALL
+					: create((Map<String, Object>) entry.getValue()));
+		}
+		return new Projection(children);
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	public boolean isAll() {
+		return children == null;
+	}
+
+	/**
+	 * @param name The name of a field.
+	 * @return The projection of the field: {@link #ALL} if the field is
+	 *         selected, a partial projection if some fields of its subtree are
+	 *         selected or <code>null</code> if the field is not selected.
+	 */
+	public Projection child(String name) {
+		return children == null ? ALL : children.get(name);
+	}
+
+	/**
+	 * Creates the mapper tree of the projection. The children out of the
+	 * projection are mapped by the {@link SkipMapper}.
+	 * 
+	 * @param factory   The factory of the mappers of the selected fields.
+	 * @param metaclass The Metaclass of the target type.
+	 * @return The PayloadMapper of the projection.
+	 */
+	public PayloadMapper createMapper(ParserFactory factory, Metaclass metaclass) {
+		if (isAll()) {
+			return factory.create(metaclass);
+		}
+		if (!metaclass.kind().isComplex() || metaclass.hasCustomParser()) {
+			throw new IllegalArgumentException("The field '" + metaclass.info().getName()
+					+ "' has no children to project: " + this);
+		}
+		for (String name : children.keySet()) {
+			if (metaclass.getChildByName(name) == null) {
+				throw new IllegalArgumentException("Field '" + name + "' is missing in the Metaclass of '"
+						+ metaclass.elementType() + "':\n" + metaclass.toTree(0));
+			}
+		}
+		List<Metaclass> metaclassChildren = metaclass.children();
+		List<PayloadMapper> mappers = new ArrayList<>(metaclassChildren.size());
+		Projection projection;
+		for (Metaclass child : metaclassChildren) {
+			projection = children.get(child.info().getName());
+			mappers.add(projection != null ? projection.createMapper(factory, child) : SkipMapper.INSTANCE);
+		}
+		Instantiators instantiators = factory instanceof BasicParserFactory
+				? ((BasicParserFactory) factory).instantiators()
+				: Instantiators.DEFAULT;
+		return new ComplexMapper(mappers, instantiators);
+	}
+
+	// **************************************************
+	// Object
+	// **************************************************
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof Projection) {
+			Projection other = (Projection) obj;
+			return hash == other.hash && Objects.equals(children, other.children);
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		if (isAll()) {
+			return "*";
+		}
+		List<String> paths = new ArrayList<>();
+		paths(paths, "");
+		return String.join(",", paths);
+	}
+
+	private void paths(List<String> paths, String prefix) {
+		for (Map.Entry<String, Projection> entry : children.entrySet()) {
+			if (entry.getValue().isAll()) {
+				paths.add(prefix + entry.getKey());
+			} else {
+				entry.getValue().paths(paths, prefix + entry.getKey() + PATH_SEP);
+			}
+		}
+	}
+
+}
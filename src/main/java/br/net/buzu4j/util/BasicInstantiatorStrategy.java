@@ -0,0 +1,200 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.util;
+
+import br.net.buzu.exception.PplReflectionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Default InstantiatorStrategy with the same precedence of the former
+ * <code>Reflect.newInstance</code>:<BR>
+ * 1 - The default constructor (MethodHandle)<BR>
+ * 2 - If the type is Serializable, the serialization constructor (as the JDK
+ * deserialization does) or a precomputed serialization stream<BR>
+ * 3 - The constructor with less parameters and precomputed initial params
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class BasicInstantiatorStrategy implements InstantiatorStrategy {
+
+	public static final BasicInstantiatorStrategy INSTANCE = new BasicInstantiatorStrategy();
+
+	private static final MethodType NEW_OBJECT = MethodType.methodType(Object.class);
+	private static final MethodType NEW_OBJECT_WITH_PARAMS = MethodType.methodType(Object.class, Object[].class);
+
+	@Override
+	public Instantiator instantiatorOf(Class<?> type) {
+		if (type.isInterface()) {
+			return fromInterface(type);
+		}
+		Constructor<?> c = Reflect.getMostSimpleConstructor(type);
+		if (!Modifier.isPublic(c.getModifiers())) {
+			c.setAccessible(true);
+		}
+		if (c.getParameterCount() == 0) {
+			return fromConstructor(type, c, null);
+		}
+		if (Serializable.class.isAssignableFrom(type)) {
+			return fromSerialization(type);
+		}
+		return fromConstructor(type, c, Reflect.getInitialParams(c));
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	private Instantiator fromInterface(Class<?> type) {
+		if (List.class.equals(type)) {
+			return ArrayList::new;
+		} else if (Set.class.equals(type) || Collection.class.equals(type)) {
+			return HashSet::new;
+		} else if (Map.class.equals(type)) {
+			return HashMap::new;
+		}
+		return () -> {
+			throw new PplReflectionException("Is not possible create a new instance from the interface " + type);
+		};
+	}
+
+	private Instantiator fromConstructor(Class<?> type, Constructor<?> c, Object[] initialParams) {
+		MethodHandle handle;
+		try {
+			handle = MethodHandles.lookup().unreflectConstructor(c);
+		} catch (IllegalAccessException e) {
+			throw new PplReflectionException(e.getMessage(), e);
+		}
+		if (initialParams == null) {
+			MethodHandle exact = handle.asType(NEW_OBJECT);
+			return () -> {
+				try {
+					return exact.invokeExact();
+				} catch (Throwable e) {
+					throw new PplReflectionException("Cannot create " + type.getName(), e);
+				}
+			};
+		}
+		MethodHandle spread = handle.asSpreader(Object[].class, initialParams.length).asType(NEW_OBJECT_WITH_PARAMS);
+		return () -> {
+			try {
+				return spread.invokeExact(initialParams);
+			} catch (Throwable e) {
+				throw new PplReflectionException("Cannot create " + type.getName(), e);
+			}
+		};
+	}
+
+	/*
+	 * The serialization constructor runs only the nullary constructor of the
+	 * first non serializable superclass, like the JDK deserialization.
+	 */
+	private Instantiator fromSerialization(Class<?> type) {
+		Constructor<?> c = serializationConstructor(type);
+		if (c != null) {
+			return () -> {
+				try {
+					return c.newInstance();
+				} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+					throw new PplReflectionException("Cannot create " + type.getName() + " by JDK serialization", e);
+				}
+			};
+		}
+		byte[] data = serializationStream(type);
+		return () -> {
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+				return in.readObject();
+			} catch (IOException e) {
+				throw new PplReflectionException("Cannot create " + type.getName() + " by JDK serialization", e);
+			} catch (ClassNotFoundException e) {
+				throw new PplReflectionException("Cannot find class " + e.getMessage());
+			}
+		};
+	}
+
+	/*
+	 * sun.reflect.ReflectionFactory (Java 8: rt.jar, Java 9+: jdk.unsupported) by
+	 * reflection. Returns null if it is not available.
+	 */
+	private static Constructor<?> serializationConstructor(Class<?> type) {
+		try {
+			Class<?> parent = type;
+			while (Serializable.class.isAssignableFrom(parent)) {
+				parent = parent.getSuperclass();
+				if (parent == null) {
+					return null;
+				}
+			}
+			Constructor<?> parentConstructor = parent.getDeclaredConstructor();
+			Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+			Object factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+			Method newConstructor = factoryClass.getMethod("newConstructorForSerialization", Class.class,
+					Constructor.class);
+			Constructor<?> c = (Constructor<?>) newConstructor.invoke(factory, type, parentConstructor);
+			if (c != null) {
+				c.setAccessible(true);
+			}
+			return c;
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			return null;
+		}
+	}
+
+	// From XStream
+	private static byte[] serializationStream(Class<?> type) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream stream = new DataOutputStream(bytes);
+			stream.writeShort(ObjectStreamConstants.STREAM_MAGIC);
+			stream.writeShort(ObjectStreamConstants.STREAM_VERSION);
+			stream.writeByte(ObjectStreamConstants.TC_OBJECT);
+			stream.writeByte(ObjectStreamConstants.TC_CLASSDESC);
+			stream.writeUTF(type.getName());
+			stream.writeLong(ObjectStreamClass.lookup(type).getSerialVersionUID());
+			stream.writeByte(2); // classDescFlags (2 = Serializable)
+			stream.writeShort(0); // field size
+			stream.writeByte(ObjectStreamConstants.TC_ENDBLOCKDATA);
+			stream.writeByte(ObjectStreamConstants.TC_NULL);
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new PplReflectionException("Cannot create " + type.getName() + " by JDK serialization", e);
+		}
+	}
+
+}
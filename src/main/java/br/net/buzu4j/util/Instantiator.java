@@ -0,0 +1,35 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.util;
+
+/**
+ * Creates new instances of a specific type. Instantiators are resolved once
+ * per type by an {@link InstantiatorStrategy} and cached by
+ * {@link Instantiators}, so they must be thread safe.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface Instantiator {
+
+	/**
+	 * @return A new instance of the type.
+	 */
+	Object newInstance();
+
+}
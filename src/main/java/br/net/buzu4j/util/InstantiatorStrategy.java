@@ -0,0 +1,39 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.util;
+
+/**
+ * Strategy to resolve the {@link Instantiator} of a type. Frameworks can supply
+ * their own strategy (e.g. a DI container) to a context by
+ * <code>ContextBuilder.instantiatorStrategy(InstantiatorStrategy)</code>.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see BasicInstantiatorStrategy
+ */
+@FunctionalInterface
+public interface InstantiatorStrategy {
+
+	/**
+	 * Resolves the Instantiator of a type. Called only once per type.
+	 * 
+	 * @param type The type to be instantiated.
+	 * @return The Instantiator of the type.
+	 */
+	Instantiator instantiatorOf(Class<?> type);
+
+}
@@ -0,0 +1,75 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.util;
+
+import java.util.Objects;
+
+/**
+ * Cache of the {@link Instantiator} of each type resolved by one
+ * {@link InstantiatorStrategy}. Each context (ParserFactory) has its own
+ * instance, so different strategies can live in the same JVM.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see BasicInstantiatorStrategy
+ */
+public final class Instantiators {
+
+	/** Instantiators of the {@link BasicInstantiatorStrategy}. */
+	public static final Instantiators DEFAULT = new Instantiators(BasicInstantiatorStrategy.INSTANCE);
+
+	private final InstantiatorStrategy strategy;
+	private final ClassValue<Instantiator> instantiators;
+
+	/**
+	 * @param strategy The strategy [CANNOT BE NULL].
+	 */
+	public Instantiators(InstantiatorStrategy strategy) {
+		super();
+		this.strategy = Objects.requireNonNull(strategy, "'strategy' cannot be null");
+		this.instantiators = new ClassValue<Instantiator>() {
+			@Override
+			protected Instantiator computeValue(Class<?> type) {
+				return strategy.instantiatorOf(type);
+			}
+		};
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Returns the cached Instantiator of the type, resolved by the strategy on
+	 * the first call.
+	 */
+	public Instantiator instantiatorOf(Class<?> type) {
+		return instantiators.get(type);
+	}
+
+	/**
+	 * Creates a new instance of the type.
+	 */
+	public Object newInstance(Class<?> type) {
+		return instantiators.get(type).newInstance();
+	}
+
+	public InstantiatorStrategy strategy() {
+		return strategy;
+	}
+
+}
@@ -182,47 +182,25 @@ public class Reflect {
 	/**
 	 * Creates a new instance from a elementType.
 	 * <P>
-	 * Constructor Strategy Precedence:<BR>
-	 * 1 - Try the default constructor <BR>
-	 * 2 - If the elementType is Serializable try unserialization<BR>
-	 * 3 - Use the constructor with less parameters
+	 * The instance is created by the {@link Instantiator} of the type, resolved
+	 * only once by the {@link BasicInstantiatorStrategy}. Contexts with other
+	 * strategy use their own {@link Instantiators}.
 	 * 
 	 * @param type
 	 *            The elementType
 	 * @return The new instance
+	 * @see BasicInstantiatorStrategy
 	 */
 	public static Object newInstance(Class<?> type) {
-		try {
-			if (type.isInterface()) {
-				return newInstanceFromInterface(type);
-			}
-			Constructor<?> c = getMostSimpleConstructor(type);
-			if (!Modifier.isPublic(c.getModifiers())) {
-				c.setAccessible(true);
-			}
-			if (c.getParameterCount() == 0) {
-				return c.newInstance();
-			}
-			if (Serializable.class.isAssignableFrom(type)) {
-				return instantiateUsingSerialization(type);
-			} else {
-				return c.newInstance(getInitialParams(c));
-			}
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-				| InvocationTargetException e) {
-			throw new PplReflectionException(e.getMessage(), e);
-		}
+		return Instantiators.DEFAULT.newInstance(type);
 	}
 
-	private static Object newInstanceFromInterface(Class<?> type) {
-		if (List.class.equals(type)) {
-			return new ArrayList<Object>();
-		} else if (Set.class.equals(type) || Collection.class.equals(type)) {
-			return new HashSet<Object>();
-		} else if (Map.class.equals(type)) {
-			return new HashMap<String, Object>();
-		}
-		throw new PplReflectionException("Is not possible create a new instance from the interface " + type);
+	/**
+	 * Returns the cached Instantiator of the type. Useful to create many
+	 * instances of the same type.
+	 */
+	public static Instantiator instantiatorOf(Class<?> type) {
+		return Instantiators.DEFAULT.instantiatorOf(type);
 	}
 
 	public static Object[] getInitialParams(Constructor<?> c) {
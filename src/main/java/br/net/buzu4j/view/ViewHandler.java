@@ -0,0 +1,78 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.view;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Handler of a view: decodes the field of a getter on the first call and
+ * keeps the value for the next calls.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see ViewPlan
+ */
+class ViewHandler implements InvocationHandler {
+
+	private static final Object NOT_DECODED = new Object();
+
+	private final ViewPlan<?> plan;
+	private final CharSequence text;
+	private final int offset;
+	private Object[] values;
+
+	ViewHandler(ViewPlan<?> plan, CharSequence text, int offset) {
+		super();
+		this.plan = plan;
+		this.text = text;
+		this.offset = offset;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		int slot = plan.slotOf(method);
+		if (slot < 0) {
+			return invokeObject(proxy, method, args);
+		}
+		if (values == null) {
+			values = new Object[plan.slotCount()];
+			Arrays.fill(values, NOT_DECODED);
+		}
+		Object value = values[slot];
+		if (value == NOT_DECODED) {
+			value = plan.decode(slot, text, offset);
+			values[slot] = value;
+		}
+		return value;
+	}
+
+	private Object invokeObject(Object proxy, Method method, Object[] args) {
+		switch (method.getName()) {
+		case "equals":
+			return proxy == args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "toString":
+			return plan.type().getSimpleName() + "@" + offset;
+		default:
+			throw new UnsupportedOperationException(method.toString());
+		}
+	}
+
+}
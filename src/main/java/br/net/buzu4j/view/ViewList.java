@@ -0,0 +1,68 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.view;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable List of the views of consecutive records. A view is created on
+ * each <code>get(index)</code> (flyweight), so the list does not keep any
+ * record.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see ViewPlan#list(CharSequence, int, int)
+ */
+class ViewList<T> extends AbstractList<T> implements RandomAccess {
+
+	private final ViewPlan<T> plan;
+	private final CharSequence text;
+	private final int offset;
+	private final int count;
+
+	ViewList(ViewPlan<T> plan, CharSequence text, int offset, int count) {
+		super();
+		this.plan = plan;
+		this.text = text;
+		this.offset = offset;
+		this.count = count;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+		}
+		return plan.view(text, offset + index * plan.recordSize());
+	}
+
+	@Override
+	public int size() {
+		return count;
+	}
+
+	@Override
+	public List<T> subList(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+		}
+		return new ViewList<>(plan, text, offset + fromIndex * plan.recordSize(), toIndex - fromIndex);
+	}
+
+}
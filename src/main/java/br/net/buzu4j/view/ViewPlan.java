@@ -0,0 +1,380 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.view;
+
+import br.net.buzu.annotation.PplMetadata;
+import br.net.buzu.exception.PplParseException;
+import br.net.buzu.exception.PplReflectionException;
+import br.net.buzu.lang.Syntax;
+import br.net.buzu.model.MetaInfo;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.api.MetaclassReader;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.context.JavaContext;
+import br.net.buzu4j.metaclass.SimpleMetaclass;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
+import br.net.buzu4j.util.Reflect;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static br.net.buzu.model.KindKt.kindOf;
+
+/**
+ * [STATELESS] Plan of the lazy views of the records of a payload. A view is a
+ * generated implementation (dynamic proxy) of an interface whose getters
+ * decode the field from the payload only when called. Each getter is bound to
+ * a child of the StaticMetadata by the name of the property
+ * (<code>getName()</code>, <code>isActive()</code> or <code>name()</code>)
+ * and the field is read from its offset in the record with the same mapper
+ * used to parse a POJO field of the return type. Getters that return an
+ * interface (or a List of an interface) of a complex field return nested
+ * views. A List of nested views has the occurrences of the record up to the
+ * last not null one: the padding records (only null chars) of the maxOccurs
+ * are not views. Interfaces with default methods are not supported.
+ * <p>
+ * A plan is imutable and can be shared by many threads. The views are not
+ * thread safe.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ * @see br.net.buzu4j.Buzu#view(String, Class)
+ */
+public class ViewPlan<T> {
+
+	static final String NOT_AN_INTERFACE = "A view requires an interface: ";
+	static final String NOT_A_GETTER = "A view supports only getters (no parameters): ";
+	static final String DEFAULT_METHOD = "A view does not support default methods: ";
+	static final String NOT_COMPLEX = "A view requires a complex metadata: ";
+	static final String MISSING_FIELD = "Field '%s' of %s is missing in the metadata:\n%s";
+	static final String NESTED_VIEWS = "Nested views require an interface or a List of an interface: ";
+	static final String UNSAFE_COLLECTION = "Unsafe collection on method '%s'. Use a generic elementType.";
+
+	private final Class<T> type;
+	private final StaticMetadata metadata;
+	private final int recordSize;
+	private final Constructor<?> proxyConstructor;
+	private final Map<Method, Integer> slots = new HashMap<>();
+	private final StaticMetadata[] fieldMetadata;
+	private final int[] offsets;
+	private final Class<?>[] returnTypes;
+	private final Metaclass[] metaclasses;
+	private final PayloadMapper[] mappers;
+	private final ViewPlan<?>[] nested;
+	private final Object[] defaults;
+
+	/**
+	 * @param type     The interface of the views [CANNOT BE NULL].
+	 * @param metadata The StaticMetadata of the payload (all records) [CANNOT
+	 *                 BE NULL].
+	 * @param context  The context that creates the mappers [CANNOT BE NULL].
+	 * @param reader   The reader of the Metaclasses of complex fields that are
+	 *                 not views [CANNOT BE NULL].
+	 */
+	public ViewPlan(Class<T> type, StaticMetadata metadata, JavaContext context, MetaclassReader reader) {
+		super();
+		this.type = Objects.requireNonNull(type, "'type' cannot be null");
+		this.metadata = Objects.requireNonNull(metadata, "'metadata' cannot be null");
+		Objects.requireNonNull(context, "'context' cannot be null");
+		Objects.requireNonNull(reader, "'reader' cannot be null");
+		if (!type.isInterface()) {
+			throw new IllegalArgumentException(NOT_AN_INTERFACE + type.getName());
+		}
+		if (!metadata.info().getSubtype().getDataType().isComplex()) {
+			throw new PplParseException(NOT_COMPLEX + metadata.toTree(0));
+		}
+		int maxOccurs = metadata.info().getMaxOccurs();
+		this.recordSize = maxOccurs > 0 ? metadata.serialMaxSize() / maxOccurs : 0;
+		this.proxyConstructor = proxyConstructorOf(type);
+		// offsets of the fields in a record
+		List<StaticMetadata> children = metadata.children();
+		Map<String, Integer> indexes = new HashMap<>();
+		int[] fieldOffsets = new int[children.size()];
+		int offset = 0;
+		for (int i = 0; i < children.size(); i++) {
+			indexes.put(children.get(i).info().getName(), i);
+			fieldOffsets[i] = offset;
+			offset += children.get(i).serialMaxSize();
+		}
+		// one slot per getter
+		List<Method> getters = new ArrayList<>();
+		for (Method method : type.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+				continue;
+			}
+			if (method.isDefault()) {
+				throw new IllegalArgumentException(DEFAULT_METHOD + method);
+			}
+			if (method.getParameterCount() > 0 || method.getReturnType() == void.class) {
+				throw new IllegalArgumentException(NOT_A_GETTER + method);
+			}
+			getters.add(method);
+		}
+		int size = getters.size();
+		this.fieldMetadata = new StaticMetadata[size];
+		this.offsets = new int[size];
+		this.returnTypes = new Class<?>[size];
+		this.metaclasses = new Metaclass[size];
+		this.mappers = new PayloadMapper[size];
+		this.nested = new ViewPlan<?>[size];
+		this.defaults = new Object[size];
+		Method method;
+		String name;
+		Integer index;
+		for (int slot = 0; slot < size; slot++) {
+			method = getters.get(slot);
+			name = propertyOf(method);
+			index = indexes.get(name);
+			if (index == null) {
+				throw new PplParseException(String.format(MISSING_FIELD, name, type.getName(), metadata.toTree(0)));
+			}
+			slots.put(method, slot);
+			fieldMetadata[slot] = children.get(index);
+			offsets[slot] = fieldOffsets[index];
+			returnTypes[slot] = method.getReturnType();
+			bind(slot, method, context, reader);
+		}
+	}
+
+	// **************************************************
+	// API
+	// **************************************************
+
+	/**
+	 * Creates the view of the record that starts at the offset. No field is
+	 * decoded until its getter is called.
+	 * 
+	 * @param text   The payload (or any text containing the record).
+	 * @param offset The index of the first char of the record.
+	 * @return The view of the record.
+	 */
+	@SuppressWarnings("unchecked")
+	public T view(CharSequence text, int offset) {
+		try {
+			return (T) proxyConstructor.newInstance(new ViewHandler(this, text, offset));
+		} catch (ReflectiveOperationException e) {
+			throw new PplReflectionException("Cannot create the view of " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * Creates the list of the views of the records that start at the offset.
+	 * The views are created on demand by <code>get(index)</code>.
+	 * 
+	 * @param text   The payload (or any text containing the records).
+	 * @param offset The index of the first char of the first record.
+	 * @param count  The number of records.
+	 * @return The List of views.
+	 */
+	public List<T> list(CharSequence text, int offset, int count) {
+		return new ViewList<>(this, text, offset, count);
+	}
+
+	// **************************************************
+	// Internal
+	// **************************************************
+
+	int slotCount() {
+		return mappers.length;
+	}
+
+	int slotOf(Method method) {
+		Integer slot = slots.get(method);
+		return slot != null ? slot : -1;
+	}
+
+	/*
+	 * Decodes the field of the slot from the record that starts at the offset.
+	 */
+	Object decode(int slot, CharSequence text, int recordOffset) {
+		StaticMetadata childMetadata = fieldMetadata[slot];
+		int offset = recordOffset + offsets[slot];
+		if (nested[slot] != null) {
+			return !Reflect.isMultiple(returnTypes[slot]) ? nested[slot].view(text, offset)
+					: nested[slot].list(text, offset, nested[slot].occurrences(text, offset));
+		}
+		Object value = AbstractPositionalMapper.parseRegion(mappers[slot], childMetadata, text, offset,
+				childMetadata.serialMaxSize(), metaclasses[slot]);
+		if (value == null) {
+			return defaults[slot];
+		}
+		if ((returnTypes[slot] == char.class || returnTypes[slot] == Character.class)
+				&& value instanceof CharSequence) {
+			CharSequence chars = (CharSequence) value;
+			return chars.length() > 0 ? chars.charAt(0) : defaults[slot];
+		}
+		return value;
+	}
+
+	/*
+	 * Number of records that start at the offset, without the null records at
+	 * the end (padding up to the maxOccurs).
+	 */
+	int occurrences(CharSequence text, int offset) {
+		int count = metadata.info().getMaxOccurs();
+		while (count > 0 && isNullRecord(metadata, text, offset + (count - 1) * recordSize)) {
+			count--;
+		}
+		return count;
+	}
+
+	private static boolean isNullRecord(StaticMetadata metadata, CharSequence text, int recordOffset) {
+		int offset = recordOffset;
+		List<StaticMetadata> children = metadata.children();
+		for (StaticMetadata child : children) {
+			if (!isNullRegion(child, text, offset)) {
+				return false;
+			}
+			offset += child.serialMaxSize();
+		}
+		return true;
+	}
+
+	/*
+	 * A null complex field is filled with its own null char or has only null
+	 * records.
+	 */
+	private static boolean isNullRegion(StaticMetadata metadata, CharSequence text, int offset) {
+		char nullChar = metadata.info().getSubtype().getDataType().getNullChar();
+		int end = offset + metadata.serialMaxSize();
+		int i = offset;
+		while (i < end && text.charAt(i) == nullChar) {
+			i++;
+		}
+		if (i == end) {
+			return true;
+		}
+		int maxOccurs = metadata.info().getMaxOccurs();
+		if (!metadata.info().getSubtype().getDataType().isComplex() || maxOccurs <= 0) {
+			return false;
+		}
+		int size = metadata.serialMaxSize() / maxOccurs;
+		for (int record = offset; record < end; record += size) {
+			if (!isNullRecord(metadata, text, record)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void bind(int slot, Method method, JavaContext context, MetaclassReader reader) {
+		Class<?> returnType = method.getReturnType();
+		Class<?> elementType = elementTypeOf(method);
+		boolean multiple = Reflect.isMultiple(returnType);
+		StaticMetadata childMetadata = fieldMetadata[slot];
+		if (returnType.isPrimitive()) {
+			defaults[slot] = Array.get(Array.newInstance(returnType, 1), 0);
+		}
+		if (childMetadata.info().getSubtype().getDataType().isComplex()) {
+			if (elementType.isInterface()) {
+				if (multiple && !returnType.isAssignableFrom(List.class)) {
+					throw new IllegalArgumentException(NESTED_VIEWS + method);
+				}
+				nested[slot] = new ViewPlan<>(elementType, childMetadata, context, reader);
+				return;
+			}
+			metaclasses[slot] = reader.read(returnType, elementType);
+		} else {
+			MetaInfo metaInfo = new MetaInfo(0, propertyOf(method), context.subtypeManager().fromType(elementType),
+					PplMetadata.EMPTY_INTEGER, PplMetadata.EMPTY_INTEGER, Syntax.DEFAULT_MIN_OCCURS,
+					PplMetadata.EMPTY_INTEGER);
+			metaclasses[slot] = new SimpleMetaclass(null, returnType, elementType, kindOf(multiple, false), metaInfo,
+					null);
+		}
+		mappers[slot] = context.parserFactory().create(metaclasses[slot]);
+	}
+
+	private static Class<?> elementTypeOf(Method method) {
+		Class<?> returnType = method.getReturnType();
+		if (Collection.class.isAssignableFrom(returnType)) {
+			Type genericType = method.getGenericReturnType();
+			if (genericType instanceof ParameterizedType
+					&& ((ParameterizedType) genericType).getActualTypeArguments()[0] instanceof Class) {
+				return (Class<?>) ((ParameterizedType) genericType).getActualTypeArguments()[0];
+			}
+			throw new PplReflectionException(String.format(UNSAFE_COLLECTION, method));
+		}
+		return returnType.isArray() ? returnType.getComponentType() : returnType;
+	}
+
+	/*
+	 * getName() -> name, isActive() -> active, name() -> name
+	 */
+	static String propertyOf(Method method) {
+		String name = method.getName();
+		if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+			return decapitalize(name.substring(3));
+		}
+		if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))
+				&& (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+			return decapitalize(name.substring(2));
+		}
+		return name;
+	}
+
+	private static String decapitalize(String name) {
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static boolean isObjectMethod(Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Constructor<?> proxyConstructorOf(Class<?> type) {
+		try {
+			return Proxy.getProxyClass(type.getClassLoader(), type).getConstructor(InvocationHandler.class);
+		} catch (NoSuchMethodException e) {
+			throw new PplReflectionException("Cannot create the view of " + type.getName(), e);
+		}
+	}
+
+	// ********** get/set **********
+
+	public Class<T> type() {
+		return type;
+	}
+
+	public StaticMetadata metadata() {
+		return metadata;
+	}
+
+	/**
+	 * @return The size of each record (<code>serialMaxSize / maxOccurs</code>).
+	 */
+	public int recordSize() {
+		return recordSize;
+	}
+
+}
@@ -0,0 +1,129 @@
+package br.net.buzu4j;
+
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.api.PplParser;
+import br.net.buzu4j.context.CachingParserFactory;
+import br.net.buzu4j.context.ContextBuilder;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.simple.text.StringMapper;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plan cache of the Buzu: hits, misses and the isolation of custom mappers.
+ */
+public class BuzuPlanCacheTest {
+
+	private static final Person LADYBUG = new Person("Ladybug", 15, "Paris");
+
+	private Buzu buzu;
+
+	@Before
+	public void before() {
+		buzu = new Buzu();
+		CountingMapper.INSTANCES.clear();
+	}
+
+	@Test
+	public void testHitAndMiss() {
+		String ppl = buzu.toPpl(LADYBUG);
+		long misses = buzu.planStats().misses();
+		Person first = buzu.fromPpl(ppl, Person.class);
+		assertEquals(misses + 1, buzu.planStats().misses());
+		long hits = buzu.planStats().hits();
+		Person second = buzu.fromPpl(ppl, Person.class);
+		assertEquals(hits + 1, buzu.planStats().hits());
+		assertEquals(first.getName(), second.getName());
+		// a list of the same header is other plan
+		misses = buzu.planStats().misses();
+		buzu.fromPplList(ppl, Person.class);
+		assertEquals(misses + 1, buzu.planStats().misses());
+	}
+
+	@Test
+	public void testDisabled() {
+		Buzu noCache = new BuzuBuilder().planCacheSize(0).build();
+		String ppl = noCache.toPpl(LADYBUG);
+		noCache.fromPpl(ppl, Person.class);
+		noCache.fromPpl(ppl, Person.class);
+		assertEquals(0, noCache.planStats().hits());
+		assertEquals(0, noCache.planStats().size());
+	}
+
+	@Test
+	public void testCustomMapperIsolation() {
+		String ppl = buzu.toPpl(new Tagged("tag1", "name1"));
+		CountingMapper.INSTANCES.clear();
+		assertEquals("tag1", buzu.fromPpl(ppl, Tagged.class).getTag());
+		assertEquals("tag1", buzu.fromPpl(ppl, Tagged.class).getTag());
+		assertTrue(buzu.planStats().hits() > 0);
+		// the cached plan does not share the custom mapper between calls
+		assertEquals(2, CountingMapper.INSTANCES.size());
+	}
+
+	@Test
+	public void testCustomMapperScopedByFactory() {
+		Buzu caching = new BuzuBuilder()
+				.context(new ContextBuilder().parserFactory(new CachingParserFactory()).build()).build();
+		String ppl = caching.toPpl(new Tagged("tag1", "name1"));
+		CountingMapper.INSTANCES.clear();
+		caching.fromPpl(ppl, Tagged.class);
+		caching.fromPpl(ppl, Tagged.class);
+		// THREAD scope (default): one instance per thread
+		assertEquals(1, CountingMapper.INSTANCES.size());
+	}
+
+	public static class Tagged {
+		@PplParser(CountingMapper.class)
+		private String tag;
+		private String name;
+
+		public Tagged() {
+		}
+
+		public Tagged(String tag, String name) {
+			this.tag = tag;
+			this.name = name;
+		}
+
+		public String getTag() {
+			return tag;
+		}
+
+		public void setTag(String tag) {
+			this.tag = tag;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * Stateful custom mapper: records the instances used to parse.
+	 */
+	public static class CountingMapper extends StringMapper {
+
+		static final Set<CountingMapper> INSTANCES = Collections
+				.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+		@Override
+		protected Object doParse(StaticMetadata metadata, CharSequence text, int offset, int length,
+				Metaclass toClass) {
+			INSTANCES.add(this);
+			return super.doParse(metadata, text, offset, length, toClass);
+		}
+	}
+
+}
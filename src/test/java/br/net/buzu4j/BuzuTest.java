@@ -1,12 +1,16 @@
 package br.net.buzu4j;
 
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.cache.ValueTextCache;
 import br.net.buzu4j.context.BasicContext;
 import br.net.buzu4j.context.BasicMetadataCoderResolver;
+import br.net.buzu4j.context.BasicParserFactory;
 import br.net.buzu4j.context.ContextBuilder;
 import br.net.buzu4j.context.JavaContext;
 import br.net.buzu.exception.PplParseException;
 import br.net.buzu.ext.MetadataCoder;
 import br.net.buzu.lang.Token;
+import br.net.buzu4j.example.Price;
 import br.net.buzu4j.metaclass.BasicMetaclassReader;
 import br.net.buzu4j.metadata.build.load.BasicMetadataLoader;
 import br.net.buzu4j.metadata.build.parse.BasicMetadataParser;
@@ -22,14 +26,18 @@ import br.net.buzu4j.sample.ppl.Xmen;
 import br.net.buzu4j.sample.time.TimePojo;
 import br.net.buzu4j.util.PplReader;
 import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.plan.Projection;
 import br.net.buzu4j.sample.order.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 
 import static br.net.buzu.pplimpl.jvm.MetaTypeReadKt.readMetaType;
 import static br.net.buzu.pplimpl.metadata.MetadataLoadKt.loadMetadata;
@@ -398,6 +406,110 @@ public class BuzuTest {
         assertEquals(1, list.size());
     }
 
+    @Test
+    public void testParallelList() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            people.add(new Person("Person" + i, i % 100, "City" + i));
+        }
+        String ppl = buzu.toPpl(people);
+        try (Buzu parallel = new BuzuBuilder().parallelism(4).parallelThreshold(64).build()) {
+            assertEquals(4, parallel.parallelism());
+            List<Person> list = parallel.fromPplList(ppl, Person.class);
+            assertEquals(people.size(), list.size());
+            for (int i = 0; i < people.size(); i++) {
+                assertEquals(people.get(i).getName(), list.get(i).getName());
+                assertEquals(people.get(i).getCity(), list.get(i).getCity());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelToPpl() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            people.add(new Person(i % 7 == 0 ? null : "Person" + i, i, "City" + (i * 31)));
+        }
+        try (Buzu parallel = new BuzuBuilder().parallelism(4).parallelThreshold(64).build()) {
+            assertEquals(buzu.toPpl(people), parallel.toPpl(people));
+        }
+    }
+
+    @Test
+    public void testPool() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            people.add(new Person("Person" + i, i, "City" + i));
+        }
+        // External pool: not shut down by close
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Buzu external = new BuzuBuilder().pool(pool).parallelism(8).parallelThreshold(16).build();
+            assertEquals(2, external.parallelism());
+            assertEquals(buzu.toPpl(people), external.toPpl(people));
+            external.close();
+            assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdown();
+        }
+        // Owned pool: shut down by close
+        Buzu owner = new BuzuBuilder().parallelism(2).parallelThreshold(16).build();
+        assertEquals(people.size(), owner.fromPplList(buzu.toPpl(people), Person.class).size());
+        owner.close();
+        try {
+            owner.toPpl(people);
+            fail();
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+        // Sequential: nothing to close
+        new Buzu().close();
+    }
+
+    @Test
+    public void testFormatOnce() {
+        Buzu formatOnce = new BuzuBuilder().formatOnce(true).build();
+        assertTrue(formatOnce.isFormatOnce());
+        assertEquals(buzu.toPpl(ORDER_INSTANCE), formatOnce.toPpl(ORDER_INSTANCE));
+        assertEquals(buzu.toPpl(HUMAN), formatOnce.toPpl(HUMAN));
+        assertNull(ValueTextCache.current());
+        // the load keeps the text of the formatted values
+        Price price = new Price("$", new BigDecimal("12.50"));
+        Metaclass metaclass = new BasicMetaclassReader().read(Price.class);
+        ValueTextCache texts = new ValueTextCache();
+        StaticMetadata metadata = (StaticMetadata) new BasicMetadataLoader().load(price, metaclass, texts);
+        assertEquals(1, texts.size());
+        assertEquals("12.50", texts.get(price.getValue()));
+        // the serialization writes the kept text instead of formatting the value again
+        texts.put(price.getValue(), "12.5X");
+        PayloadMapper mapper = new BasicParserFactory().create(metaclass);
+        ValueTextCache previous = ValueTextCache.bind(texts);
+        try {
+            assertEquals("$12.5X", mapper.serialize(metadata, price, metaclass));
+        } finally {
+            ValueTextCache.bind(previous);
+        }
+    }
+
+    @Test
+    public void testProjection() {
+        String ppl = buzu.toPpl(ORDER_INSTANCE);
+        Order order = buzu.fromPpl(ppl, Order.class, Projection.of("number", "customer.name"));
+        assertEquals(ORDER_NUMBER, order.getNumber());
+        assertEquals(CUSTOMER_NAME, order.getCustomer().getName());
+        assertNull(order.getCustomer().getPhones());
+        assertNull(order.getDate());
+        assertNull(order.getStatus());
+        assertTrue(order.getProducts().isEmpty());
+        // full plan and projected plan are cached apart
+        assertEquals(ORDER_DATE, buzu.fromPpl(ppl, Order.class).getDate());
+        List<Order> list = buzu.fromPplList(buzu.toPpl(Arrays.asList(ORDER_INSTANCE, ORDER_INSTANCE)), Order.class,
+                Projection.of("status"));
+        assertEquals(2, list.size());
+        assertEquals(ORDER_STATUS, list.get(1).getStatus());
+        assertNull(list.get(1).getNumber());
+    }
+
     @Test
     public void testLoad() {
         assertJavaVersusKotlin(PERSON_INSTANCE);
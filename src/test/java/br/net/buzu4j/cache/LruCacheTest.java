@@ -0,0 +1,56 @@
+package br.net.buzu4j.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * LruCache Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class LruCacheTest {
+
+	@Test
+	public void testHitAndMiss() {
+		LruCache<String, Integer> cache = new LruCache<>(10);
+		assertEquals(Integer.valueOf(3), cache.get("abc", String::length));
+		assertEquals(Integer.valueOf(3), cache.get("abc", k -> -1));
+		CacheStats stats = cache.stats();
+		assertEquals(1, stats.hits());
+		assertEquals(1, stats.misses());
+		assertEquals(1, stats.size());
+		assertEquals(0.5, stats.hitRate(), 0.0);
+	}
+
+	@Test
+	public void testEviction() throws InterruptedException {
+		LruCache<String, Integer> cache = new LruCache<>(2);
+		cache.get("a", String::length);
+		Thread.sleep(1);
+		cache.get("b", String::length);
+		Thread.sleep(1);
+		// "a" becomes the most recently used
+		cache.get("a", String::length);
+		Thread.sleep(1);
+		cache.get("c", String::length);
+		assertEquals(2, cache.size());
+		assertNotNull(cache.getIfPresent("a"));
+		assertNull(cache.getIfPresent("b"));
+		assertNotNull(cache.getIfPresent("c"));
+		assertEquals(1, cache.stats().evictions());
+	}
+
+	@Test
+	public void testDisabled() {
+		LruCache<String, Integer> cache = new LruCache<>(0);
+		assertFalse(cache.isEnabled());
+		assertEquals(Integer.valueOf(1), cache.get("a", String::length));
+		assertEquals(Integer.valueOf(1), cache.get("a", String::length));
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.stats().misses());
+		assertEquals(0, cache.stats().hits());
+	}
+
+}
@@ -0,0 +1,51 @@
+package br.net.buzu4j.context;
+
+import br.net.buzu4j.api.MapperScope;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.api.PplMapperScope;
+import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.metaclass.SimpleMetaclass;
+import br.net.buzu.model.Kind;
+import br.net.buzu.model.MetaInfo;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu.model.Subtype;
+import br.net.buzu4j.parsing.ThreadLocalMapper;
+import br.net.buzu4j.parsing.simple.text.StringMapper;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class CachingParserFactoryTest {
+
+	@Test
+	public void testSameTree() {
+		CachingParserFactory parserFactory = new CachingParserFactory();
+		Metaclass metaclass = new BasicMetaclassReader().read(Person.class);
+		PayloadMapper mapper = parserFactory.create(metaclass);
+		assertSame(mapper, parserFactory.create(metaclass));
+		assertEquals(1, parserFactory.stats().hits());
+	}
+
+	@Test
+	public void testCustomScope() {
+		CachingParserFactory parserFactory = new CachingParserFactory();
+		assertEquals(ThreadLocalMapper.class, parserFactory.create(custom(StringMapper.class)).getClass());
+		assertEquals(SharedMapper.class, parserFactory.create(custom(SharedMapper.class)).getClass());
+	}
+
+	private Metaclass custom(Class<? extends PayloadMapper> mapperType) {
+		MetaInfo metaInfo = new MetaInfo(0, "testname", Subtype.STRING, 10, 0, 0, 1);
+		return new SimpleMetaclass(null, String.class, String.class, Kind.ATOMIC, metaInfo, mapperType);
+	}
+
+	@PplMapperScope(MapperScope.SHARED)
+	public static class SharedMapper extends StringMapper {
+	}
+
+}
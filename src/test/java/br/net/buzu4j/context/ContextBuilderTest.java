@@ -1,9 +1,15 @@
 package br.net.buzu4j.context;
 
+import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.parsing.complex.ComplexMapper;
+import br.net.buzu4j.sample.pojo.Person;
+import br.net.buzu4j.util.BasicInstantiatorStrategy;
+import br.net.buzu4j.util.InstantiatorStrategy;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit Test for ContextBuilder
@@ -41,6 +47,25 @@ public class ContextBuilderTest {
 		contextBuilder.parserFactory(null);
 	}
 
+	@Test(expected = NullPointerException.class)
+	public void testInstantiatorStrategySyntax() {
+		contextBuilder.instantiatorStrategy(null);
+	}
+
+	@Test
+	public void testInstantiatorStrategy() {
+		InstantiatorStrategy strategy = type -> BasicInstantiatorStrategy.INSTANCE.instantiatorOf(type);
+		JavaContext context = contextBuilder.instantiatorStrategy(strategy).build();
+		BasicParserFactory factory = (BasicParserFactory) context.parserFactory();
+		assertTrue(strategy == factory.instantiators().strategy());
+		// The complex mappers create the records by the strategy of the context
+		ComplexMapper mapper = (ComplexMapper) factory.create(new BasicMetaclassReader().read(Person.class));
+		assertTrue(strategy == mapper.instantiators().strategy());
+		// Other contexts are not affected
+		assertTrue(BasicInstantiatorStrategy.INSTANCE == ((BasicParserFactory) new ContextBuilder().build()
+				.parserFactory()).instantiators().strategy());
+	}
+
 	@Test
 	public void testSimpleBuild() {
 		JavaContext context = contextBuilder.build();
@@ -0,0 +1,65 @@
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplSerializeException;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Latin1Text Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class Latin1TextTest {
+
+	private static final String TEXT = "(nome:S6)João  ";
+
+	@Test
+	public void testView() {
+		byte[] bytes = TEXT.getBytes(StandardCharsets.ISO_8859_1);
+		Latin1Text text = new Latin1Text(bytes);
+		assertEquals(TEXT.length(), text.length());
+		assertEquals('ã', text.charAt(11));
+		assertEquals(TEXT, text.toString());
+		assertEquals("João", text.subSequence(9, 13).toString());
+		assertEquals("ão", text.subSequence(9, 13).subSequence(2, 4).toString());
+	}
+
+	@Test
+	public void testDirectBuffer() {
+		byte[] bytes = TEXT.getBytes(StandardCharsets.ISO_8859_1);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+		buffer.put((byte) 'x').put(bytes).put((byte) 'y');
+		buffer.position(1).limit(bytes.length + 1);
+		Latin1Text text = new Latin1Text(buffer);
+		assertEquals(TEXT, text.toString());
+		assertEquals(1, buffer.position());
+	}
+
+	@Test
+	public void testEncode() {
+		ByteBuffer buffer = ByteBuffer.allocate(20);
+		buffer.put((byte) '#');
+		Latin1Text.encode(TEXT, buffer);
+		assertEquals(TEXT.length() + 1, buffer.position());
+		assertEquals("#" + TEXT, new String(buffer.array(), 0, buffer.position(), StandardCharsets.ISO_8859_1));
+		assertTrue(Arrays.equals(TEXT.getBytes(StandardCharsets.ISO_8859_1), Latin1Text.encode(TEXT)));
+	}
+
+	@Test(expected = PplSerializeException.class)
+	public void testUnmappable() {
+		Latin1Text.encode("€", ByteBuffer.allocate(1));
+	}
+
+	@Test(expected = BufferOverflowException.class)
+	public void testOverflow() {
+		Latin1Text.encode(TEXT, ByteBuffer.allocate(3));
+	}
+
+}
@@ -0,0 +1,184 @@
+package br.net.buzu4j.io;
+
+import br.net.buzu4j.Buzu;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * PplFile Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class PplFileTest {
+
+	private static final List<Person> PEOPLE = Arrays.asList(new Person("Ladybug", 15, "Paris"),
+			new Person("Catnoir", 16, "London"), new Person("Hawk", 40, "Rome"), new Person("Plagg", 5000, "Sky"));
+
+	private final Buzu buzu = new Buzu();
+
+	private Path path;
+
+	@After
+	public void after() throws IOException {
+		if (path != null) {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void testGet() throws IOException {
+		try (PplFile<Person> file = PplFile.open(write(buzu.toPpl(PEOPLE)), Person.class, buzu)) {
+			assertEquals(4, file.size());
+			assertEquals(file.metadata().serialMaxSize() / 4, file.recordSize());
+			// Random access
+			assertPerson(PEOPLE.get(2), file.get(2));
+			assertPerson(PEOPLE.get(0), file.get(0));
+			assertPerson(PEOPLE.get(3), file.get(3));
+			assertPerson(PEOPLE.get(2), file.get(2));
+			assertOutOfBounds(file, -1);
+			assertOutOfBounds(file, 4);
+		}
+	}
+
+	@Test
+	public void testIterator() throws IOException {
+		try (PplFile<Person> file = PplFile.open(write(buzu.toPpl(PEOPLE)), Person.class, buzu)) {
+			List<Person> read = new ArrayList<>();
+			for (Person person : file) {
+				read.add(person);
+			}
+			assertPeople(PEOPLE, read);
+			assertPeople(PEOPLE.subList(1, 3), toList(file.iterator(1, 3)));
+			assertPeople(PEOPLE.subList(3, 4), toList(file.iterator(3, 4)));
+			Iterator<Person> empty = file.iterator(2, 2);
+			assertFalse(empty.hasNext());
+			try {
+				empty.next();
+				fail();
+			} catch (NoSuchElementException e) {
+				// expected
+			}
+			assertIteratorOutOfBounds(file, -1, 2);
+			assertIteratorOutOfBounds(file, 0, 5);
+			assertIteratorOutOfBounds(file, 3, 2);
+		}
+	}
+
+	@Test
+	public void testPartialLastRecord() throws IOException {
+		String ppl = buzu.toPpl(PEOPLE);
+		try (PplFile<Person> file = PplFile.open(write(ppl.substring(0, ppl.length() - 2)), Person.class, buzu)) {
+			// Only the complete records
+			assertEquals(3, file.size());
+			assertPeople(PEOPLE.subList(0, 3), toList(file.iterator()));
+			assertOutOfBounds(file, 3);
+		}
+	}
+
+	@Test
+	public void testHeaderAfterWhitespace() throws IOException {
+		try (PplFile<Person> file = PplFile.open(write("\n  " + buzu.toPpl(PEOPLE)), Person.class, buzu)) {
+			// The payload starts after the whitespace and the header
+			assertEquals(4, file.size());
+			assertPeople(PEOPLE, toList(file.iterator()));
+		}
+	}
+
+	@Test
+	public void testConcurrentGet() throws Exception {
+		try (PplFile<Person> file = PplFile.open(write(buzu.toPpl(PEOPLE)), Person.class, buzu)) {
+			List<Thread> threads = new ArrayList<>();
+			List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+			for (int t = 0; t < 8; t++) {
+				threads.add(new Thread(() -> {
+					try {
+						for (int i = 0; i < 100; i++) {
+							assertPerson(PEOPLE.get(i % 4), file.get(i % 4));
+						}
+					} catch (Throwable e) {
+						errors.add(e);
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertTrue(errors.toString(), errors.isEmpty());
+		}
+	}
+
+	@Test
+	public void testClose() throws IOException {
+		PplFile<Person> file = PplFile.open(write(buzu.toPpl(PEOPLE)), Person.class, buzu);
+		assertPerson(PEOPLE.get(0), file.get(0));
+		file.close();
+		// Idempotent
+		file.close();
+		try {
+			file.get(0);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(PplFile.CLOSED, e.getMessage());
+		}
+	}
+
+	private Path write(String ppl) throws IOException {
+		path = Files.createTempFile("buzu", ".ppl");
+		Files.write(path, ppl.getBytes(StandardCharsets.ISO_8859_1));
+		return path;
+	}
+
+	private static void assertOutOfBounds(PplFile<Person> file, long index) {
+		try {
+			file.get(index);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	private static void assertIteratorOutOfBounds(PplFile<Person> file, long fromIndex, long toIndex) {
+		try {
+			file.iterator(fromIndex, toIndex);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	private static List<Person> toList(Iterator<Person> iterator) {
+		List<Person> list = new ArrayList<>();
+		iterator.forEachRemaining(list::add);
+		return list;
+	}
+
+	private static void assertPeople(List<Person> expected, List<Person> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertPerson(expected.get(i), actual.get(i));
+		}
+	}
+
+	private static void assertPerson(Person expected, Person actual) {
+		assertEquals(expected.getName(), actual.getName().trim());
+		assertEquals(expected.getAge(), actual.getAge());
+		assertEquals(expected.getCity(), actual.getCity().trim());
+	}
+
+}
@@ -0,0 +1,54 @@
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplParseException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/**
+ * PplHeaderReader Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class PplHeaderReaderTest {
+
+	@Test
+	public void testRead() throws IOException {
+		Reader reader = new StringReader("(name:S5;items:(a:S1;b:S1)#2)Ana  xyzw");
+		assertEquals("(name:S5;items:(a:S1;b:S1)#2)", PplHeaderReader.read(reader));
+		assertEquals('A', reader.read());
+	}
+
+	@Test
+	public void testQuoted() throws IOException {
+		Reader reader = new StringReader("(name:S5=')(';x:S1=\")\")payload");
+		assertEquals("(name:S5=')(';x:S1=\")\")", PplHeaderReader.read(reader));
+	}
+
+	@Test
+	public void testEnd() {
+		String text = " (name:S5=')(';items:(a:S1;b:S1)#2)Ana  xyzw";
+		assertEquals(text.indexOf("Ana"), PplHeaderReader.end(text));
+	}
+
+	@Test(expected = PplParseException.class)
+	public void testEndUnterminated() {
+		PplHeaderReader.end("(name:S5;items:(a:S1)");
+	}
+
+	@Test(expected = PplParseException.class)
+	public void testMissing() throws IOException {
+		PplHeaderReader.read(new StringReader("name:S5"));
+	}
+
+	@Test(expected = PplParseException.class)
+	public void testUnterminated() throws IOException {
+		PplHeaderReader.read(new StringReader("(name:S5;items:(a:S1)"));
+	}
+
+}
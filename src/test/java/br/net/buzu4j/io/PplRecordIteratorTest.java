@@ -0,0 +1,136 @@
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplParseException;
+import br.net.buzu4j.Buzu;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * PplRecordIterator Unit Test (Buzu.iterator and Buzu.stream).
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class PplRecordIteratorTest {
+
+	private static final List<Person> PEOPLE = Arrays.asList(new Person("Ladybug", 15, "Paris"),
+			new Person("Catnoir", 16, "London"), new Person("Hawk", 40, "Rome"));
+
+	private final Buzu buzu = new Buzu();
+
+	@Test
+	public void testIterator() {
+		String ppl = buzu.toPpl(PEOPLE);
+		List<Person> read = new ArrayList<>();
+		try (PplRecordIterator<Person> iterator = buzu.iterator(new StringReader(ppl), Person.class)) {
+			while (iterator.hasNext()) {
+				read.add(iterator.next());
+			}
+			assertEquals(3, iterator.count());
+			assertFalse(iterator.hasNext());
+			try {
+				iterator.next();
+				fail();
+			} catch (NoSuchElementException e) {
+				// expected
+			}
+		}
+		assertPeople(PEOPLE, read);
+	}
+
+	@Test
+	public void testStream() {
+		String ppl = buzu.toPpl(PEOPLE);
+		try (Stream<Person> stream = buzu.stream(new StringReader(ppl), Person.class)) {
+			assertPeople(PEOPLE, stream.collect(Collectors.toList()));
+		}
+		try (Stream<Person> stream = buzu.stream(new StringReader(ppl), Person.class)) {
+			assertEquals(Arrays.asList("Catnoir", "Hawk"),
+					stream.skip(1).map(Person::getName).map(String::trim).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testTruncatedLastRecord() {
+		String ppl = buzu.toPpl(PEOPLE);
+		String truncated = ppl.substring(0, ppl.length() - 2);
+		try (PplRecordIterator<Person> iterator = buzu.iterator(new StringReader(truncated), Person.class)) {
+			assertEquals("Ladybug", iterator.next().getName().trim());
+			assertEquals("Catnoir", iterator.next().getName().trim());
+			try {
+				iterator.hasNext();
+				fail();
+			} catch (PplParseException e) {
+				assertEquals(2, iterator.count());
+			}
+		}
+		// Truncated stream
+		try (Stream<Person> stream = buzu.stream(new StringReader(truncated), Person.class)) {
+			stream.count();
+			fail();
+		} catch (PplParseException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testMissingRecords() {
+		String ppl = buzu.toPpl(PEOPLE);
+		int recordSize;
+		try (PplRecordIterator<Person> iterator = buzu.iterator(new StringReader(ppl), Person.class)) {
+			recordSize = iterator.metadata().serialMaxSize() / PEOPLE.size();
+		}
+		// The payload ends at the end of a record: no more records
+		String shorter = ppl.substring(0, ppl.length() - recordSize);
+		try (Stream<Person> stream = buzu.stream(new StringReader(shorter), Person.class)) {
+			assertPeople(PEOPLE.subList(0, 2), stream.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testClose() {
+		ClosingReader reader = new ClosingReader(buzu.toPpl(PEOPLE));
+		try (Stream<Person> stream = buzu.stream(reader, Person.class)) {
+			assertEquals(3, stream.count());
+		}
+		assertTrue(reader.closed);
+		reader = new ClosingReader(buzu.toPpl(PEOPLE));
+		buzu.iterator(reader, Person.class).close();
+		assertTrue(reader.closed);
+	}
+
+	private static void assertPeople(List<Person> expected, List<Person> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getName(), actual.get(i).getName().trim());
+			assertEquals(expected.get(i).getAge(), actual.get(i).getAge());
+			assertEquals(expected.get(i).getCity(), actual.get(i).getCity().trim());
+		}
+	}
+
+	static class ClosingReader extends StringReader {
+
+		boolean closed;
+
+		ClosingReader(String s) {
+			super(s);
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+			super.close();
+		}
+	}
+
+}
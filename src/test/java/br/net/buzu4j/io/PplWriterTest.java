@@ -0,0 +1,222 @@
+package br.net.buzu4j.io;
+
+import br.net.buzu.exception.PplSerializeException;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.Buzu;
+import br.net.buzu4j.io.PplWriter.OverflowPolicy;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * PplWriter Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class PplWriterTest {
+
+	private static final List<Person> PEOPLE = Arrays.asList(new Person("Ladybug", 15, "Paris"),
+			new Person("Catnoir", 16, "London"), new Person("Hawk", 40, "Rome"));
+
+	private final Buzu buzu = new Buzu();
+
+	@Test
+	public void testWrite() {
+		StaticMetadata metadata = buzu.writerMetadata(PEOPLE, Person.class, 3);
+		StringWriter out = new StringWriter();
+		try (PplWriter<Person> writer = buzu.writer(out, metadata, Person.class)) {
+			assertEquals(OverflowPolicy.FAIL, writer.policy());
+			assertEquals(3, writer.writeAll(PEOPLE));
+			assertEquals(3, writer.count());
+		}
+		assertEquals(headerOf(metadata).length() + metadata.serialMaxSize(), out.toString().length());
+		assertPeople(PEOPLE, read(out.toString()));
+	}
+
+	@Test
+	public void testCapacityFail() {
+		StaticMetadata metadata = buzu.writerMetadata(PEOPLE, Person.class, 2);
+		PplWriter<Person> writer = buzu.writer(new StringWriter(), metadata, Person.class);
+		writer.write(PEOPLE.get(0));
+		writer.write(PEOPLE.get(1));
+		try {
+			writer.write(PEOPLE.get(2));
+			fail();
+		} catch (PplSerializeException e) {
+			assertEquals(2, writer.count());
+		}
+	}
+
+	@Test
+	public void testValueFail() {
+		StaticMetadata metadata = buzu.writerMetadata(PEOPLE, Person.class, 3);
+		PplWriter<Person> writer = buzu.writer(new StringWriter(), metadata, Person.class);
+		try {
+			writer.write(new Person("Ladybug and Catnoir", 15, "Paris"));
+			fail();
+		} catch (PplSerializeException e) {
+			assertEquals(0, writer.count());
+		}
+	}
+
+	@Test
+	public void testOccursFail() {
+		StaticMetadata metadata = buzu.writerMetadata(Arrays.asList(new Basket("Ana", "a", "b")), Basket.class, 2);
+		PplWriter<Basket> writer = buzu.writer(new StringWriter(), metadata, Basket.class);
+		try {
+			writer.write(new Basket("Bob", "a", "b", "c"));
+			fail();
+		} catch (PplSerializeException e) {
+			assertEquals(0, writer.count());
+		}
+	}
+
+	@Test
+	public void testTruncate() {
+		StaticMetadata metadata = buzu.writerMetadata(PEOPLE, Person.class, 2);
+		StringWriter out = new StringWriter();
+		try (PplWriter<Person> writer = buzu.writer(out, metadata, Person.class, OverflowPolicy.TRUNCATE, true)) {
+			assertTrue(writer.write(new Person("Ladybug and Catnoir", 15, "Paris")));
+			assertTrue(writer.write(PEOPLE.get(1)));
+			// Beyond the capacity
+			assertFalse(writer.write(PEOPLE.get(2)));
+			assertEquals(1, writer.dropped());
+		}
+		List<Person> read = read(out.toString());
+		assertEquals(2, read.size());
+		assertEquals("Ladybug", read.get(0).getName().trim());
+		assertEquals("Catnoir", read.get(1).getName().trim());
+	}
+
+	@Test
+	public void testTruncateOccurs() {
+		StaticMetadata metadata = buzu.writerMetadata(Arrays.asList(new Basket("Ana", "a", "b")), Basket.class, 2);
+		StringWriter out = new StringWriter();
+		try (PplWriter<Basket> writer = buzu.writer(out, metadata, Basket.class, OverflowPolicy.TRUNCATE,
+				false)) {
+			assertFalse(writer.write(new Basket("Bob", "a", "b", "c")));
+			assertTrue(writer.write(new Basket("Eva", "x")));
+			assertEquals(1, writer.dropped());
+			assertEquals(1, writer.count());
+		}
+		try (Stream<Basket> stream = buzu.stream(new StringReader(out.toString()), Basket.class)) {
+			List<Basket> read = stream.collect(Collectors.toList());
+			assertEquals(1, read.size());
+			assertEquals("Eva", read.get(0).getOwner().trim());
+		}
+	}
+
+	@Test
+	public void testPad() {
+		StaticMetadata metadata = buzu.writerMetadata(PEOPLE, Person.class, 3);
+		int recordSize = metadata.serialMaxSize() / 3;
+		String header = headerOf(metadata);
+		// Padded up to the capacity
+		StringWriter padded = new StringWriter();
+		try (PplWriter<Person> writer = buzu.writer(padded, metadata, Person.class, OverflowPolicy.FAIL, true)) {
+			writer.write(PEOPLE.get(0));
+			writer.write(null);
+		}
+		assertEquals(header.length() + 3 * recordSize, padded.toString().length());
+		// Not padded: only the written records
+		StringWriter notPadded = new StringWriter();
+		PplWriter<Person> writer = buzu.writer(notPadded, metadata, Person.class, OverflowPolicy.FAIL, false);
+		writer.write(PEOPLE.get(0));
+		writer.close();
+		assertEquals(1, writer.count());
+		assertEquals(header.length() + recordSize, notPadded.toString().length());
+		assertPeople(PEOPLE.subList(0, 1), read(notPadded.toString()));
+	}
+
+	@Test
+	public void testClose() {
+		StaticMetadata metadata = buzu.writerMetadata(PEOPLE, Person.class, 3);
+		ClosingWriter out = new ClosingWriter();
+		PplWriter<Person> writer = buzu.writer(out, metadata, Person.class, OverflowPolicy.FAIL, false);
+		writer.close();
+		assertTrue(out.closed);
+		// The header is written even with no records
+		assertEquals(headerOf(metadata), out.toString());
+		// Idempotent
+		writer.close();
+		try {
+			writer.write(PEOPLE.get(0));
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(PplWriter.CLOSED, e.getMessage());
+		}
+	}
+
+	private String headerOf(StaticMetadata metadata) {
+		StringWriter out = new StringWriter();
+		buzu.writer(out, metadata, Person.class, OverflowPolicy.FAIL, false).close();
+		return out.toString();
+	}
+
+	private List<Person> read(String ppl) {
+		try (Stream<Person> stream = buzu.stream(new StringReader(ppl), Person.class)) {
+			return stream.collect(Collectors.toList());
+		}
+	}
+
+	private static void assertPeople(List<Person> expected, List<Person> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getName(), actual.get(i).getName().trim());
+			assertEquals(expected.get(i).getAge(), actual.get(i).getAge());
+			assertEquals(expected.get(i).getCity(), actual.get(i).getCity().trim());
+		}
+	}
+
+	static class ClosingWriter extends StringWriter {
+
+		boolean closed;
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+
+	public static class Basket {
+
+		private String owner;
+		private List<String> items = new ArrayList<>();
+
+		public Basket() {
+
+		}
+
+		public Basket(String owner, String... items) {
+			this.owner = owner;
+			this.items = new ArrayList<>(Arrays.asList(items));
+		}
+
+		public String getOwner() {
+			return owner;
+		}
+
+		public void setOwner(String owner) {
+			this.owner = owner;
+		}
+
+		public List<String> getItems() {
+			return items;
+		}
+
+		public void setItems(List<String> items) {
+			this.items = items;
+		}
+	}
+
+}
@@ -165,7 +165,27 @@ public class BasicMetaclassReaderTest {
 		
 
 	}
-	
+
+	@Test
+	public void testIds() {
+		BasicMetaclass root = (BasicMetaclass) reader.read(Order.class);
+		assertEquals(0, root.id());
+		assertEquals(assertIds(root, 0), root.treeSize());
+	}
+
+	private int assertIds(BasicMetaclass metaclass, int expectedId) {
+		assertEquals(expectedId, metaclass.id());
+		int next = expectedId + 1;
+		if (metaclass.hasChildren()) {
+			List<Metaclass> children = metaclass.children();
+			for (Metaclass child : children) {
+				next += assertIds((BasicMetaclass) child, next);
+			}
+		}
+		assertEquals(next - expectedId, metaclass.treeSize());
+		return next - expectedId;
+	}
+
 	@Test
 	public void testCustomParser() {
 		Metaclass metaclass = reader.read(Bean.class);
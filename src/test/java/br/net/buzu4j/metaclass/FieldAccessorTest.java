@@ -0,0 +1,49 @@
+package br.net.buzu4j.metaclass;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * FieldAccessor Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class FieldAccessorTest {
+
+	@Test
+	public void testObject() throws Exception {
+		FieldAccessor accessor = FieldAccessor.of(Sample.class.getDeclaredField("name"));
+		Sample sample = new Sample();
+		accessor.set(sample, "abc");
+		assertEquals("abc", accessor.get(sample));
+		assertEquals("abc", sample.name);
+	}
+
+	@Test
+	public void testPrimitive() throws Exception {
+		FieldAccessor accessor = FieldAccessor.of(Sample.class.getDeclaredField("count"));
+		Sample sample = new Sample();
+		accessor.setInt(sample, 7);
+		assertEquals(7, accessor.getInt(sample));
+		accessor.set(sample, 8);
+		assertEquals(8, accessor.get(sample));
+		assertEquals(8L, accessor.getLong(sample));
+	}
+
+	@Test
+	public void testChar() throws Exception {
+		FieldAccessor accessor = FieldAccessor.of(Sample.class.getDeclaredField("code"));
+		Sample sample = new Sample();
+		accessor.setChar(sample, 'x');
+		assertEquals('x', accessor.getChar(sample));
+	}
+
+	static class Sample {
+		private String name;
+		private int count;
+		private char code;
+	}
+
+}
@@ -0,0 +1,57 @@
+package br.net.buzu4j.metaclass;
+
+import br.net.buzu4j.context.BasicContext;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * MetaclassCache Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class MetaclassCacheTest {
+
+	@Test
+	public void testSameInstance() {
+		BasicMetaclassReader reader = new BasicMetaclassReader();
+		Metaclass metaclass = reader.read(Person.class);
+		assertSame(metaclass, reader.read(Person.class));
+		assertNotSame(metaclass, reader.read(List.class, Person.class));
+		assertSame(reader.read(List.class, Person.class), reader.read(List.class, Person.class));
+		assertEquals(2, reader.cache().size());
+	}
+
+	@Test
+	public void testBounded() {
+		MetaclassCache cache = new MetaclassCache(1);
+		BasicMetaclassReader reader = new BasicMetaclassReader(new BasicContext(),
+				new BasicSkipStrategy(), cache);
+		Metaclass person = reader.read(Person.class);
+		// the oldest pair is evicted, so the cache keeps working when full
+		Metaclass list = reader.read(List.class, Person.class);
+		assertSame(list, reader.read(List.class, Person.class));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.evictions());
+		assertNotSame(person, reader.read(Person.class));
+		assertSame(reader.read(Person.class), reader.read(Person.class));
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.evictions());
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testDisabled() {
+		BasicMetaclassReader reader = new BasicMetaclassReader(new BasicContext(),
+				new BasicSkipStrategy(), MetaclassCache.DISABLED);
+		assertNotSame(reader.read(Person.class), reader.read(Person.class));
+		assertEquals(0, reader.cache().size());
+	}
+
+}
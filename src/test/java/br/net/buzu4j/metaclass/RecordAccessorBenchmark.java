@@ -0,0 +1,112 @@
+package br.net.buzu4j.metaclass;
+
+import br.net.buzu4j.context.BasicContext;
+import br.net.buzu4j.model.Metaclass;
+
+import java.util.List;
+
+/**
+ * Rough benchmark (not a unit test) of the {@link RecordAccessor} against the
+ * {@link FieldAccessor} of each child, reading and writing all the fields of
+ * a record of 8 fields. Run with <code>main</code>.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class RecordAccessorBenchmark {
+
+	private static final int RECORDS = 1_000;
+	private static final int ROUNDS = 20;
+	private static final int WARMUP = 10;
+
+	public static void main(String[] args) {
+		BasicMetaclassReader reader = new BasicMetaclassReader(new BasicContext(), new BasicSkipStrategy(),
+				MetaclassCache.DISABLED, true);
+		ComplexMetaclass metaclass = (ComplexMetaclass) reader.read(Wide.class);
+		RecordAccessor accessor = metaclass.recordAccessor();
+		List<Metaclass> children = metaclass.children();
+		Wide[] records = new Wide[RECORDS];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = new Wide(i);
+		}
+		Wide target = new Wide(0);
+		long sink = 0;
+		long accessorNanos = 0;
+		long fieldNanos = 0;
+		for (int round = 0; round < WARMUP + ROUNDS; round++) {
+			long t0 = System.nanoTime();
+			for (int r = 0; r < 100; r++) {
+				for (Wide record : records) {
+					Object[] values = accessor.readAll(record);
+					accessor.writeAll(target, values);
+					sink += values.length;
+				}
+			}
+			long t1 = System.nanoTime();
+			for (int r = 0; r < 100; r++) {
+				for (Wide record : records) {
+					Object[] values = new Object[children.size()];
+					for (int i = 0; i < values.length; i++) {
+						values[i] = children.get(i).get(record);
+					}
+					for (int i = 0; i < values.length; i++) {
+						children.get(i).set(target, values[i]);
+					}
+					sink += values.length;
+				}
+			}
+			long t2 = System.nanoTime();
+			if (round >= WARMUP) {
+				accessorNanos += t1 - t0;
+				fieldNanos += t2 - t1;
+			}
+		}
+		long operations = (long) ROUNDS * 100 * RECORDS;
+		System.out.println("RecordAccessor: " + accessorNanos / operations + " ns/record");
+		System.out.println(" FieldAccessor: " + fieldNanos / operations + " ns/record");
+		System.out.println("(" + sink + ")");
+	}
+
+	public static class Wide {
+		private String f1;
+		private String f2;
+		private String f3;
+		private String f4;
+		private Integer f5;
+		private Integer f6;
+		private Integer f7;
+		private Integer f8;
+
+		public Wide() {
+		}
+
+		public Wide(int i) {
+			f1 = "a" + i;
+			f2 = "b" + i;
+			f3 = "c" + i;
+			f4 = "d" + i;
+			f5 = i;
+			f6 = i + 1;
+			f7 = i + 2;
+			f8 = i + 3;
+		}
+
+		public String getF1() { return f1; }
+		public void setF1(String f1) { this.f1 = f1; }
+		public String getF2() { return f2; }
+		public void setF2(String f2) { this.f2 = f2; }
+		public String getF3() { return f3; }
+		public void setF3(String f3) { this.f3 = f3; }
+		public String getF4() { return f4; }
+		public void setF4(String f4) { this.f4 = f4; }
+		public Integer getF5() { return f5; }
+		public void setF5(Integer f5) { this.f5 = f5; }
+		public Integer getF6() { return f6; }
+		public void setF6(Integer f6) { this.f6 = f6; }
+		public Integer getF7() { return f7; }
+		public void setF7(Integer f7) { this.f7 = f7; }
+		public Integer getF8() { return f8; }
+		public void setF8(Integer f8) { this.f8 = f8; }
+	}
+
+}
@@ -0,0 +1,42 @@
+package br.net.buzu4j.metaclass;
+
+import br.net.buzu4j.context.BasicContext;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * RecordAccessor Unit Test.
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class RecordAccessorTest {
+
+	@Test
+	public void testReadWriteAll() {
+		BasicMetaclassReader reader = new BasicMetaclassReader(new BasicContext(), new BasicSkipStrategy(),
+				MetaclassCache.DISABLED, true);
+		ComplexMetaclass metaclass = (ComplexMetaclass) reader.read(Person.class);
+		RecordAccessor accessor = metaclass.recordAccessor();
+		assertNotNull(accessor);
+		assertEquals(metaclass.children().size(), accessor.size());
+		Person source = new Person();
+		source.setName("Ana");
+		Object[] values = accessor.readAll(source);
+		Person target = new Person();
+		accessor.writeAll(target, values);
+		assertEquals("Ana", target.getName());
+		Object[] unset = accessor.newValues();
+		accessor.writeAll(target, unset);
+		assertEquals("Ana", target.getName());
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		ComplexMetaclass metaclass = (ComplexMetaclass) new BasicMetaclassReader().read(Person.class);
+		assertFalse(metaclass.hasRecordAccessor());
+	}
+
+}
@@ -0,0 +1,89 @@
+package br.net.buzu4j.metadata.build.load;
+
+import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MetadataAccumulatorTest {
+
+	private static final Person LADYBUG = new Person("Ladybug", 15, "Paris");
+	private static final Person CAT = new Person("Cat", 16, "Paris");
+	private static final Person HAWK_MOTH = new Person("Hawk Moth", 45, "Paris");
+
+	private BasicMetadataLoader loader;
+	private Metaclass metaclass;
+
+	@Before
+	public void before() {
+		loader = new BasicMetadataLoader();
+		metaclass = new BasicMetaclassReader().read(List.class, Person.class);
+	}
+
+	@Test
+	public void testAdd() {
+		MetadataAccumulator accumulator = new MetadataAccumulator(metaclass, loader);
+		assertFalse(accumulator.add(LADYBUG));
+		assertTrue(accumulator.fits(CAT));
+		assertTrue(accumulator.add(CAT));
+		assertFalse(accumulator.fits(HAWK_MOTH));
+		assertFalse(accumulator.add(HAWK_MOTH));
+		assertTrue(accumulator.fits(LADYBUG));
+		assertEquals(3, accumulator.count());
+		assertSameMetadata(accumulator.metadata(), Arrays.asList(LADYBUG, CAT, HAWK_MOTH));
+	}
+
+	@Test
+	public void testAddAll() {
+		MetadataAccumulator accumulator = new MetadataAccumulator(metaclass, loader);
+		assertFalse(accumulator.addAll(Arrays.asList(LADYBUG, CAT)));
+		assertTrue(accumulator.addAll(Arrays.asList(CAT, LADYBUG)));
+		assertEquals(4, accumulator.count());
+		assertSameMetadata(accumulator.metadata(), Arrays.asList(LADYBUG, CAT, CAT, LADYBUG));
+	}
+
+	@Test
+	public void testEmpty() {
+		MetadataAccumulator accumulator = new MetadataAccumulator(metaclass, loader);
+		assertEquals(0, accumulator.count());
+		assertSameMetadata(accumulator.metadata(), new ArrayList<Person>());
+	}
+
+	@Test
+	public void testThreads() throws InterruptedException {
+		MetadataAccumulator accumulator = new MetadataAccumulator(metaclass, loader);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 100; j++) {
+					accumulator.add(j % 2 == 0 ? LADYBUG : HAWK_MOTH);
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(400, accumulator.count());
+		assertTrue(accumulator.fits(HAWK_MOTH));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotIndexed() {
+		List<Metaclass> children = metaclass.children();
+		new MetadataAccumulator(children.get(0));
+	}
+
+	private void assertSameMetadata(StaticMetadata metadata, List<Person> list) {
+		assertEquals(loader.load(list, metaclass).toTree(0), metadata.toTree(0));
+	}
+
+}
@@ -76,6 +76,64 @@ public class MetadataParserTest {
 
 	}
 
+	@Test
+	public void testParseCache() {
+		BasicMetadataParser metaParser = new BasicMetadataParser();
+		Metadata metadata = metaParser.parse(pplStringOf("(name:S20#0-1)"));
+		assertSame(metadata, metaParser.parse(pplStringOf("(name:S20#0-1)")));
+		assertEquals(1, metaParser.getCacheStats().hits());
+		BasicMetadataParser noCache = new BasicMetadataParser(new BasicContext(), new Splitter(), 0);
+		assertNotSame(noCache.parse(pplStringOf("(name:S20#0-1)")), noCache.parse(pplStringOf("(name:S20#0-1)")));
+	}
+
+	@Test
+	public void testAnonymousNamesPerParse() {
+		// No cache: the same header is parsed twice with the same names
+		BasicMetadataParser noCache = new BasicMetadataParser(new BasicContext(), new Splitter(), 0);
+		for (int i = 0; i < 2; i++) {
+			Metadata metadata = noCache.parse(pplStringOf("(S2;I3)"));
+			assertEquals(Syntax.NO_NAME_START + "1", metadata.children().get(0).name());
+			assertEquals(Syntax.NO_NAME_START + "2", metadata.children().get(1).name());
+		}
+	}
+
+	@Test
+	public void testAnonymousNamesOutOfParse() {
+		List<ParseNode> children = new ArrayList<>();
+		children.add(new ParseNode("", "S", "2", "", null));
+		children.add(new ParseNode("", "I", "3", "", null));
+		ParseNode root = new ParseNode("", "", "", "", children);
+		// A direct call (e.g. by a subclass) has its own sequence, which is not kept on the thread
+		for (int i = 0; i < 2; i++) {
+			Metadata metadata = parser.parse("", root, 0);
+			assertEquals(Syntax.NO_NAME_START + "1", metadata.children().get(0).name());
+			assertEquals(Syntax.NO_NAME_START + "2", metadata.children().get(1).name());
+		}
+	}
+
+	@Test
+	public void testOverriddenHooks() {
+		List<String> calls = new ArrayList<>();
+		BasicMetadataParser custom = new BasicMetadataParser(new BasicContext(), new Splitter(), 0) {
+			@Override
+			protected List<Metadata> parseChildren(String parentId, ParseNode node) {
+				calls.add("children");
+				return super.parseChildren(parentId, node);
+			}
+
+			@Override
+			protected String parseName(ParseNode node) {
+				calls.add("name");
+				return super.parseName(node);
+			}
+		};
+		Metadata metadata = custom.parse(pplStringOf("(name:S20;age:I2)"));
+		assertEquals(2, metadata.children().size());
+		// root + 2 children
+		assertEquals(3, calls.stream().filter("name"::equals).count());
+		assertEquals(3, calls.stream().filter("children"::equals).count());
+	}
+
 	@Test
 	public void testParseSingle() {
 		BasicMetadataParser metadataParser = new BasicMetadataParser();
@@ -0,0 +1,70 @@
+package br.net.buzu4j.parsing;
+
+import br.net.buzu.exception.PplSerializeException;
+import br.net.buzu4j.parsing.simple.text.StringMapper;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Test for the array support of AbstractPositionalMapper.
+ * 
+ * @author Douglas Siviotti
+ * @since 1.0
+ *
+ */
+public class AbstractPositionalMapperTest {
+
+	private final AbstractPositionalMapper mapper = StringMapper.INSTANCE;
+
+	@Test
+	public void testToTypedArray() {
+		Object[] values = { 1, null, 3 };
+		int[] ints = (int[]) AbstractPositionalMapper.toTypedArray(values, int.class);
+		assertTrue(Arrays.equals(new int[] { 1, 0, 3 }, ints));
+		long[] longs = (long[]) AbstractPositionalMapper.toTypedArray(values, long.class);
+		assertTrue(Arrays.equals(new long[] { 1L, 0L, 3L }, longs));
+		char[] chars = (char[]) AbstractPositionalMapper.toTypedArray(new Object[] { "a", "", "c" }, char.class);
+		assertTrue(Arrays.equals(new char[] { 'a', '\0', 'c' }, chars));
+		String[] strings = (String[]) AbstractPositionalMapper.toTypedArray(new Object[] { "x", null }, String.class);
+		assertEquals("x", strings[0]);
+		assertNull(strings[1]);
+		Object[] same = { "x" };
+		assertSame(same, AbstractPositionalMapper.toTypedArray(same, Object.class));
+	}
+
+	@Test
+	public void testToMaxArrayPrimitive() {
+		Object[] array = mapper.toMaxArray(new int[] { 7, 8, 9 }, 4);
+		assertEquals(Arrays.asList(7, 8, 9, null), Arrays.asList(array));
+		array = mapper.toMaxArray(new double[] { 1.5, 2.5 }, 2);
+		assertEquals(Arrays.asList(1.5, 2.5), Arrays.asList(array));
+	}
+
+	@Test
+	public void testToMaxArrayOverflow() {
+		try {
+			mapper.toMaxArray(new double[] { 1.5, 2.5, 3.5 }, 2);
+			fail();
+		} catch (PplSerializeException e) {
+			// expected
+		}
+		try {
+			mapper.toMaxArray(Arrays.asList("a", "b", "c"), 2);
+			fail();
+		} catch (PplSerializeException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testOccurrences() {
+		assertEquals(0, mapper.occurrencesOf(null));
+		assertEquals(3, mapper.occurrencesOf(new boolean[3]));
+		assertEquals(2, mapper.occurrencesOf(new String[2]));
+		assertEquals(1, mapper.occurrencesOf("x"));
+	}
+
+}
@@ -9,6 +9,7 @@ import br.net.buzu4j.example.Customer;
 import br.net.buzu4j.example.Product;
 import br.net.buzu4j.metaclass.BasicMetaclassReader;
 import br.net.buzu4j.metadata.build.MetadataBuilder;
+import br.net.buzu4j.parsing.AbstractPositionalMapper;
 import br.net.buzu4j.model.Metaclass;
 import br.net.buzu.model.Metadata;
 import br.net.buzu.model.StaticMetadata;
@@ -211,4 +212,64 @@ public class ComplexParserTest {
 		assertEquals("Paris", clone.getCity());
 	}
 
+
+	@Test
+	public void testSerializeTo() {
+		List<Address> addresses = new ArrayList<Address>();
+		addresses.add(new Address("10 XPTO Street", "London", "1111", new Product(1L, 'A', "Book"),
+				new Product(2L, 'B', "Pen"), new Product(3L, 'C', "Pencil")));
+		addresses.add(new Address("221-B Baker Street", "London", "2222", new Product(4L, 'D', "Disc")));
+		Customer customer = new Customer("John", addresses, 33, "12345678", "8765432000", "5555");
+		customer.setVip(Boolean.TRUE);
+		StaticMetadata metadata = new MetadataBuilder().buildStatic(customer);
+		Metaclass from = new BasicMetaclassReader().read(Customer.class);
+		PayloadMapper parser = createParser(metadata, from);
+		assertSerializeTo(parser, metadata, customer, from);
+		// Null fields, fewer occurrences and null elements with the same metadata
+		List<Address> fewer = new ArrayList<Address>();
+		fewer.add(new Address(null, "Paris", "3333"));
+		fewer.add(null);
+		Customer partial = new Customer(null, fewer, 15, "12345678", null);
+		assertSerializeTo(parser, metadata, partial, from);
+		assertSerializeTo(parser, metadata, new Customer(), from);
+		assertSerializeTo(parser, metadata, null, from);
+	}
+
+	@Test
+	public void testSerializeToNested() {
+		Empresa empresa = MockFactory.bancoDoBrasil();
+		StaticMetadata metadata = new MetadataBuilder().buildStatic(empresa);
+		Metaclass from = new BasicMetaclassReader().read(Empresa.class);
+		PayloadMapper parser = createParser(metadata, from);
+		assertSerializeTo(parser, metadata, empresa, from);
+		assertSerializeTo(parser, metadata, MockFactory.empresaTeste(), from);
+		assertSerializeTo(parser, metadata, new Empresa(), from);
+		assertSerializeTo(parser, metadata, null, from);
+	}
+
+	/*
+	 * serializeTo must append exactly the same text returned by serialize,
+	 * after the text already in the output.
+	 */
+	static void assertSerializeTo(PayloadMapper parser, StaticMetadata metadata, Object obj, Metaclass from) {
+		String expected = parser.serialize(metadata, obj, from);
+		assertEquals(metadata.serialMaxSize(), expected.length());
+		StringBuilder out = new StringBuilder("<prefix>");
+		AbstractPositionalMapper.serializeTo(parser, metadata, obj, from, out);
+		assertEquals("<prefix>" + expected, out.toString());
+		// Children one by one
+		if (obj != null) {
+			List<StaticMetadata> metadataChildren = metadata.children();
+			List<PayloadMapper> children = ((ComplexMapper) parser).children();
+			for (int i = 0; i < children.size(); i++) {
+				StaticMetadata metadataChild = metadataChildren.get(i);
+				Metaclass metaclassChild = from.getChildByName(metadataChild.info().getName());
+				Object value = metaclassChild.get(obj);
+				out.setLength(0);
+				AbstractPositionalMapper.serializeTo(children.get(i), metadataChild, value, metaclassChild, out);
+				assertEquals(children.get(i).serialize(metadataChild, value, metaclassChild), out.toString());
+			}
+		}
+	}
+
 }
@@ -0,0 +1,140 @@
+package br.net.buzu4j.parsing.simple;
+
+import br.net.buzu.exception.PplSerializeException;
+import br.net.buzu.model.StaticMetadata;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.context.BasicParserFactory;
+import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.metadata.build.MetadataBuilder;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.simple.text.StringMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit Test for the region (offset) parsing of AbstractSimpleMapper.
+ * 
+ * @author Douglas Siviotti
+ * @since 1.0
+ *
+ */
+public class AbstractSimpleMapperTest {
+
+	@Test
+	public void testTrimmed() {
+		String payload = "xx  abc  yy";
+		assertEquals("abc", AbstractSimpleMapper.trimmed(payload, 2, 9));
+		assertEquals("abc", AbstractSimpleMapper.trimmed(payload, 4, 7));
+		assertEquals("", AbstractSimpleMapper.trimmed(payload, 2, 4));
+		assertEquals("", AbstractSimpleMapper.trimmed(payload, 5, 5));
+		assertEquals(payload.substring(2, 9).trim(), AbstractSimpleMapper.trimmed(new StringBuilder(payload), 2, 9));
+	}
+
+	@Test
+	public void testIsNullRegion() {
+		StringMapper mapper = StringMapper.INSTANCE;
+		String payload = "ab    cd";
+		assertTrue(mapper.isNull(payload, 2, 6, ' '));
+		assertFalse(mapper.isNull(payload, 1, 6, ' '));
+		assertFalse(mapper.isNull(payload, 2, 7, ' '));
+		assertTrue(mapper.isNull(payload, 3, 3, ' '));
+		assertTrue(mapper.isNull("    ", ' '));
+	}
+
+	@Test
+	public void testPrimitiveArrayOverflow() {
+		StaticMetadata metadata = new MetadataBuilder().buildStatic(new Numbers(1, 2));
+		Metaclass metaclass = new BasicMetaclassReader().read(Numbers.class);
+		PayloadMapper mapper = new BasicParserFactory().create(metaclass);
+		assertEquals(metadata.serialMaxSize(), mapper.serialize(metadata, new Numbers(3), metaclass).length());
+		try {
+			mapper.serialize(metadata, new Numbers(1, 2, 3), metaclass);
+			fail();
+		} catch (PplSerializeException e) {
+			// expected: no element is dropped
+		}
+	}
+
+	@Test
+	public void testPrimitiveArrayRoundTrip() {
+		Primitives primitives = new Primitives(new double[] { 1.5, -2.25 }, new char[] { 'a', 'b' },
+				new boolean[] { true, false });
+		StaticMetadata metadata = new MetadataBuilder().buildStatic(primitives);
+		Metaclass metaclass = new BasicMetaclassReader().read(Primitives.class);
+		PayloadMapper mapper = new BasicParserFactory().create(metaclass);
+		String text = mapper.serialize(metadata, primitives, metaclass);
+		Primitives parsed = mapper.parse(metadata, text, metaclass);
+		assertArrayEquals(new double[] { 1.5, -2.25 }, parsed.getDoubles(), 0.0);
+		assertArrayEquals(new char[] { 'a', 'b' }, parsed.getChars());
+		assertTrue(parsed.getBooleans()[0]);
+		assertFalse(parsed.getBooleans()[1]);
+	}
+
+	public static class Primitives {
+
+		private double[] doubles;
+		private char[] chars;
+		private boolean[] booleans;
+
+		public Primitives() {
+
+		}
+
+		public Primitives(double[] doubles, char[] chars, boolean[] booleans) {
+			this.doubles = doubles;
+			this.chars = chars;
+			this.booleans = booleans;
+		}
+
+		public double[] getDoubles() {
+			return doubles;
+		}
+
+		public void setDoubles(double[] doubles) {
+			this.doubles = doubles;
+		}
+
+		public char[] getChars() {
+			return chars;
+		}
+
+		public void setChars(char[] chars) {
+			this.chars = chars;
+		}
+
+		public boolean[] getBooleans() {
+			return booleans;
+		}
+
+		public void setBooleans(boolean[] booleans) {
+			this.booleans = booleans;
+		}
+	}
+
+	public static class Numbers {
+
+		private int[] values;
+
+		public Numbers() {
+
+		}
+
+		public Numbers(int... values) {
+			this.values = values;
+		}
+
+		public int[] getValues() {
+			return values;
+		}
+
+		public void setValues(int[] values) {
+			this.values = values;
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package br.net.buzu4j.parsing.simple;
+
+import br.net.buzu4j.sample.enums.Gender;
+import br.net.buzu4j.sample.enums.Suit;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit Test for EnumTable.
+ * 
+ * @author Douglas Siviotti
+ * @since 1.0
+ *
+ */
+public class EnumTableTest {
+
+	@Test
+	public void testByName() {
+		EnumTable table = EnumTable.byName(Suit.class);
+		assertSame(table, EnumTable.byName(Suit.class));
+		String payload = "xxClubs   yy";
+		assertEquals(Suit.Clubs, table.find(payload, 2, 10));
+		assertEquals(Suit.Clubs, table.find(" Clubs", 0, 6));
+		assertNull(table.find(payload, 2, 5));
+		assertNull(table.find("      ", 0, 6));
+		for (Suit suit : Suit.values()) {
+			assertEquals(suit.name(), table.text(suit));
+			assertEquals(suit, table.find(suit.name(), 0, suit.name().length()));
+		}
+	}
+
+	@Test
+	public void testBySerial() {
+		EnumTable table = EnumTable.bySerial(Gender.class);
+		assertNotSame(table, EnumTable.byName(Gender.class));
+		assertEquals(Gender.FEMALE, table.find("F ", 0, 2));
+		assertEquals(Gender.MALE, table.find("aMb", 1, 2));
+		assertNull(table.find("MALE", 0, 4));
+		assertEquals("M", table.text(Gender.MALE));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotEnum() {
+		EnumTable.byName(String.class);
+	}
+
+}
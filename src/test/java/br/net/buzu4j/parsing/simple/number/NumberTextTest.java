@@ -0,0 +1,74 @@
+package br.net.buzu4j.parsing.simple.number;
+
+import br.net.buzu.model.Align;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Douglas Siviotti
+ * @since 1.0
+ *
+ */
+public class NumberTextTest {
+
+	@Test
+	public void testParseLong() {
+		String payload = "xx00123yy";
+		assertEquals(123L, NumberText.parseLong(payload, 2, 7));
+		assertEquals(-12L, NumberText.parseLong("000-12", 0, 6));
+		assertEquals(-12L, NumberText.parseLong("-0012", 0, 5));
+		assertEquals(42L, NumberText.parseLong("  +42 ", 0, 6));
+		assertEquals(0L, NumberText.parseLong("0000", 0, 4));
+		assertEquals(Long.MAX_VALUE, NumberText.parseLong(Long.toString(Long.MAX_VALUE), 0, 19));
+		assertEquals(Long.MIN_VALUE, NumberText.parseLong(Long.toString(Long.MIN_VALUE), 0, 20));
+	}
+
+	@Test
+	public void testParseInt() {
+		assertEquals(Integer.MIN_VALUE, NumberText.parseInt("-2147483648", 0, 11));
+		assertEquals(7, NumberText.parseInt(new StringBuilder("007"), 0, 3));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseIntOverflow() {
+		NumberText.parseInt("2147483648", 0, 10);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseLongOverflow() {
+		NumberText.parseLong("9223372036854775808", 0, 19);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseInvalid() {
+		NumberText.parseLong("12a4", 0, 4);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseBlank() {
+		NumberText.parseLong("    ", 0, 4);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseSignOnly() {
+		NumberText.parseLong("00-", 0, 3);
+	}
+
+	@Test
+	public void testAppend() {
+		StringBuilder sb = new StringBuilder();
+		NumberText.append(sb, Align.RIGHT, 42, 5, '0');
+		NumberText.append(sb, Align.LEFT, -7, 4, ' ');
+		assertEquals("00042-7  ", sb.toString());
+	}
+
+	@Test
+	public void testStringSize() {
+		assertEquals(1, NumberText.stringSize(0));
+		assertEquals(2, NumberText.stringSize(-1));
+		assertEquals(19, NumberText.stringSize(Long.MAX_VALUE));
+		assertEquals(20, NumberText.stringSize(Long.MIN_VALUE));
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ *	This file is part of Buzu.
+ *
+ *   Buzu is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Lesser General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   Buzu is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Lesser General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Lesser General Public License
+ *   along with Buzu.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.net.buzu4j.parsing.simple.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+public class DateTimeCodecTest {
+
+	@Test
+	public void testParse() {
+		assertEquals(LocalDateTime.of(2019, 3, 7, 0, 0), DateTimeCodec.of("yyyyMMdd").parse("20190307", 0, 8));
+		assertEquals(LocalDateTime.of(2019, 3, 7, 13, 5, 9, 42_000_000),
+				DateTimeCodec.of("yyyyMMddHHmmssSSS").parse("20190307130509042", 0, 17));
+		assertEquals(LocalDateTime.of(1970, 1, 1, 13, 5, 9),
+				DateTimeCodec.of("HH:mm:ss").parse("xx13:05:09yy", 2, 10));
+		assertEquals(LocalDateTime.of(2019, 3, 7, 13, 5, 9),
+				DateTimeCodec.of("yyyy-MM-dd'T'HH:mm:ss").parse("2019-03-07T13:05:09", 0, 19));
+	}
+
+	@Test
+	public void testParseNotMatching() {
+		DateTimeCodec codec = DateTimeCodec.of("yyyy-MM-dd");
+		assertNull(codec.parse("2019-03-7", 0, 9));
+		assertNull(codec.parse("2019/03/07", 0, 10));
+		assertNull(codec.parse("2019-03-0x", 0, 10));
+		assertNull(codec.parse("2019-03-07Z", 0, 11));
+	}
+
+	@Test(expected = java.time.DateTimeException.class)
+	public void testParseOutOfRange() {
+		DateTimeCodec.of("yyyyMMdd").parse("20191307", 0, 8);
+	}
+
+	@Test
+	public void testOffset() {
+		DateTimeCodec codec = DateTimeCodec.of("HH:mm:ssXXX");
+		String text = "10:15:30-03:30";
+		assertEquals(LocalDateTime.of(1970, 1, 1, 10, 15, 30), codec.parse(text, 0, text.length()));
+		assertEquals(ZoneOffset.ofHoursMinutes(-3, -30), codec.parseOffset(text, 0));
+		assertTrue(codec.hasOffset());
+		assertNull(DateTimeCodec.of("HHmmss").parseOffset("101530", 0));
+	}
+
+	@Test
+	public void testUtcTime() {
+		DateTimeCodec codec = DateTimeCodec.of("HH:mm:ssXXX");
+		assertEquals(ZoneOffset.ofHours(-3), codec.parseOffset("10:00:00-03:00", 0));
+		// The offset is not lost: the time is normalized to UTC
+		UtcTimeMapper mapper = UtcTimeMapper.INSTANCE;
+		assertEquals(LocalTime.of(13, 0), mapper.asSingleObject(null, "10:00:00-03:00", null));
+		assertEquals(LocalTime.of(22, 30), mapper.asSingleObject(null, "xx01:00:00+02:30", 2, 16, null));
+		assertEquals(LocalTime.of(10, 0), mapper.asSingleObject(null, "10:00:00+00:00", null));
+		// Formatter (fractions of seconds)
+		assertEquals(LocalTime.of(13, 0, 0, 500_000_000), mapper.asSingleObject(null, "10:00:00.5-03:00", null));
+	}
+
+	@Test
+	public void testUtcTimestamp() {
+		UtcTimestampMapper mapper = UtcTimestampMapper.INSTANCE;
+		assertEquals(LocalDateTime.of(2018, 1, 1, 13, 0),
+				mapper.asSingleObject(null, "2018-01-01T10:00:00-03:00", null));
+		// The day changes
+		assertEquals(LocalDateTime.of(2017, 12, 31, 22, 30),
+				mapper.asSingleObject(null, "xx2018-01-01T01:00:00+02:30", 2, 27, null));
+		assertEquals(LocalDateTime.of(2018, 1, 1, 10, 0),
+				mapper.asSingleObject(null, "2018-01-01T10:00:00+00:00", null));
+		// Formatter (fractions of seconds and 'Z')
+		assertEquals(LocalDateTime.of(2018, 1, 1, 13, 0, 0, 500_000_000),
+				mapper.asSingleObject(null, "2018-01-01T10:00:00.5-03:00", null));
+		assertEquals(LocalDateTime.of(2018, 1, 1, 10, 0), mapper.asSingleObject(null, "2018-01-01T10:00:00Z", null));
+	}
+
+	@Test
+	public void testUtcDate() {
+		UtcDateMapper mapper = UtcDateMapper.INSTANCE;
+		// Start of the day in UTC
+		assertEquals(LocalDate.of(2018, 1, 1), mapper.asSingleObject(null, "2018-01-01-03:00", null));
+		assertEquals(LocalDate.of(2017, 12, 31), mapper.asSingleObject(null, "2018-01-01+03:00", null));
+		assertEquals(LocalDate.of(2018, 1, 1), mapper.asSingleObject(null, "2018-01-01+00:00", null));
+		// Formatter ('Z')
+		assertEquals(LocalDate.of(2018, 1, 1), mapper.asSingleObject(null, "2018-01-01Z", null));
+	}
+
+	@Test
+	public void testAppend() {
+		StringBuilder sb = new StringBuilder(">");
+		assertTrue(DateTimeCodec.of("yyyyMMdd").append(sb, LocalDate.of(987, 12, 1)));
+		assertEquals(">09871201", sb.toString());
+		sb.setLength(0);
+		assertTrue(DateTimeCodec.of("HHmmssSSS").append(sb, LocalTime.of(7, 8, 9, 5_900_000)));
+		assertEquals("070809005", sb.toString());
+		sb.setLength(0);
+		assertTrue(DateTimeCodec.of("yyyy-MM-dd'T'HH:mm:ssXXX").append(sb, LocalDateTime.of(2019, 3, 7, 13, 5, 9),
+				ZoneOffset.ofHours(2)));
+		assertEquals("2019-03-07T13:05:09+02:00", sb.toString());
+		sb.setLength(0);
+		assertTrue(DateTimeCodec.of("yyyy-MM-ddXXX").append(sb, LocalDate.of(2019, 3, 7)));
+		assertEquals("2019-03-07+00:00", sb.toString());
+	}
+
+	@Test
+	public void testAppendOutOfPattern() {
+		StringBuilder sb = new StringBuilder();
+		assertFalse(DateTimeCodec.of("yyyyMMdd").append(sb, LocalDate.of(10000, 1, 1)));
+		assertEquals(0, sb.length());
+		assertTrue(DateTimeCodec.of("HHmm").append(sb, LocalDateTime.of(10000, 1, 1, 10, 5)));
+		assertEquals("1005", sb.toString());
+	}
+
+	@Test
+	public void testRoundTrip() {
+		DateTimeCodec codec = DateTimeCodec.of("yyyyMMddHHmmss");
+		StringBuilder sb = new StringBuilder();
+		LocalDateTime value = LocalDateTime.of(2001, 2, 3, 4, 5, 6);
+		codec.append(sb, value);
+		assertEquals(codec.length(), sb.length());
+		assertEquals(value, codec.parse(sb, 0, sb.length()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPattern() {
+		DateTimeCodec.of("dd/MMM/yyyy");
+	}
+
+}
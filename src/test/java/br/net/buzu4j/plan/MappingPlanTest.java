@@ -0,0 +1,45 @@
+package br.net.buzu4j.plan;
+
+import br.net.buzu4j.BuzuPlanCacheTest;
+import br.net.buzu4j.api.PayloadMapper;
+import br.net.buzu4j.context.BasicParserFactory;
+import br.net.buzu4j.metaclass.BasicMetaclassReader;
+import br.net.buzu4j.model.Metaclass;
+import br.net.buzu4j.parsing.complex.ComplexMapper;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MappingPlanTest {
+
+	private final BasicMetaclassReader reader = new BasicMetaclassReader();
+	private final BasicParserFactory factory = new BasicParserFactory();
+
+	@Test
+	public void testHasCustomMapper() {
+		assertFalse(MappingPlan.hasCustomMapper(reader.read(Person.class)));
+		assertTrue(MappingPlan.hasCustomMapper(reader.read(BuzuPlanCacheTest.Tagged.class)));
+	}
+
+	@Test
+	public void testForCall() {
+		Metaclass metaclass = reader.read(BuzuPlanCacheTest.Tagged.class);
+		MappingPlan shared = new MappingPlan(metaclass, null, factory.create(metaclass));
+		assertTrue(shared.isShared());
+		assertSame(shared, shared.forCall());
+
+		MappingPlan perCall = new MappingPlan(metaclass, null, factory.create(metaclass), factory::create);
+		assertFalse(perCall.isShared());
+		MappingPlan call1 = perCall.forCall();
+		MappingPlan call2 = perCall.forCall();
+		assertNotSame(perCall, call1);
+		assertNotSame(call1.mapper(), call2.mapper());
+		assertSame(metaclass, call1.metaclass());
+		assertTrue(call1.isShared());
+		PayloadMapper custom1 = ((ComplexMapper) call1.mapper()).children().get(0);
+		PayloadMapper custom2 = ((ComplexMapper) call2.mapper()).children().get(0);
+		assertNotSame(custom1, custom2);
+	}
+
+}
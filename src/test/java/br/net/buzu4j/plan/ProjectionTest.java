@@ -0,0 +1,52 @@
+package br.net.buzu4j.plan;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProjectionTest {
+
+	@Test
+	public void testOf() {
+		Projection projection = Projection.of("numero", "itens.valor", "itens.codigo");
+		assertFalse(projection.isAll());
+		assertSame(Projection.ALL, projection.child("numero"));
+		assertNull(projection.child("data"));
+		Projection itens = projection.child("itens");
+		assertFalse(itens.isAll());
+		assertSame(Projection.ALL, itens.child("valor"));
+		assertNull(itens.child("descricao"));
+		assertEquals("itens.codigo,itens.valor,numero", projection.toString());
+	}
+
+	@Test
+	public void testWholeSubtree() {
+		assertSame(Projection.ALL, Projection.of("itens.valor", "itens").child("itens"));
+		assertSame(Projection.ALL, Projection.of("itens", "itens.valor").child("itens"));
+		assertSame(Projection.ALL, Projection.ALL.child("any"));
+	}
+
+	@Test
+	public void testEquals() {
+		Projection projection = Projection.of("numero", "itens.valor");
+		assertEquals(projection, Projection.of("itens.valor", "numero"));
+		assertEquals(projection.hashCode(), Projection.of("itens.valor", "numero").hashCode());
+		assertFalse(projection.equals(Projection.of("numero")));
+		assertFalse(projection.equals(Projection.ALL));
+		assertFalse(new PlanKey(String.class, String.class, "h", projection)
+				.equals(new PlanKey(String.class, String.class, "h")));
+		assertEquals(new PlanKey(String.class, String.class, "h", Projection.ALL),
+				new PlanKey(String.class, String.class, "h"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyPath() {
+		Projection.of("itens..valor");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoPath() {
+		Projection.of();
+	}
+
+}
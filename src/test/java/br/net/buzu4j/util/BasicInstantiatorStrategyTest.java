@@ -0,0 +1,156 @@
+package br.net.buzu4j.util;
+
+import br.net.buzu.exception.PplReflectionException;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit Test for BasicInstantiatorStrategy and Instantiators
+ *
+ * @author Douglas Siviotti
+ * @since 1.0
+ */
+public class BasicInstantiatorStrategyTest {
+
+	private final InstantiatorStrategy strategy = BasicInstantiatorStrategy.INSTANCE;
+
+	@Test
+	public void testNullaryConstructor() {
+		Instantiator instantiator = strategy.instantiatorOf(Nullary.class);
+		Nullary first = (Nullary) instantiator.newInstance();
+		Nullary second = (Nullary) instantiator.newInstance();
+		assertEquals("DEFAULT", first.value);
+		assertFalse(first == second);
+		// Private nullary constructor
+		assertEquals("PRIVATE", ((PrivateNullary) strategy.instantiatorOf(PrivateNullary.class).newInstance()).value);
+	}
+
+	@Test
+	public void testSerializationConstructor() {
+		Parent.calls.set(0);
+		NoNullarySerializable obj = (NoNullarySerializable) strategy.instantiatorOf(NoNullarySerializable.class)
+				.newInstance();
+		// No constructor or initializer of the Serializable class runs
+		assertNull(obj.value);
+		assertNull(obj.initialized);
+		// The nullary constructor of the first non Serializable superclass runs
+		assertEquals(1, Parent.calls.get());
+		assertEquals("PARENT", obj.parentValue);
+	}
+
+	@Test
+	public void testSimplestConstructor() {
+		NoNullary obj = (NoNullary) strategy.instantiatorOf(NoNullary.class).newInstance();
+		// Initial params: null and 0
+		assertEquals("ONE-PAR", obj.value);
+		assertEquals(0, obj.number);
+	}
+
+	@Test
+	public void testInterface() {
+		assertTrue(strategy.instantiatorOf(List.class).newInstance() instanceof ArrayList);
+		assertTrue(strategy.instantiatorOf(Collection.class).newInstance() instanceof HashSet);
+		assertTrue(strategy.instantiatorOf(Map.class).newInstance() instanceof HashMap);
+		// Unknown interface: fails only on instantiation
+		Instantiator instantiator = strategy.instantiatorOf(Queue.class);
+		try {
+			instantiator.newInstance();
+			fail();
+		} catch (PplReflectionException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCache() {
+		AtomicInteger resolved = new AtomicInteger();
+		Instantiators instantiators = new Instantiators(type -> {
+			resolved.incrementAndGet();
+			return strategy.instantiatorOf(type);
+		});
+		Instantiator instantiator = instantiators.instantiatorOf(Nullary.class);
+		assertTrue(instantiator == instantiators.instantiatorOf(Nullary.class));
+		instantiators.newInstance(Nullary.class);
+		instantiators.newInstance(Nullary.class);
+		assertEquals(1, resolved.get());
+		instantiators.newInstance(NoNullary.class);
+		assertEquals(2, resolved.get());
+		// Reflect uses the default instantiators
+		assertTrue(Reflect.instantiatorOf(Nullary.class) == Instantiators.DEFAULT.instantiatorOf(Nullary.class));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullStrategy() {
+		new Instantiators(null);
+	}
+
+	public static class Nullary {
+		String value;
+
+		public Nullary() {
+			this.value = "DEFAULT";
+		}
+
+		public Nullary(String value) {
+			this.value = value;
+		}
+	}
+
+	public static class PrivateNullary {
+		String value;
+
+		private PrivateNullary() {
+			this.value = "PRIVATE";
+		}
+	}
+
+	public static class NoNullary {
+		String value;
+		int number;
+
+		public NoNullary(String value, int number) {
+			this.value = "TWO-PAR";
+			this.number = number;
+		}
+
+		public NoNullary(String value) {
+			this.value = "ONE-PAR";
+		}
+	}
+
+	public static class Parent {
+		static final AtomicInteger calls = new AtomicInteger();
+		String parentValue;
+
+		public Parent() {
+			calls.incrementAndGet();
+			this.parentValue = "PARENT";
+		}
+	}
+
+	public static class NoNullarySerializable extends Parent implements Serializable {
+		private static final long serialVersionUID = 1L;
+		String value;
+		String initialized = "INITIALIZED";
+
+		public NoNullarySerializable(String value) {
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+package br.net.buzu4j.view;
+
+import br.net.buzu4j.Buzu;
+import br.net.buzu4j.BuzuTest;
+import br.net.buzu4j.sample.order.Order;
+import br.net.buzu4j.sample.order.Product;
+import br.net.buzu4j.sample.order.Status;
+import br.net.buzu4j.sample.pojo.Person;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ViewPlanTest {
+
+	public interface PersonView {
+		String getName();
+
+		int getAge();
+
+		String city();
+	}
+
+	public interface CustomerView {
+		String getName();
+
+		List<String> getPhones();
+	}
+
+	public interface ProductView {
+		String getDescription();
+
+		double getPrice();
+	}
+
+	public interface OrderView {
+		String getNumber();
+
+		LocalDate getDate();
+
+		Status getStatus();
+
+		boolean isCanceled();
+
+		CustomerView getCustomer();
+
+		List<ProductView> getProducts();
+
+		List<Product> products();
+	}
+
+	public interface WrongView {
+		String getName(int index);
+	}
+
+	public interface DefaultView {
+		String getName();
+
+		default String getTitle() {
+			return "Mr. " + getName();
+		}
+	}
+
+	private Buzu buzu;
+
+	@Before
+	public void before() {
+		buzu = new Buzu();
+	}
+
+	@Test
+	public void testView() {
+		OrderView order = buzu.view(buzu.toPpl(BuzuTest.ORDER_INSTANCE), OrderView.class);
+		assertEquals(BuzuTest.ORDER_NUMBER, order.getNumber());
+		assertEquals(BuzuTest.ORDER_DATE, order.getDate());
+		assertEquals(BuzuTest.ORDER_STATUS, order.getStatus());
+		assertEquals(BuzuTest.ORDER_CANCELED, order.isCanceled());
+		assertSame(order.getNumber(), order.getNumber());
+		assertEquals(BuzuTest.CUSTOMER_NAME, order.getCustomer().getName());
+		assertEquals(BuzuTest.PHONES, order.getCustomer().getPhones());
+		assertEquals(BuzuTest.PRODUCTS.size(), order.getProducts().size());
+		assertEquals(BuzuTest.PRODUCT2.getDescription(), order.getProducts().get(1).getDescription());
+		assertEquals(BuzuTest.PRODUCT2.getPrice(), order.getProducts().get(1).getPrice(), 0.001);
+		assertEquals(BuzuTest.PRODUCT3.getDescription(), order.products().get(2).getDescription());
+	}
+
+	@Test
+	public void testViewList() {
+		List<Person> people = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			people.add(new Person("Person" + i, i, "City" + i));
+		}
+		List<PersonView> views = buzu.viewList(buzu.toPpl(people), PersonView.class);
+		assertEquals(people.size(), views.size());
+		for (int i = 0; i < people.size(); i++) {
+			assertEquals(people.get(i).getName(), views.get(i).getName());
+			assertEquals(i, views.get(i).getAge());
+			assertEquals(people.get(i).getCity(), views.get(i).city());
+		}
+		assertEquals("Person9", views.subList(8, 10).get(1).getName());
+		PersonView view = views.get(0);
+		assertEquals(view, view);
+		assertFalse(view.equals(views.get(0)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotInterface() {
+		buzu.view(buzu.toPpl(new Person("Ladybug", 15, "Paris")), Person.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotGetter() {
+		buzu.view(buzu.toPpl(new Person("Ladybug", 15, "Paris")), WrongView.class);
+	}
+
+	@Test
+	public void testNestedListOccurrences() {
+		List<Order> orders = new ArrayList<>();
+		orders.add(BuzuTest.ORDER_INSTANCE);
+		orders.add(new Order("2", BuzuTest.CUSTOMER, BuzuTest.ORDER_DATE, Arrays.asList(BuzuTest.PRODUCT4),
+				BuzuTest.ORDER_STATUS, false));
+		orders.add(new Order("3", BuzuTest.CUSTOMER, BuzuTest.ORDER_DATE, new ArrayList<>(), BuzuTest.ORDER_STATUS,
+				false));
+		List<OrderView> views = buzu.viewList(buzu.toPpl(orders), OrderView.class);
+		assertEquals(3, views.size());
+		// The products are padded up to the maxOccurs (5): no view of a padding record
+		assertEquals(BuzuTest.PRODUCTS.size(), views.get(0).getProducts().size());
+		List<ProductView> products = views.get(1).getProducts();
+		assertEquals(1, products.size());
+		assertEquals(BuzuTest.PRODUCT4.getDescription(), products.get(0).getDescription());
+		assertTrue(views.get(2).getProducts().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDefaultMethod() {
+		buzu.view(buzu.toPpl(new Person("Ladybug", 15, "Paris")), DefaultView.class);
+	}
+
+	@Test
+	public void testPropertyOf() throws NoSuchMethodException {
+		assertEquals("name", ViewPlan.propertyOf(PersonView.class.getMethod("getName")));
+		assertEquals("city", ViewPlan.propertyOf(PersonView.class.getMethod("city")));
+		assertEquals("canceled", ViewPlan.propertyOf(OrderView.class.getMethod("isCanceled")));
+	}
+
+}